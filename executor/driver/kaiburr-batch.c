@@ -0,0 +1,300 @@
+/*
+ * kaiburr-batch — in-image driver for batched executor Jobs
+ * Author: Aditya R
+ *
+ * Runs several allowlisted binaries inside one executor pod and writes
+ * their output to stdout as line frames, so the API can split a single
+ * pod log back into per-command results. No shell is involved: every
+ * command is exec'd directly from /usr/bin.
+ *
+ * Usage:
+ *   kaiburr-batch <seq|par> <timeoutSeconds> <maxStdoutBytes> <maxStderrBytes> <count>
+ *                 { <argc> <binary> [<arg>...] } x count
+ *
+ * Frames (one per stdout line, nothing is ever written to stderr):
+ *   @kb <idx> O <text>     complete stdout line (newline stripped)
+ *   @kb <idx> o <text>     stdout fragment without trailing newline
+ *   @kb <idx> E <text>     complete stderr line
+ *   @kb <idx> e <text>     stderr fragment without trailing newline
+ *   @kb <idx> T <O|E>      stream was truncated at its byte limit
+ *   @kb <idx> X <exitCode> <durationMs> <timedOut>
+ *
+ * A command that cannot be started gets an E frame with the reason,
+ * followed by X 127.
+ */
+#define _GNU_SOURCE
+#include <errno.h>
+#include <fcntl.h>
+#include <poll.h>
+#include <signal.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <sys/wait.h>
+#include <time.h>
+#include <unistd.h>
+
+#define MAX_COMMANDS 64
+#define MAX_ARGS 16
+#define LINE_BUF 4096
+
+struct stream {
+    int fd;
+    char kind;              /* 'O' or 'E' */
+    char buf[LINE_BUF];
+    size_t len;
+    long emitted;
+    long limit;
+    int truncated;
+};
+
+struct command {
+    char *argv[MAX_ARGS + 2];
+    pid_t pid;
+    long started_ms;
+    int timed_out;
+    struct stream out;
+    struct stream err;
+};
+
+static struct command commands[MAX_COMMANDS];
+
+static long now_ms(void) {
+    struct timespec ts;
+    clock_gettime(CLOCK_MONOTONIC, &ts);
+    return ts.tv_sec * 1000L + ts.tv_nsec / 1000000L;
+}
+
+static void write_all(const char *data, size_t len) {
+    while (len > 0) {
+        ssize_t n = write(STDOUT_FILENO, data, len);
+        if (n < 0) {
+            if (errno == EINTR) continue;
+            _exit(3);
+        }
+        data += n;
+        len -= (size_t) n;
+    }
+}
+
+static void emit(int idx, char kind, const char *text, size_t len) {
+    char header[32];
+    int n = snprintf(header, sizeof(header), "@kb %d %c ", idx, kind);
+    write_all(header, (size_t) n);
+    write_all(text, len);
+    write_all("\n", 1);
+}
+
+/* Emit whole lines from the buffer; with flush, also emit the trailing fragment. */
+static void drain_lines(int idx, struct stream *s, int flush) {
+    size_t start = 0;
+    for (size_t i = 0; i < s->len; i++) {
+        if (s->buf[i] == '\n') {
+            emit(idx, s->kind, s->buf + start, i - start);
+            start = i + 1;
+        }
+    }
+    if (start < s->len && (flush || (start == 0 && s->len == LINE_BUF))) {
+        emit(idx, (char) (s->kind + ('a' - 'A')), s->buf + start, s->len - start);
+        start = s->len;
+    }
+    memmove(s->buf, s->buf + start, s->len - start);
+    s->len -= start;
+}
+
+static void consume(int idx, struct stream *s, const char *data, size_t len) {
+    if (s->emitted + (long) len > s->limit) {
+        len = s->limit > s->emitted ? (size_t) (s->limit - s->emitted) : 0;
+        s->truncated = 1;
+    }
+    s->emitted += (long) len;
+    while (len > 0) {
+        size_t room = LINE_BUF - s->len;
+        size_t take = len < room ? len : room;
+        memcpy(s->buf + s->len, data, take);
+        s->len += take;
+        data += take;
+        len -= take;
+        drain_lines(idx, s, 0);
+    }
+}
+
+/* Close whichever pipe ends are open and describe the failure in error. */
+static int fail_start(int out[2], int err[2], const char *what, char *error, size_t size) {
+    int saved = errno;
+    for (int i = 0; i < 2; i++) {
+        if (out[i] >= 0) close(out[i]);
+        if (err[i] >= 0) close(err[i]);
+    }
+    snprintf(error, size, "kaiburr-batch: %s: %s", what, strerror(saved));
+    return -1;
+}
+
+static int start_command(int idx, char *error, size_t size) {
+    struct command *c = &commands[idx];
+    int out[2] = { -1, -1 }, err[2] = { -1, -1 };
+    char path[256];
+
+    if (strchr(c->argv[0], '/') != NULL || strcmp(c->argv[0], "kaiburr-batch") == 0
+            || strcmp(c->argv[0], "busybox") == 0) {
+        snprintf(error, size, "kaiburr-batch: %s: binary not allowed", c->argv[0]);
+        return -1;
+    }
+    snprintf(path, sizeof(path), "/usr/bin/%s", c->argv[0]);
+
+    if (pipe2(out, O_CLOEXEC) != 0) {
+        return fail_start(out, err, "pipe", error, size);
+    }
+    if (pipe2(err, O_CLOEXEC) != 0) {
+        return fail_start(out, err, "pipe", error, size);
+    }
+
+    c->started_ms = now_ms();
+    c->pid = fork();
+    if (c->pid < 0) {
+        c->pid = 0;
+        return fail_start(out, err, "fork", error, size);
+    }
+    if (c->pid == 0) {
+        dup2(out[1], STDOUT_FILENO);
+        dup2(err[1], STDERR_FILENO);
+        execv(path, c->argv);
+        /* stderr is the command's pipe here, so this arrives as its E frame */
+        dprintf(STDERR_FILENO, "kaiburr-batch: exec %s: %s\n", c->argv[0], strerror(errno));
+        _exit(127);
+    }
+
+    close(out[1]);
+    close(err[1]);
+    c->out.fd = out[0];
+    c->err.fd = err[0];
+    return 0;
+}
+
+static void finish_stream(int idx, struct stream *s) {
+    drain_lines(idx, s, 1);
+    if (s->truncated) {
+        char kind[2] = { s->kind, '\0' };
+        emit(idx, 'T', kind, 1);
+    }
+}
+
+int main(int argc, char **argv) {
+    if (argc < 6) {
+        return 2;
+    }
+
+    int parallel = strcmp(argv[1], "par") == 0;
+    long timeout_ms = atol(argv[2]) * 1000L;
+    long max_out = atol(argv[3]);
+    long max_err = atol(argv[4]);
+    int count = atoi(argv[5]);
+    if (count < 1 || count > MAX_COMMANDS || timeout_ms <= 0) {
+        return 2;
+    }
+
+    int pos = 6;
+    for (int i = 0; i < count; i++) {
+        if (pos >= argc) return 2;
+        int cargc = atoi(argv[pos++]);
+        if (cargc < 1 || cargc > MAX_ARGS + 1 || pos + cargc > argc) return 2;
+        for (int a = 0; a < cargc; a++) {
+            commands[i].argv[a] = argv[pos++];
+        }
+        commands[i].argv[cargc] = NULL;
+        commands[i].out = (struct stream) { .fd = -1, .kind = 'O', .limit = max_out };
+        commands[i].err = (struct stream) { .fd = -1, .kind = 'E', .limit = max_err };
+        commands[i].pid = 0;
+    }
+
+    signal(SIGPIPE, SIG_IGN);
+
+    int next = 0;
+    int running = 0;
+    int done = 0;
+    int width = parallel ? count : 1;
+
+    while (done < count) {
+        while (running < width && next < count) {
+            char error[256];
+            if (start_command(next, error, sizeof(error)) != 0) {
+                emit(next, 'E', error, strlen(error));
+                emit(next, 'X', "127 0 0", 7);
+                done++;
+            } else {
+                running++;
+            }
+            next++;
+        }
+        if (running == 0) {
+            continue;
+        }
+
+        struct pollfd fds[MAX_COMMANDS * 2];
+        struct stream *owners[MAX_COMMANDS * 2];
+        int owner_idx[MAX_COMMANDS * 2];
+        int nfds = 0;
+        long wait_ms = timeout_ms;
+        long now = now_ms();
+
+        for (int i = 0; i < next; i++) {
+            struct command *c = &commands[i];
+            if (c->pid <= 0) continue;
+            long left = c->started_ms + timeout_ms - now;
+            if (left <= 0 && !c->timed_out) {
+                kill(c->pid, SIGKILL);
+                c->timed_out = 1;
+            }
+            if (left > 0 && left < wait_ms) wait_ms = left;
+            struct stream *streams[2] = { &c->out, &c->err };
+            for (int s = 0; s < 2; s++) {
+                if (streams[s]->fd >= 0) {
+                    fds[nfds] = (struct pollfd) { .fd = streams[s]->fd, .events = POLLIN };
+                    owners[nfds] = streams[s];
+                    owner_idx[nfds] = i;
+                    nfds++;
+                }
+            }
+        }
+
+        if (nfds > 0 && poll(fds, (nfds_t) nfds, (int) (wait_ms > 0 ? wait_ms : 1)) < 0 && errno != EINTR) {
+            return 3;
+        }
+
+        char chunk[LINE_BUF];
+        for (int f = 0; f < nfds; f++) {
+            if (!(fds[f].revents & (POLLIN | POLLHUP | POLLERR))) continue;
+            ssize_t n = read(fds[f].fd, chunk, sizeof(chunk));
+            if (n > 0) {
+                consume(owner_idx[f], owners[f], chunk, (size_t) n);
+            } else if (n == 0 || errno != EINTR) {
+                close(fds[f].fd);
+                owners[f]->fd = -1;
+            }
+        }
+
+        for (int i = 0; i < next; i++) {
+            struct command *c = &commands[i];
+            if (c->pid <= 0 || c->out.fd >= 0 || c->err.fd >= 0) continue;
+
+            int status = 0;
+            waitpid(c->pid, &status, 0);
+            int code = WIFEXITED(status) ? WEXITSTATUS(status)
+                     : WIFSIGNALED(status) ? 128 + WTERMSIG(status) : -1;
+
+            finish_stream(i, &c->out);
+            finish_stream(i, &c->err);
+
+            char summary[64];
+            int len = snprintf(summary, sizeof(summary), "%d %ld %d",
+                               code, now_ms() - c->started_ms, c->timed_out);
+            emit(i, 'X', summary, (size_t) len);
+
+            c->pid = -1;
+            running--;
+            done++;
+        }
+    }
+
+    return 0;
+}
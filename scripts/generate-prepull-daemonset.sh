@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Generate the executor image pre-pull DaemonSet
+# Author: Aditya R
+#
+# Keeps kaiburr-executor cached on labelled nodes so executor Jobs do not
+# wait on image pulls. The pod runs the executor image itself (idle), which
+# also stops the kubelet from garbage-collecting the image.
+#
+# Usage: scripts/generate-prepull-daemonset.sh [image] [node-label-key] [node-label-value]
+#   Label nodes with: kubectl label node <node> kaiburr.dev/executor=true
+
+set -euo pipefail
+
+IMAGE="${1:-kaiburr-executor:dev}"
+LABEL_KEY="${2:-kaiburr.dev/executor}"
+LABEL_VALUE="${3:-true}"
+OUTPUT="deploy/k8s/executor-prepull-daemonset.yaml"
+
+cat > "$OUTPUT" <<YAML
+# Generated by scripts/generate-prepull-daemonset.sh — do not edit by hand
+# Pre-pulls ${IMAGE} onto nodes labelled ${LABEL_KEY}=${LABEL_VALUE}
+apiVersion: apps/v1
+kind: DaemonSet
+metadata:
+  name: kaiburr-executor-prepull
+  namespace: kaiburr
+  labels:
+    app: kaiburr-task2
+    component: executor-prepull
+spec:
+  selector:
+    matchLabels:
+      app: kaiburr-executor-prepull
+  updateStrategy:
+    type: RollingUpdate
+    rollingUpdate:
+      maxUnavailable: 25%
+  template:
+    metadata:
+      labels:
+        app: kaiburr-executor-prepull
+    spec:
+      nodeSelector:
+        ${LABEL_KEY}: "${LABEL_VALUE}"
+      tolerations:
+        - key: ${LABEL_KEY}
+          operator: Exists
+          effect: NoSchedule
+      automountServiceAccountToken: false
+      terminationGracePeriodSeconds: 1
+      securityContext:
+        runAsNonRoot: true
+        runAsUser: 65532
+        runAsGroup: 65532
+        seccompProfile:
+          type: RuntimeDefault
+      containers:
+        - name: prepull
+          image: ${IMAGE}
+          imagePullPolicy: IfNotPresent
+          # Idle so the image stays in use; busybox is only reachable here, not via the API
+          command: ["/usr/bin/busybox", "sleep", "2147483647"]
+          resources:
+            requests:
+              cpu: 1m
+              memory: 4Mi
+            limits:
+              cpu: 10m
+              memory: 16Mi
+          securityContext:
+            readOnlyRootFilesystem: true
+            allowPrivilegeEscalation: false
+            capabilities:
+              drop:
+                - ALL
+YAML
+
+echo "✓ Wrote $OUTPUT (image=$IMAGE, nodes=$LABEL_KEY=$LABEL_VALUE)"
@@ -1,9 +1,13 @@
 package dev.adityar.kaiburr.task1.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.adityar.kaiburr.task1.dto.*;
 import dev.adityar.kaiburr.task1.service.TaskService;
+import dev.adityar.kaiburr.task1.util.ETags;
+import dev.adityar.kaiburr.task1.util.JsonStreaming;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,10 +19,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * REST Controller for Task management
@@ -32,6 +41,7 @@ import java.util.List;
 public class TaskController {
     
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
     
     @Operation(summary = "Create or update a task", 
                description = "Creates a new task or updates an existing one by ID. Command is validated before saving.")
@@ -39,14 +49,32 @@ public class TaskController {
         @ApiResponse(responseCode = "200", description = "Task created/updated successfully",
                     content = @Content(schema = @Schema(implementation = TaskResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input or command validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the task's current ETag",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PutMapping
     public ResponseEntity<TaskResponse> upsertTask(
-            @Valid @RequestBody TaskRequest request) {
+            @Valid @RequestBody TaskRequest request,
+            @Parameter(description = "Only update the task if it still has this ETag")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
-        TaskResponse response = taskService.upsertTask(request);
-        return ResponseEntity.ok(response);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            Long current = taskService.getTaskVersion(request.getId());
+            if (!ETags.matchHits(ifMatch, ETags.of(current))) {
+                throw new ResponseStatusException(
+                        HttpStatus.PRECONDITION_FAILED,
+                        "Task " + request.getId() + " does not match If-Match " + ifMatch
+                );
+            }
+            expectedVersion = current;
+        }
+        
+        TaskResponse response = taskService.upsertTask(request, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(response);
     }
     
     @Operation(summary = "Get all tasks", 
@@ -71,16 +99,28 @@ public class TaskController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task found",
                     content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Task unchanged since the If-None-Match ETag"),
         @ApiResponse(responseCode = "404", description = "Task not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTaskById(
             @Parameter(description = "Task ID")
-            @PathVariable String id) {
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        // Checked against the version alone, so an unchanged task is never loaded with its executions
+        if (ifNoneMatch != null) {
+            String etag = ETags.of(taskService.getTaskVersion(id));
+            if (ETags.noneMatchHits(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         
         TaskResponse response = taskService.getTaskById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(response);
     }
     
     @Operation(summary = "Delete task", 
@@ -100,19 +140,30 @@ public class TaskController {
     }
     
     @Operation(summary = "Search tasks by name", 
-               description = "Search for tasks whose name contains the given substring (case-insensitive)")
+               description = "Search for tasks whose name contains the given substring (case-insensitive). "
+                       + "Results are streamed from the database cursor; NDJSON with Accept: application/x-ndjson")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Tasks found"),
+        @ApiResponse(responseCode = "200", description = "Tasks found",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class)))),
         @ApiResponse(responseCode = "404", description = "No tasks found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/search")
-    public ResponseEntity<List<TaskResponse>> searchTasks(
+    public ResponseEntity<StreamingResponseBody> searchTasks(
             @Parameter(description = "Name substring to search for")
-            @RequestParam String name) {
+            @RequestParam String name,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        List<TaskResponse> tasks = taskService.searchTasksByName(name);
-        return ResponseEntity.ok(tasks);
+        Stream<TaskResponse> tasks = JsonStreaming.nonEmpty(taskService.streamTasksByName(name))
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "No tasks found with name containing: " + name
+                ));
+        
+        boolean ndjson = JsonStreaming.wantsNdjson(accept);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(JsonStreaming.write(objectMapper, tasks, ndjson));
     }
     
     @Operation(summary = "Execute task command", 
@@ -6,6 +6,8 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Task entity
@@ -19,4 +21,16 @@ public interface TaskRepository extends MongoRepository<Task, String> {
      */
     @Query("{ 'name': { $regex: ?0, $options: 'i' } }")
     List<Task> findByNameContainingIgnoreCase(String name);
+    
+    /**
+     * Case-insensitive search by name, read from a cursor as the stream is consumed
+     */
+    @Query("{ 'name': { $regex: ?0, $options: 'i' } }")
+    Stream<Task> streamByNameContainingIgnoreCase(String name);
+    
+    /**
+     * Task with only its version loaded, for ETag checks
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1 }")
+    Optional<Task> findVersionById(String id);
 }
@@ -0,0 +1,121 @@
+package dev.adityar.kaiburr.task1.service;
+
+import dev.adityar.kaiburr.task1.domain.TaskExecution;
+import dev.adityar.kaiburr.task1.util.SafeProcessIO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Output size and truncation metrics per command binary
+ * Binaries off the allowlist are tagged "other" so tag values stay bounded by the policy
+ * Author: Aditya R.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutputMetrics {
+    
+    static final String OTHER_BINARY = "other";
+    
+    private final MeterRegistry meterRegistry;
+    private final CommandValidator validator;
+    
+    private final Map<String, Meters> byBinary = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void preRegister() {
+        allowlist().forEach(this::meters);
+        meters(OTHER_BINARY);
+    }
+    
+    /**
+     * Record stored output sizes and truncation for one execution
+     */
+    public void record(String command, TaskExecution execution) {
+        Meters meters = meters(binaryTag(command));
+        String stdout = execution.getStdout() != null ? execution.getStdout() : "";
+        String stderr = execution.getStderr() != null ? execution.getStderr() : "";
+        
+        meters.stdoutBytes.record(stdout.getBytes(StandardCharsets.UTF_8).length);
+        meters.stderrBytes.record(stderr.getBytes(StandardCharsets.UTF_8).length);
+        if (stdout.endsWith(SafeProcessIO.TRUNCATION_MARKER)) {
+            meters.stdoutTruncated.increment();
+        }
+        if (stderr.endsWith(SafeProcessIO.TRUNCATION_MARKER)) {
+            meters.stderrTruncated.increment();
+        }
+    }
+    
+    /**
+     * First token of the command if it is allowlisted, otherwise "other"
+     */
+    String binaryTag(String command) {
+        if (command == null || command.isBlank()) {
+            return OTHER_BINARY;
+        }
+        String binary = command.trim().split("\\s+", 2)[0];
+        return allowlist().contains(binary) ? binary : OTHER_BINARY;
+    }
+    
+    private List<String> allowlist() {
+        CommandValidator.SecurityPolicy policy = validator.getPolicy();
+        if (policy == null || policy.getAllowlist() == null || policy.getAllowlist().getBinaries() == null) {
+            return List.of();
+        }
+        return policy.getAllowlist().getBinaries();
+    }
+    
+    private Meters meters(String binary) {
+        Meters meters = byBinary.get(binary);
+        return meters != null ? meters : byBinary.computeIfAbsent(binary, this::register);
+    }
+    
+    private Meters register(String binary) {
+        return new Meters(
+                summary(binary, "stdout"),
+                summary(binary, "stderr"),
+                counter(binary, "stdout"),
+                counter(binary, "stderr"));
+    }
+    
+    private DistributionSummary summary(String binary, String stream) {
+        return DistributionSummary.builder("kaiburr.execution.output.bytes")
+                .description("Stored output size per execution, after truncation")
+                .baseUnit("bytes")
+                .tag("binary", binary)
+                .tag("stream", stream)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    private Counter counter(String binary, String stream) {
+        return Counter.builder("kaiburr.execution.output.truncated")
+                .description("Executions whose output hit the size limit")
+                .tag("binary", binary)
+                .tag("stream", stream)
+                .register(meterRegistry);
+    }
+    
+    private static class Meters {
+        private final DistributionSummary stdoutBytes;
+        private final DistributionSummary stderrBytes;
+        private final Counter stdoutTruncated;
+        private final Counter stderrTruncated;
+        
+        Meters(DistributionSummary stdoutBytes, DistributionSummary stderrBytes,
+               Counter stdoutTruncated, Counter stderrTruncated) {
+            this.stdoutBytes = stdoutBytes;
+            this.stderrBytes = stderrBytes;
+            this.stdoutTruncated = stdoutTruncated;
+            this.stderrTruncated = stderrTruncated;
+        }
+    }
+}
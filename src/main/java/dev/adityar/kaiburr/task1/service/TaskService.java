@@ -9,6 +9,7 @@ import dev.adityar.kaiburr.task1.util.CorrelationId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -25,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing tasks and executions
@@ -39,6 +41,7 @@ public class TaskService {
     private final CommandValidator validator;
     private final CommandRunner commandRunner;
     private final ObjectMapper objectMapper;
+    private final OutputMetrics outputMetrics;
     
     @Value("${app.audit.log-file:audit.log.jsonl}")
     private String auditLogFile;
@@ -47,6 +50,13 @@ public class TaskService {
      * Create or update a task
      */
     public TaskResponse upsertTask(TaskRequest request) {
+        return upsertTask(request, null);
+    }
+    
+    /**
+     * Create or update a task only if it is still at the expected version (If-Match)
+     */
+    public TaskResponse upsertTask(TaskRequest request, Long expectedVersion) {
         log.info("Upserting task: id={}, name={}", request.getId(), request.getName());
         
         // Validate command
@@ -64,6 +74,10 @@ public class TaskService {
         Task task = taskRepository.findById(request.getId())
                 .orElse(null);
         
+        if (expectedVersion != null && (task == null || !expectedVersion.equals(task.getVersion()))) {
+            throw preconditionFailed(request.getId());
+        }
+        
         Instant now = Instant.now();
         
         if (task == null) {
@@ -86,7 +100,18 @@ public class TaskService {
             log.info("Updating existing task: {}", request.getId());
         }
         
-        task = taskRepository.save(task);
+        try {
+            // @Version makes the save fail if the task was written after it was read
+            task = taskRepository.save(task);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw preconditionFailed(request.getId());
+            }
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Task was modified concurrently: " + request.getId()
+            );
+        }
         
         return toTaskResponse(task);
     }
@@ -113,6 +138,18 @@ public class TaskService {
         return toTaskResponse(task);
     }
     
+    /**
+     * Get a task's version without loading its executions
+     */
+    public Long getTaskVersion(String id) {
+        return taskRepository.findVersionById(id)
+                .map(Task::getVersion)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Task not found with id: " + id
+                ));
+    }
+    
     /**
      * Delete task by ID
      */
@@ -147,6 +184,15 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Search tasks by name, streamed from a cursor; the caller closes the stream
+     */
+    public Stream<TaskResponse> streamTasksByName(String name) {
+        log.info("Streaming tasks by name: {}", name);
+        return taskRepository.streamByNameContainingIgnoreCase(name)
+                .map(this::toTaskResponse);
+    }
+    
     /**
      * Execute task command and record execution
      */
@@ -170,6 +216,8 @@ public class TaskService {
             task.setUpdatedAt(Instant.now());
             taskRepository.save(task);
             
+            outputMetrics.record(task.getCommand(), execution);
+            
             // Write audit log
             writeAuditLog(task, execution);
             
@@ -252,6 +300,13 @@ public class TaskService {
         }
     }
     
+    private ResponseStatusException preconditionFailed(String id) {
+        return new ResponseStatusException(
+                HttpStatus.PRECONDITION_FAILED,
+                "Task " + id + " does not match If-Match"
+        );
+    }
+    
     /**
      * Convert Task entity to TaskResponse DTO
      */
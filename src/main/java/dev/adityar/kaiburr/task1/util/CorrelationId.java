@@ -2,8 +2,6 @@ package dev.adityar.kaiburr.task1.util;
 
 import org.slf4j.MDC;
 
-import java.util.UUID;
-
 /**
  * Utility for managing correlation IDs across request lifecycle
  * Author: Aditya R.
@@ -18,7 +16,7 @@ public class CorrelationId {
     }
     
     public static String generate() {
-        return UUID.randomUUID().toString();
+        return Ids.uuid();
     }
     
     public static void set(String correlationId) {
@@ -0,0 +1,55 @@
+package dev.adityar.kaiburr.task1.util;
+
+/**
+ * Strong entity tags derived from the task @Version, and matching of
+ * If-Match / If-None-Match header values against them
+ * Author: Aditya R.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong ETag of a version; documents written before versioning count as version 0.
+     */
+    public static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * If-None-Match: weak comparison, so W/"3" matches "3".
+     */
+    public static boolean noneMatchHits(String header, String etag) {
+        return matches(header, etag, true);
+    }
+
+    /**
+     * If-Match: strong comparison, so weak tags never match.
+     */
+    public static boolean matchHits(String header, String etag) {
+        return matches(header, etag, false);
+    }
+
+    private static boolean matches(String header, String etag, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
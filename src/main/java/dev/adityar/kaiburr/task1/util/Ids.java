@@ -0,0 +1,40 @@
+package dev.adityar.kaiburr.task1.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDv7 identifiers (48-bit millisecond timestamp, 12-bit
+ * per-thread counter, 62 random bits from ThreadLocalRandom), increasing
+ * per thread and lock-free; unique but not unguessable
+ * Author: Aditya R.
+ */
+public final class Ids {
+
+    private static final int COUNTER_MAX = (1 << 12) - 1;
+
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[2]);
+
+    private Ids() {
+    }
+
+    /**
+     * A new UUIDv7 in its canonical string form.
+     */
+    public static String uuid() {
+        // state[0]: last timestamp, state[1]: counter within it
+        long[] state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        if (now > state[0]) {
+            state[0] = now;
+            state[1] = random.nextInt(COUNTER_MAX >> 1);
+        } else if (++state[1] > COUNTER_MAX) {
+            state[0]++;
+            state[1] = 0;
+        }
+        long msb = state[0] << 16 | 0x7000L | state[1];
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+}
@@ -0,0 +1,84 @@
+package dev.adityar.kaiburr.task1.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Writes a cursor-backed Stream as a JSON array or as NDJSON while it is
+ * being read, so a response never holds more than one element (plus the
+ * driver's current batch) in memory.
+ *
+ * The task1 and task2 applications share no code, so each has a copy of
+ * this class. The copies are kept identical apart from the package.
+ *
+ * @author Aditya R
+ */
+public final class JsonStreaming {
+
+    private JsonStreaming() {
+    }
+
+    /**
+     * Whether the client asked for newline-delimited JSON.
+     */
+    public static boolean wantsNdjson(String accept) {
+        return accept != null && MediaType.parseMediaTypes(accept).stream()
+            .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+
+    /**
+     * The stream, unless it is empty. Only the first element is read; an
+     * empty stream is closed.
+     */
+    public static <T> Optional<Stream<T>> nonEmpty(Stream<T> items) {
+        Iterator<T> iterator = items.iterator();
+        if (!iterator.hasNext()) {
+            items.close();
+            return Optional.empty();
+        }
+        return Optional.of(StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(items::close));
+    }
+
+    /**
+     * Response body that writes each element as it is read and closes the stream at the end.
+     * The first element is flushed straight away, so the client sees bytes
+     * before the rest of the cursor has been read.
+     */
+    public static <T> StreamingResponseBody write(ObjectMapper objectMapper, Stream<T> items, boolean ndjson) {
+        return out -> {
+            try (items; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // NDJSON separates values with newlines, not the default space
+                generator.setRootValueSeparator(null);
+                if (!ndjson) {
+                    generator.writeStartArray();
+                }
+                boolean first = true;
+                for (Iterator<T> iterator = items.iterator(); iterator.hasNext(); ) {
+                    generator.writeObject(iterator.next());
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                    if (first) {
+                        generator.flush();
+                        first = false;
+                    }
+                }
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+    }
+}
@@ -19,6 +19,8 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class SafeProcessIO {
     
+    public static final String TRUNCATION_MARKER = "\n[OUTPUT TRUNCATED - LIMIT REACHED]";
+    
     private static final ExecutorService executorService = Executors.newCachedThreadPool();
     
     /**
@@ -85,7 +87,7 @@ public class SafeProcessIO {
             }
             
             if (totalBytes >= maxBytes) {
-                output.append("\n[OUTPUT TRUNCATED - LIMIT REACHED]");
+                output.append(TRUNCATION_MARKER);
             }
         }
         return output.toString();
@@ -0,0 +1,63 @@
+package dev.adityar.kaiburr.task2.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * CBOR and Smile responses from the same DTOs as JSON.
+ * 
+ * With jackson-dataformat-cbor and -smile on the classpath (the
+ * binary-formats Maven profile), Spring MVC registers converters for
+ * application/cbor and application/x-jackson-smile, but each with an
+ * ObjectMapper of its own. They are replaced by converters using a copy of
+ * the application's mapper, so binary bodies leave out nulls and carry
+ * dates like JSON ones. They stay after the JSON converter, so JSON is
+ * still the answer to Accept: *&#47;*.
+ * 
+ * The task1 and task2 applications share no code, so each has a copy of
+ * this class. The copies are kept identical apart from the package.
+ * 
+ * @author Aditya R
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+    
+    static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+    static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+    
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+            || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        copyFor(objectMapper, CBOR_FACTORY)
+            .ifPresent(mapper -> converters.add(new MappingJackson2CborHttpMessageConverter(mapper)));
+        copyFor(objectMapper, SMILE_FACTORY)
+            .ifPresent(mapper -> converters.add(new MappingJackson2SmileHttpMessageConverter(mapper)));
+    }
+    
+    /**
+     * A copy of the mapper that writes the format of the given JsonFactory, if that format's module is present.
+     */
+    public static Optional<ObjectMapper> copyFor(ObjectMapper objectMapper, String factoryClass) {
+        if (!ClassUtils.isPresent(factoryClass, BinaryFormatsConfig.class.getClassLoader())) {
+            return Optional.empty();
+        }
+        JsonFactory factory = (JsonFactory) BeanUtils.instantiateClass(
+            ClassUtils.resolveClassName(factoryClass, BinaryFormatsConfig.class.getClassLoader()));
+        return Optional.of(objectMapper.copyWith(factory));
+    }
+}
@@ -1,5 +1,6 @@
 package dev.adityar.kaiburr.task2.config;
 
+import dev.adityar.kaiburr.task2.util.Ids;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -7,7 +8,6 @@ import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * Filter to add correlation ID to every request for distributed tracing.
@@ -30,7 +30,7 @@ public class CorrelationIdFilter implements Filter {
         // Get or generate correlation ID
         String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
         if (correlationId == null || correlationId.isBlank()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = Ids.uuid();
         }
         
         // Add to MDC for logging
@@ -0,0 +1,53 @@
+package dev.adityar.kaiburr.task2.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scheduling settings for executor pods (k8s.scheduling.*).
+ *
+ * Bound as properties rather than @Value fields because node affinity and
+ * tolerations are structured lists.
+ *
+ * @author Aditya R
+ */
+@Data
+@Component
+@Profile("k8s")
+@ConfigurationProperties(prefix = "k8s.scheduling")
+public class ExecutorSchedulingProperties {
+
+    /**
+     * PriorityClass for executor pods; blank for the cluster default.
+     */
+    private String priorityClassName = "";
+
+    private NodeAffinity nodeAffinity = new NodeAffinity();
+
+    private List<Toleration> tolerations = new ArrayList<>();
+
+    @Data
+    public static class NodeAffinity {
+        /** Node labels that must all match (requiredDuringScheduling). */
+        private Map<String, String> required = new LinkedHashMap<>();
+        /** Node labels that are preferred (preferredDuringScheduling), e.g. nodes with the image pre-pulled. */
+        private Map<String, String> preferred = new LinkedHashMap<>();
+        private int preferredWeight = 50;
+    }
+
+    @Data
+    public static class Toleration {
+        private String key;
+        private String operator = "Equal";
+        private String value;
+        private String effect;
+        private Long tolerationSeconds;
+    }
+}
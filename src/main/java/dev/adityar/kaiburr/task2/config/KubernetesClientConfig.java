@@ -1,26 +1,70 @@
 package dev.adityar.kaiburr.task2.config;
 
 import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.util.Config;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Kubernetes client configuration.
- * 
- * Creates ApiClient from in-cluster config or kubeconfig for development.
- * 
+ *
+ * Creates ApiClient from in-cluster config or kubeconfig for development,
+ * tunes its OkHttp connection pool and timeouts, and exposes singleton
+ * BatchV1Api/CoreV1Api beans so every call shares the same pool.
+ *
  * @author Aditya R
  */
 @Slf4j
 @Configuration
 @Profile("k8s")
 public class KubernetesClientConfig {
-    
+
+    @Value("${k8s.client.max-idle-connections:16}")
+    private int maxIdleConnections;
+
+    @Value("${k8s.client.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${k8s.client.http2:true}")
+    private boolean http2;
+
+    @Value("${k8s.client.connect-timeout-seconds:10}")
+    private int connectTimeoutSeconds;
+
+    @Value("${k8s.client.read-timeout-seconds:30}")
+    private int readTimeoutSeconds;
+
+    @Bean
+    public ApiClient kubernetesApiClient(MeterRegistry meterRegistry) {
+        ApiClient client = tune(createClient());
+        bindPoolMetrics(client.getHttpClient().connectionPool(), meterRegistry);
+        return client;
+    }
+
+    @Bean
+    public BatchV1Api batchV1Api(ApiClient apiClient) {
+        return new BatchV1Api(apiClient);
+    }
+
     @Bean
-    public ApiClient kubernetesApiClient() {
+    public CoreV1Api coreV1Api(ApiClient apiClient) {
+        return new CoreV1Api(apiClient);
+    }
+
+    private ApiClient createClient() {
         try {
             // Try in-cluster config first (for running inside Kubernetes)
             try {
@@ -38,4 +82,39 @@ public class KubernetesClientConfig {
             throw new IllegalStateException("Cannot connect to Kubernetes API", e);
         }
     }
+
+    /**
+     * Apply connection pool, protocol and timeout settings.
+     *
+     * Keeps the client's authentication and TLS setup by deriving from its
+     * existing OkHttpClient. The dispatcher's request limits are left alone:
+     * they only apply to enqueue(), and every API call here is a synchronous
+     * execute(). Concurrency is bounded by KubernetesApiGateway instead.
+     */
+    ApiClient tune(ApiClient client) {
+        // HTTP/2 is negotiated via ALPN on TLS; plain-text endpoints fall back to HTTP/1.1
+        List<Protocol> protocols = http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1);
+
+        OkHttpClient httpClient = client.getHttpClient().newBuilder()
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+            .protocols(protocols)
+            .connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS)
+            .readTimeout(readTimeoutSeconds, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(true)
+            .build();
+
+        log.info("Kubernetes HTTP client: maxIdle={}, keepAlive={}s, http2={}",
+            maxIdleConnections, keepAliveSeconds, http2);
+
+        return client.setHttpClient(httpClient);
+    }
+
+    private void bindPoolMetrics(ConnectionPool pool, MeterRegistry meterRegistry) {
+        Gauge.builder("kaiburr.k8s.http.connections", pool, ConnectionPool::connectionCount)
+            .tag("state", "total")
+            .register(meterRegistry);
+        Gauge.builder("kaiburr.k8s.http.connections", pool, ConnectionPool::idleConnectionCount)
+            .tag("state", "idle")
+            .register(meterRegistry);
+    }
 }
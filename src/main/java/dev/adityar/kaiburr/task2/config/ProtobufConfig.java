@@ -0,0 +1,27 @@
+package dev.adityar.kaiburr.task2.config;
+
+import dev.adityar.kaiburr.task2.util.ProtobufMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the protobuf converter after the default converters.
+ * 
+ * Appending keeps JSON the answer to Accept: *&#47;* and to requests
+ * without an Accept header; protobuf is only chosen when asked for.
+ * 
+ * @author Aditya R
+ */
+@Configuration
+@ConditionalOnProperty(name = "exec.protobuf.enabled", havingValue = "true", matchIfMissing = true)
+public class ProtobufConfig implements WebMvcConfigurer {
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufMessageConverter());
+    }
+}
@@ -0,0 +1,152 @@
+package dev.adityar.kaiburr.task2.controller;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.ExecutionStats;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.dto.BulkExecutionRequest;
+import dev.adityar.kaiburr.task2.dto.BulkExecutionResponse;
+import dev.adityar.kaiburr.task2.dto.ExecutionPage;
+import dev.adityar.kaiburr.task2.service.BulkExecutionService;
+import dev.adityar.kaiburr.task2.service.ExecutionEventStream;
+import dev.adityar.kaiburr.task2.service.ExecutionHistoryService;
+import dev.adityar.kaiburr.task2.service.ExecutionWaiter;
+import dev.adityar.kaiburr.task2.util.ProtobufMessageConverter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Controller for execution history queries and statistics.
+ * 
+ * Both listing endpoints return pages newest first; pass nextCursor back
+ * as cursor to get the following page. A single execution can be
+ * long-polled with waitSeconds instead of polled in a loop. High-volume
+ * clients can execute many tasks per request and follow completions on
+ * one stream; both also speak protobuf (application/x-protobuf).
+ * 
+ * @author Aditya R
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Executions", description = "Execution history API")
+public class ExecutionController {
+    
+    private final ExecutionHistoryService historyService;
+    private final ExecutionWaiter executionWaiter;
+    private final BulkExecutionService bulkExecutionService;
+    private final ExecutionEventStream eventStream;
+    
+    @Operation(summary = "Execute several tasks",
+        description = "Results are in request order; a task that could not be executed is REJECTED or FAILED "
+            + "with the reason in error instead of failing the whole request")
+    @ApiResponse(responseCode = "200", description = "One result per task")
+    @ApiResponse(responseCode = "400", description = "No task IDs or too many")
+    @PostMapping("/executions")
+    public ResponseEntity<BulkExecutionResponse> executeAll(@Valid @RequestBody BulkExecutionRequest request) {
+        return ResponseEntity.ok(new BulkExecutionResponse(bulkExecutionService.executeAll(request.getTaskIds())));
+    }
+    
+    @Operation(summary = "Stream execution completions",
+        description = "NDJSON, or length-delimited TaskExecutionResponse messages with Accept: application/x-protobuf. "
+            + "Only completions recorded by this instance are streamed")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @ApiResponse(responseCode = "503", description = "Too many open streams")
+    @GetMapping("/executions/events")
+    public ResponseEntity<ResponseBodyEmitter> streamEvents(
+            @Parameter(description = "Only completions of this task")
+            @RequestParam(required = false) String taskId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean protobuf = accept != null && MediaType.parseMediaTypes(accept).stream()
+            .anyMatch(type -> type.equalsTypeAndSubtype(ProtobufMessageConverter.PROTOBUF));
+        try {
+            return ResponseEntity.ok()
+                .contentType(protobuf ? ProtobufMessageConverter.PROTOBUF : MediaType.APPLICATION_NDJSON)
+                .body(eventStream.subscribe(taskId, protobuf));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @Operation(summary = "Search executions across all tasks")
+    @ApiResponse(responseCode = "200", description = "Page of executions")
+    @ApiResponse(responseCode = "400", description = "Invalid filter, limit or cursor")
+    @GetMapping("/executions")
+    public ResponseEntity<ExecutionPage> searchExecutions(
+            @Parameter(description = "Statuses to include (repeatable)")
+            @RequestParam(required = false) List<TaskExecution.ExecutionStatus> status,
+            @RequestParam(required = false) Integer exitCode,
+            @Parameter(description = "Earliest startedAt, inclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Latest startedAt, exclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(historyService.search(null, status, exitCode, from, to, cursor, limit));
+    }
+    
+    @Operation(summary = "Get execution statistics of all tasks",
+        description = "Counts by status, success rate and duration percentiles, maintained incrementally")
+    @ApiResponse(responseCode = "200", description = "Fleet statistics")
+    @GetMapping("/executions/stats")
+    public ResponseEntity<ExecutionStats> getFleetStats() {
+        return ResponseEntity.ok(historyService.fleetStats());
+    }
+    
+    @Operation(summary = "Get execution statistics of a task",
+        description = "Counts by status, success rate and duration percentiles, maintained incrementally")
+    @ApiResponse(responseCode = "200", description = "Task statistics")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @GetMapping("/tasks/{id}/stats")
+    public ResponseEntity<ExecutionStats> getTaskStats(@PathVariable String id) {
+        return ResponseEntity.ok(historyService.taskStats(id));
+    }
+    
+    @Operation(summary = "Get one execution, optionally waiting for it to finish",
+        description = "With waitSeconds the response is held until the execution is terminal or the wait ends; "
+            + "either way the current state is returned")
+    @ApiResponse(responseCode = "200", description = "Execution state")
+    @ApiResponse(responseCode = "400", description = "Negative waitSeconds")
+    @ApiResponse(responseCode = "404", description = "Task or execution not found")
+    @GetMapping("/tasks/{id}/executions/{execId}")
+    public DeferredResult<ExecutionRecord> getExecution(
+            @PathVariable String id,
+            @PathVariable String execId,
+            @Parameter(description = "Seconds to wait for a terminal state (capped by exec.wait.max-seconds)")
+            @RequestParam(defaultValue = "0") int waitSeconds) {
+        return executionWaiter.await(id, execId, waitSeconds);
+    }
+    
+    @Operation(summary = "List a task's executions")
+    @ApiResponse(responseCode = "200", description = "Page of executions")
+    @ApiResponse(responseCode = "400", description = "Invalid filter, limit or cursor")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @GetMapping("/tasks/{id}/executions")
+    public ResponseEntity<ExecutionPage> listTaskExecutions(
+            @PathVariable String id,
+            @Parameter(description = "Statuses to include (repeatable)")
+            @RequestParam(required = false) List<TaskExecution.ExecutionStatus> status,
+            @RequestParam(required = false) Integer exitCode,
+            @Parameter(description = "Earliest startedAt, inclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Latest startedAt, exclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(historyService.search(id, status, exitCode, from, to, cursor, limit));
+    }
+}
@@ -42,6 +42,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
+    @ExceptionHandler(TaskService.PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(
+            TaskService.PreconditionFailedException ex, HttpServletRequest request) {
+        
+        log.warn("Precondition failed: {}", ex.getMessage());
+        
+        ErrorResponse error = ErrorResponse.builder()
+            .timestamp(Instant.now())
+            .status(HttpStatus.PRECONDITION_FAILED.value())
+            .error("Precondition Failed")
+            .message(ex.getMessage())
+            .path(request.getRequestURI())
+            .correlationId(MDC.get("correlationId"))
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleValidationError(
             IllegalArgumentException ex, HttpServletRequest request) {
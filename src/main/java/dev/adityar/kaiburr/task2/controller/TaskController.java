@@ -1,20 +1,39 @@
 package dev.adityar.kaiburr.task2.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adityar.kaiburr.task2.domain.ExecutionDailySummary;
 import dev.adityar.kaiburr.task2.domain.Task;
 import dev.adityar.kaiburr.task2.domain.TaskExecution;
 import dev.adityar.kaiburr.task2.dto.*;
+import dev.adityar.kaiburr.task2.service.ResourceRecommender;
 import dev.adityar.kaiburr.task2.service.TaskService;
+import dev.adityar.kaiburr.task2.util.ETags;
+import dev.adityar.kaiburr.task2.util.JsonStreaming;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * REST controller for Task operations.
@@ -31,58 +50,103 @@ import java.util.stream.Collectors;
 public class TaskController {
     
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
     
     @Operation(summary = "Create or update a task")
     @ApiResponse(responseCode = "200", description = "Task created/updated successfully")
     @ApiResponse(responseCode = "400", description = "Invalid request or validation failure")
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the task's current ETag")
     @PutMapping
-    public ResponseEntity<TaskResponse> upsertTask(@Valid @RequestBody TaskRequest request) {
+    public ResponseEntity<TaskResponse> upsertTask(
+            @Valid @RequestBody TaskRequest request,
+            @Parameter(description = "Only update the task if it still has this ETag")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Task task = Task.builder()
             .id(request.getId())
             .name(request.getName())
             .command(request.getCommand())
             .args(request.getArgs())
             .assignee(request.getAssignee())
+            .resourceClass(request.getResourceClass())
+            .retention(request.getRetention())
             .build();
         
-        Task saved = taskService.upsertTask(task);
-        return ResponseEntity.ok(toResponse(saved));
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = Optional.ofNullable(request.getId())
+                .flatMap(taskService::findVersion)
+                .filter(version -> ETags.matchHits(ifMatch, ETags.of(version)))
+                .orElseThrow(() -> new TaskService.PreconditionFailedException(
+                    "Task " + request.getId() + " does not match If-Match " + ifMatch));
+        }
+        
+        Task saved = taskService.upsertTask(task, expectedVersion);
+        return ResponseEntity.ok()
+            .eTag(ETags.of(saved.getVersion()))
+            .body(toResponse(saved, true));
     }
     
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "Get all tasks", description = "Streamed from the database cursor; NDJSON with Accept: application/x-ndjson")
+    @ApiResponse(responseCode = "200", description = "Tasks streamed",
+        content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))))
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        List<TaskResponse> tasks = taskService.findAll().stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<StreamingResponseBody> getAllTasks(
+            @Parameter(description = "Include execution stdout/stderr")
+            @RequestParam(defaultValue = "true") boolean includeOutput,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return streamed(taskService.streamAll(includeOutput), includeOutput, accept);
     }
     
     @Operation(summary = "Get task by ID")
     @ApiResponse(responseCode = "200", description = "Task found")
+    @ApiResponse(responseCode = "304", description = "Task unchanged since the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "Task not found")
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable String id) {
-        return taskService.findById(id)
-            .map(this::toResponse)
-            .map(ResponseEntity::ok)
+    public ResponseEntity<TaskResponse> getTaskById(
+            @PathVariable String id,
+            @Parameter(description = "Include execution stdout/stderr")
+            @RequestParam(defaultValue = "true") boolean includeOutput,
+            @Parameter(description = "Include execution history; without it the task is served from the task cache")
+            @RequestParam(defaultValue = "true") boolean includeExecutions,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // The version is read on its own, so an unchanged task is answered without loading its executions.
+        // The definition-only form always does this, since cached definitions miss execution updates.
+        String etag = null;
+        if (ifNoneMatch != null || !includeExecutions) {
+            Optional<Long> version = taskService.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            etag = ETags.of(version.get());
+            if (ETags.noneMatchHits(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        
+        Optional<Task> task = includeExecutions
+            ? taskService.findById(id, includeOutput)
+            : taskService.findDefinition(id);
+        String definitionEtag = etag;
+        return task
+            .map(found -> ResponseEntity.ok()
+                .eTag(includeExecutions ? ETags.of(found.getVersion()) : definitionEtag)
+                .body(toResponse(found, includeOutput)))
             .orElse(ResponseEntity.notFound().build());
     }
     
-    @Operation(summary = "Search tasks by name")
-    @ApiResponse(responseCode = "200", description = "Tasks found")
+    @Operation(summary = "Search tasks by name", description = "Streamed like GET /api/tasks")
+    @ApiResponse(responseCode = "200", description = "Tasks found",
+        content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))))
     @ApiResponse(responseCode = "404", description = "No tasks found")
     @GetMapping("/search")
-    public ResponseEntity<List<TaskResponse>> searchTasks(@RequestParam String name) {
-        List<TaskResponse> tasks = taskService.searchByName(name).stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
-        
-        if (tasks.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<StreamingResponseBody> searchTasks(
+            @RequestParam String name,
+            @Parameter(description = "Include execution stdout/stderr")
+            @RequestParam(defaultValue = "true") boolean includeOutput,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreaming.nonEmpty(taskService.streamByName(name, includeOutput))
+            .map(tasks -> streamed(tasks, includeOutput, accept))
+            .orElse(ResponseEntity.notFound().build());
     }
     
     @Operation(summary = "Delete task by ID")
@@ -102,33 +166,81 @@ public class TaskController {
     public ResponseEntity<TaskExecutionResponse> executeTask(@PathVariable String id) {
         TaskExecution execution = taskService.executeTask(id);
         
-        TaskExecutionResponse response = TaskExecutionResponse.builder()
-            .taskId(id)
-            .executionId(execution.getId())
-            .jobName(execution.getJobName())
-            .status(execution.getStatus().name())
-            .exitCode(execution.getExitCode())
-            .stdout(execution.getStdout())
-            .stderr(execution.getStderr())
-            .durationMs(execution.getDurationMs())
-            .startedAt(execution.getStartedAt())
-            .completedAt(execution.getCompletedAt())
-            .build();
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(TaskExecutionResponse.of(id, execution));
+    }
+    
+    @Operation(summary = "Get the full stdout of an execution",
+        description = "Serves output spilled to GridFS beyond the inline limit; supports HTTP Range requests")
+    @ApiResponse(responseCode = "200", description = "Output returned")
+    @ApiResponse(responseCode = "206", description = "Requested range returned")
+    @ApiResponse(responseCode = "404", description = "Task or execution not found")
+    @GetMapping("/{id}/executions/{execId}/stdout")
+    public ResponseEntity<Resource> getExecutionStdout(@PathVariable String id, @PathVariable String execId) {
+        // Range and If-Range are applied by Spring MVC for Resource bodies of known length
+        return taskService.openStdout(id, execId)
+            .map(stdout -> ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(stdout))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @Operation(summary = "Get daily summaries of compacted executions",
+        description = "Executions removed by retention are kept as per-day counts, success rate and p50/p95 duration")
+    @ApiResponse(responseCode = "200", description = "Summaries returned, oldest day first")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @GetMapping("/{id}/execution-summaries")
+    public ResponseEntity<List<ExecutionDailySummary>> getExecutionSummaries(
+            @PathVariable String id,
+            @Parameter(description = "First UTC day (default: 30 days before to)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last UTC day (default: today)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate last = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate first = from != null ? from : last.minusDays(30);
+        return ResponseEntity.ok(taskService.findSummaries(id, first, last));
+    }
+    
+    @Operation(summary = "Recommend a resource class from past executions")
+    @ApiResponse(responseCode = "200", description = "Recommendation computed")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @GetMapping("/{id}/resource-recommendation")
+    public ResponseEntity<ResourceRecommender.Recommendation> recommendResources(@PathVariable String id) {
+        return ResponseEntity.ok(taskService.recommendResources(id));
+    }
+    
+    /**
+     * Write tasks as they are read from the cursor: a JSON array, or NDJSON when the client accepts it.
+     */
+    private ResponseEntity<StreamingResponseBody> streamed(Stream<Task> tasks, boolean includeOutput, String accept) {
+        boolean ndjson = JsonStreaming.wantsNdjson(accept);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(JsonStreaming.write(objectMapper, tasks.map(task -> toResponse(task, includeOutput)), ndjson));
     }
     
     /**
      * Convert Task entity to response DTO.
+     * 
+     * Without output, compressed stdout/stderr is never inflated.
      */
-    private TaskResponse toResponse(Task task) {
+    private TaskResponse toResponse(Task task, boolean includeOutput) {
+        List<TaskExecution> executions = task.getExecutions();
+        if (!includeOutput && executions != null) {
+            executions = executions.stream().map(TaskExecution::withoutOutput).toList();
+        }
+        
         return TaskResponse.builder()
             .id(task.getId())
             .name(task.getName())
             .command(task.getCommand())
             .args(task.getArgs())
             .assignee(task.getAssignee())
-            .executions(task.getExecutions())
+            .resourceClass(task.getResourceClass())
+            .retention(task.getRetention())
+            .executions(executions)
+            .version(task.getVersion())
+            .lastModified(task.getLastModified())
             .build();
     }
 }
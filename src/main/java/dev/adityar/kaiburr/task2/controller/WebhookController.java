@@ -0,0 +1,54 @@
+package dev.adityar.kaiburr.task2.controller;
+
+import dev.adityar.kaiburr.task2.domain.WebhookSubscription;
+import dev.adityar.kaiburr.task2.dto.WebhookRequest;
+import dev.adityar.kaiburr.task2.service.WebhookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for webhook subscriptions to execution completions.
+ * 
+ * @author Aditya R
+ */
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+@Tag(name = "Webhooks", description = "Execution completion webhooks")
+public class WebhookController {
+    
+    private final WebhookService webhookService;
+    
+    @Operation(summary = "Subscribe a URL to execution completions",
+        description = "Completions of the given task, or of all tasks without taskId, are POSTed in batches")
+    @ApiResponse(responseCode = "201", description = "Subscription created")
+    @ApiResponse(responseCode = "400", description = "Invalid URL")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @PostMapping
+    public ResponseEntity<WebhookSubscription> subscribe(@Valid @RequestBody WebhookRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(webhookService.subscribe(request.getUrl(), request.getTaskId(), request.getSecret()));
+    }
+    
+    @Operation(summary = "List webhook subscriptions")
+    @GetMapping
+    public ResponseEntity<List<WebhookSubscription>> listSubscriptions() {
+        return ResponseEntity.ok(webhookService.findAll());
+    }
+    
+    @Operation(summary = "Delete a webhook subscription and its undelivered completions")
+    @ApiResponse(responseCode = "204", description = "Subscription deleted")
+    @ApiResponse(responseCode = "404", description = "Subscription not found")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> unsubscribe(@PathVariable String id) {
+        return webhookService.unsubscribe(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,80 @@
+package dev.adityar.kaiburr.task2.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import dev.adityar.kaiburr.task2.util.DurationHistogram;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregate of one task's compacted executions for one UTC day.
+ * 
+ * Written by the retention compactor with $inc only, so repeated
+ * compaction runs for the same day add up. Durations are kept as
+ * DurationHistogram buckets; success rate and percentiles are derived
+ * from the counts when read.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "execution_daily_summaries")
+@CompoundIndex(name = "task_day", def = "{'taskId': 1, 'day': 1}")
+public class ExecutionDailySummary {
+    
+    /**
+     * taskId + ":" + day.
+     */
+    @Id
+    @JsonIgnore
+    private String id;
+    
+    private String taskId;
+    
+    /**
+     * UTC day the executions started, as yyyy-MM-dd.
+     */
+    private String day;
+    
+    private long total;
+    
+    /**
+     * Executions per TaskExecution.ExecutionStatus name.
+     */
+    @Builder.Default
+    private Map<String, Long> statusCounts = new HashMap<>();
+    
+    /**
+     * DurationHistogram bucket counts of durationMs.
+     */
+    @JsonIgnore
+    @Builder.Default
+    private Map<String, Long> durationBuckets = new HashMap<>();
+    
+    public static String idOf(String taskId, String day) {
+        return taskId + ":" + day;
+    }
+    
+    public Double getSuccessRate() {
+        return total > 0
+            ? (double) statusCounts.getOrDefault(TaskExecution.ExecutionStatus.SUCCEEDED.name(), 0L) / total
+            : null;
+    }
+    
+    public Long getP50DurationMs() {
+        return DurationHistogram.quantile(durationBuckets, 0.50);
+    }
+    
+    public Long getP95DurationMs() {
+        return DurationHistogram.quantile(durationBuckets, 0.95);
+    }
+}
@@ -0,0 +1,68 @@
+package dev.adityar.kaiburr.task2.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Queryable copy of one TaskExecution, without its output.
+ * 
+ * Executions live embedded in their task, which cannot be filtered or
+ * paged across tasks efficiently. TaskRepository keeps one record per
+ * execution in execution_records alongside every embedded write, and
+ * ExecutionRecordIndexes maintains the compound indexes that the
+ * execution history queries use.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "execution_records")
+public class ExecutionRecord {
+    
+    /**
+     * The execution id.
+     */
+    @Id
+    private String id;
+    
+    private String taskId;
+    
+    private String jobName;
+    
+    private String resourceClass;
+    
+    private TaskExecution.ExecutionStatus status;
+    
+    private Integer exitCode;
+    
+    private String terminationReason;
+    
+    private Long durationMs;
+    
+    private Instant startedAt;
+    
+    private Instant completedAt;
+    
+    public static ExecutionRecord of(String taskId, TaskExecution execution) {
+        return ExecutionRecord.builder()
+            .id(execution.getId())
+            .taskId(taskId)
+            .jobName(execution.getJobName())
+            .resourceClass(execution.getResourceClass())
+            .status(execution.getStatus())
+            .exitCode(execution.getExitCode())
+            .terminationReason(execution.getTerminationReason())
+            .durationMs(execution.getDurationMs())
+            .startedAt(execution.getStartedAt())
+            .completedAt(execution.getCompletedAt())
+            .build();
+    }
+}
@@ -0,0 +1,108 @@
+package dev.adityar.kaiburr.task2.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import dev.adityar.kaiburr.task2.util.DurationHistogram;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running execution statistics of one task, or of the whole fleet.
+ * 
+ * Updated with $inc on every completed execution, so reading them costs
+ * one document lookup however long the history is, and they keep counting
+ * executions that retention has since removed. Durations are kept as
+ * DurationHistogram buckets; success rate, mean and percentiles are
+ * derived from the counts when read.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "execution_stats")
+public class ExecutionStats {
+    
+    /**
+     * Id of the fleet-wide document; TaskRequest rejects it as a task id.
+     */
+    public static final String FLEET_ID = "_fleet";
+    
+    /**
+     * The task id, or FLEET_ID.
+     */
+    @Id
+    private String id;
+    
+    private long total;
+    
+    /**
+     * Executions per TaskExecution.ExecutionStatus name.
+     */
+    @Builder.Default
+    private Map<String, Long> statusCounts = new HashMap<>();
+    
+    /**
+     * DurationHistogram bucket counts of durationMs.
+     */
+    @JsonIgnore
+    @Builder.Default
+    private Map<String, Long> durationBuckets = new HashMap<>();
+    
+    @JsonIgnore
+    private long durationSumMs;
+    
+    private Instant lastCompletedAt;
+    
+    public static ExecutionStats empty(String id) {
+        return ExecutionStats.builder().id(id).build();
+    }
+    
+    /**
+     * Count one completed execution in memory, as
+     * ExecutionStatsRepository.recordCompletion does in the database.
+     */
+    public void add(ExecutionRecord execution) {
+        total++;
+        statusCounts.merge(execution.getStatus().name(), 1L, Long::sum);
+        if (execution.getDurationMs() != null) {
+            durationBuckets.merge(String.valueOf(DurationHistogram.bucketOf(execution.getDurationMs())), 1L, Long::sum);
+            durationSumMs += execution.getDurationMs();
+        }
+        if (execution.getCompletedAt() != null
+                && (lastCompletedAt == null || execution.getCompletedAt().isAfter(lastCompletedAt))) {
+            lastCompletedAt = execution.getCompletedAt();
+        }
+    }
+    
+    public Double getSuccessRate() {
+        return total > 0
+            ? (double) statusCounts.getOrDefault(TaskExecution.ExecutionStatus.SUCCEEDED.name(), 0L) / total
+            : null;
+    }
+    
+    public Long getMeanDurationMs() {
+        long timed = durationBuckets.values().stream().mapToLong(Long::longValue).sum();
+        return timed > 0 ? durationSumMs / timed : null;
+    }
+    
+    public Long getP50DurationMs() {
+        return DurationHistogram.quantile(durationBuckets, 0.50);
+    }
+    
+    public Long getP95DurationMs() {
+        return DurationHistogram.quantile(durationBuckets, 0.95);
+    }
+    
+    public Long getP99DurationMs() {
+        return DurationHistogram.quantile(durationBuckets, 0.99);
+    }
+}
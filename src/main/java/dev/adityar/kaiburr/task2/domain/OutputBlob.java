@@ -0,0 +1,52 @@
+package dev.adityar.kaiburr.task2.domain;
+
+import dev.adityar.kaiburr.task2.util.OutputDeflater;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Content-addressed execution output, shared by every execution that
+ * produced the same bytes.
+ * 
+ * The id is the SHA-256 of the UTF-8 output (lowercase hex). Executions
+ * reference it through stdoutRef/stderrRef, and refCount counts those
+ * references so the blob can be deleted once the last one is released.
+ * Large content is stored deflated, like inline output.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "output_blobs")
+public class OutputBlob {
+    
+    @Id
+    private String id;
+    
+    private String content;
+    
+    @ToString.Exclude
+    private byte[] deflated;
+    
+    /**
+     * UTF-8 size of the output.
+     */
+    private long sizeBytes;
+    
+    private long refCount;
+    
+    private Instant createdAt;
+    
+    public String getContent() {
+        return content == null && deflated != null ? OutputDeflater.inflate(deflated) : content;
+    }
+}
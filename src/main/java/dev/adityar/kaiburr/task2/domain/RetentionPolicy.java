@@ -0,0 +1,41 @@
+package dev.adityar.kaiburr.task2.domain;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Execution history retention of a task.
+ * 
+ * Unset fields fall back to the global exec.retention settings; 0 means
+ * unlimited. An execution is compacted once it is past the newest
+ * keepLast or older than its age limit, whichever comes first.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetentionPolicy {
+    
+    /**
+     * Number of most recent completed executions to keep.
+     */
+    @PositiveOrZero
+    private Integer keepLast;
+    
+    /**
+     * Days to keep SUCCEEDED executions.
+     */
+    @PositiveOrZero
+    private Integer maxAgeDays;
+    
+    /**
+     * Days to keep FAILED and TIMEOUT executions.
+     */
+    @PositiveOrZero
+    private Integer failureMaxAgeDays;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,7 +20,7 @@ import java.util.List;
  * @author Aditya R
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "tasks")
@@ -37,6 +38,24 @@ public class Task {
     
     private String assignee;
     
+    /**
+     * Executor resource class from the command policy; null uses the policy default.
+     */
+    private String resourceClass;
+    
+    /**
+     * Execution history retention; null uses the global exec.retention settings.
+     */
+    private RetentionPolicy retention;
+    
     @Builder.Default
     private List<TaskExecution> executions = new ArrayList<>();
+    
+    /**
+     * Incremented by every write, including execution updates; the task's ETag.
+     * Not a Spring Data @Version, so upserts by id stay replaces rather than inserts.
+     */
+    private Long version;
+    
+    private Instant lastModified;
 }
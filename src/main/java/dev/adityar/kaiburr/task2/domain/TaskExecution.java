@@ -1,9 +1,12 @@
 package dev.adityar.kaiburr.task2.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import dev.adityar.kaiburr.task2.util.OutputDeflater;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.Instant;
 
@@ -13,10 +16,23 @@ import java.time.Instant;
  * In Kubernetes mode, each execution creates a Job and this record
  * captures the results including stdout, stderr, exit code, and timing.
  * 
+ * Output above the compression threshold is stored deflated as BSON binary
+ * (stdoutDeflated/stderrDeflated) with the plain field left null; the
+ * getters inflate it on demand, so it is only decompressed when a response
+ * actually includes it.
+ * 
+ * Output large enough to be worth sharing is stored once in the
+ * output_blobs collection instead, and stdoutRef/stderrRef hold its
+ * SHA-256; TaskService resolves those refs when a response includes output.
+ * 
+ * When output spilling is enabled, stdout longer than the inline limit is
+ * kept in full in GridFS (stdoutFileId) and stdout holds a truncated
+ * preview; the full output is served by GET .../executions/{execId}/stdout.
+ * 
  * @author Aditya R
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TaskExecution {
@@ -25,6 +41,27 @@ public class TaskExecution {
     
     private String jobName;
     
+    /**
+     * execUuid label of the Job, recorded before the Job is created so the
+     * execution can be re-attached after a restart.
+     */
+    private String execUuid;
+    
+    /**
+     * Position of this command in a batched Job; null for single-command Jobs.
+     */
+    private Integer batchIndex;
+    
+    /**
+     * Resource class the Job ran with.
+     */
+    private String resourceClass;
+    
+    /**
+     * Container termination reason reported by Kubernetes, e.g. OOMKilled.
+     */
+    private String terminationReason;
+    
     private ExecutionStatus status;
     
     private Integer exitCode;
@@ -33,12 +70,56 @@ public class TaskExecution {
     
     private String stderr;
     
+    @JsonIgnore
+    @ToString.Exclude
+    private byte[] stdoutDeflated;
+    
+    @JsonIgnore
+    @ToString.Exclude
+    private byte[] stderrDeflated;
+    
+    /**
+     * Id (SHA-256) of the OutputBlob holding stdout, when it is not stored inline.
+     */
+    @JsonIgnore
+    private String stdoutRef;
+    
+    @JsonIgnore
+    private String stderrRef;
+    
+    /**
+     * GridFS file with the full stdout, when it was longer than the inline preview.
+     */
+    @JsonIgnore
+    private String stdoutFileId;
+    
+    /**
+     * Full stdout size in bytes, set when stdout was spilled to GridFS.
+     */
+    private Long stdoutSize;
+    
     private Long durationMs;
     
     private Instant startedAt;
     
     private Instant completedAt;
     
+    public String getStdout() {
+        return stdout == null && stdoutDeflated != null ? OutputDeflater.inflate(stdoutDeflated) : stdout;
+    }
+    
+    public String getStderr() {
+        return stderr == null && stderrDeflated != null ? OutputDeflater.inflate(stderrDeflated) : stderr;
+    }
+    
+    /**
+     * Copy of this execution without stdout/stderr, for listings that omit output.
+     */
+    public TaskExecution withoutOutput() {
+        return toBuilder().stdout(null).stderr(null).stdoutDeflated(null).stderrDeflated(null)
+            .stdoutRef(null).stderrRef(null).build();
+    }
+    
     /**
      * Execution status enum for async execution support.
      */
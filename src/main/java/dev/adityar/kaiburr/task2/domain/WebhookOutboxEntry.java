@@ -0,0 +1,54 @@
+package dev.adityar.kaiburr.task2.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One execution completion waiting to be delivered to one subscription.
+ * 
+ * Entries are written when the completion is recorded and deleted once a
+ * POST containing them is acknowledged, so undelivered completions
+ * survive a restart. nextAttemptAt is both the retry schedule and the
+ * claim: a dispatcher moves it one lease ahead before sending, so other
+ * replicas skip the entry, and an entry whose dispatcher died becomes due
+ * again when the lease runs out.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "webhook_outbox")
+@CompoundIndex(name = "nextAttemptAt_subscription", def = "{'nextAttemptAt': 1, 'subscriptionId': 1}")
+public class WebhookOutboxEntry {
+    
+    @Id
+    private String id;
+    
+    private String subscriptionId;
+    
+    private ExecutionRecord execution;
+    
+    private int attempts;
+    
+    private Instant nextAttemptAt;
+    
+    /**
+     * Token of the dispatch run that currently holds the entry.
+     */
+    @Indexed(sparse = true)
+    private String claim;
+    
+    private String lastError;
+    
+    private Instant createdAt;
+}
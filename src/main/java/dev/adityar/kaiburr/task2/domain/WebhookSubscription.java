@@ -0,0 +1,47 @@
+package dev.adityar.kaiburr.task2.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Webhook subscription to execution completions.
+ * 
+ * A subscription with a taskId receives that task's completions only;
+ * one without receives every task's. With a secret, each POST carries an
+ * HMAC-SHA256 of its body in X-Kaiburr-Signature.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "webhook_subscriptions")
+public class WebhookSubscription {
+    
+    @Id
+    private String id;
+    
+    private String url;
+    
+    /**
+     * Task whose completions are sent; null for all tasks.
+     */
+    @Indexed
+    private String taskId;
+    
+    @ToString.Exclude
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String secret;
+    
+    private Instant createdAt;
+}
@@ -0,0 +1,27 @@
+package dev.adityar.kaiburr.task2.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for executing several tasks in one call.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExecutionRequest {
+    
+    @NotEmpty(message = "At least one task ID is required")
+    @Size(max = 500, message = "Maximum 500 tasks per request")
+    private List<@NotBlank(message = "Task ID must not be blank") String> taskIds;
+}
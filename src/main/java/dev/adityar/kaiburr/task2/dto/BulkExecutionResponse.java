@@ -0,0 +1,22 @@
+package dev.adityar.kaiburr.task2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk execution, one result per requested task in request order.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExecutionResponse {
+    
+    private List<TaskExecutionResponse> executions;
+}
@@ -0,0 +1,28 @@
+package dev.adityar.kaiburr.task2.dto;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of execution history, newest first.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionPage {
+    
+    private List<ExecutionRecord> items;
+    
+    /**
+     * Opaque cursor for the next page; null on the last page.
+     */
+    private String nextCursor;
+}
@@ -1,5 +1,7 @@
 package dev.adityar.kaiburr.task2.dto;
 
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +20,11 @@ import java.time.Instant;
 @AllArgsConstructor
 public class TaskExecutionResponse {
     
+    /**
+     * Status of a bulk item that was not executed.
+     */
+    public static final String REJECTED = "REJECTED";
+    
     private String taskId;
     private String executionId;
     private String jobName;
@@ -28,4 +35,48 @@ public class TaskExecutionResponse {
     private Long durationMs;
     private Instant startedAt;
     private Instant completedAt;
+    
+    /**
+     * Why the task was not executed; only set with status REJECTED.
+     */
+    private String error;
+    
+    public static TaskExecutionResponse of(String taskId, TaskExecution execution) {
+        return TaskExecutionResponse.builder()
+            .taskId(taskId)
+            .executionId(execution.getId())
+            .jobName(execution.getJobName())
+            .status(execution.getStatus() != null ? execution.getStatus().name() : null)
+            .exitCode(execution.getExitCode())
+            .stdout(execution.getStdout())
+            .stderr(execution.getStderr())
+            .durationMs(execution.getDurationMs())
+            .startedAt(execution.getStartedAt())
+            .completedAt(execution.getCompletedAt())
+            .build();
+    }
+    
+    /**
+     * Response for an execution record, which carries no output.
+     */
+    public static TaskExecutionResponse of(ExecutionRecord record) {
+        return TaskExecutionResponse.builder()
+            .taskId(record.getTaskId())
+            .executionId(record.getId())
+            .jobName(record.getJobName())
+            .status(record.getStatus() != null ? record.getStatus().name() : null)
+            .exitCode(record.getExitCode())
+            .durationMs(record.getDurationMs())
+            .startedAt(record.getStartedAt())
+            .completedAt(record.getCompletedAt())
+            .build();
+    }
+    
+    public static TaskExecutionResponse rejected(String taskId, String error) {
+        return TaskExecutionResponse.builder()
+            .taskId(taskId)
+            .status(REJECTED)
+            .error(error)
+            .build();
+    }
 }
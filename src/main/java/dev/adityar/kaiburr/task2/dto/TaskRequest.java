@@ -1,11 +1,15 @@
 package dev.adityar.kaiburr.task2.dto;
 
+import dev.adityar.kaiburr.task2.domain.ExecutionStats;
+import dev.adityar.kaiburr.task2.domain.RetentionPolicy;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 
@@ -22,6 +26,7 @@ public class TaskRequest {
     
     @NotBlank(message = "Task ID is required")
     @Size(max = 100, message = "Task ID must not exceed 100 characters")
+    @Pattern(regexp = "^(?!" + ExecutionStats.FLEET_ID + "$).*", message = "Task ID " + ExecutionStats.FLEET_ID + " is reserved")
     private String id;
     
     @NotBlank(message = "Task name is required")
@@ -37,4 +42,10 @@ public class TaskRequest {
     
     @Size(max = 100, message = "Assignee must not exceed 100 characters")
     private String assignee;
+    
+    @Size(max = 32, message = "Resource class must not exceed 32 characters")
+    private String resourceClass;
+    
+    @Valid
+    private RetentionPolicy retention;
 }
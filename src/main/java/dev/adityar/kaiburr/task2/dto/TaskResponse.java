@@ -1,11 +1,13 @@
 package dev.adityar.kaiburr.task2.dto;
 
+import dev.adityar.kaiburr.task2.domain.RetentionPolicy;
 import dev.adityar.kaiburr.task2.domain.TaskExecution;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -24,5 +26,9 @@ public class TaskResponse {
     private String command;
     private List<String> args;
     private String assignee;
+    private String resourceClass;
+    private RetentionPolicy retention;
     private List<TaskExecution> executions;
+    private Long version;
+    private Instant lastModified;
 }
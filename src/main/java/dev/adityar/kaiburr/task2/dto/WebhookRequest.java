@@ -0,0 +1,34 @@
+package dev.adityar.kaiburr.task2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for creating a webhook subscription.
+ * 
+ * @author Aditya R
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookRequest {
+    
+    @NotBlank(message = "URL is required")
+    @Size(max = 2000, message = "URL must not exceed 2000 characters")
+    private String url;
+    
+    /**
+     * Task whose completions are sent; omit for all tasks.
+     */
+    @Size(max = 100, message = "Task ID must not exceed 100 characters")
+    private String taskId;
+    
+    @Size(max = 200, message = "Secret must not exceed 200 characters")
+    private String secret;
+}
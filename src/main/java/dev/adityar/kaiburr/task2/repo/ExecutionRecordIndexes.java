@@ -0,0 +1,132 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.ExecutionStats;
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and verifies the execution_records indexes at startup, and
+ * backfills execution_records and execution_stats from embedded
+ * executions the first time each collection is missing.
+ *
+ * Every query index ends in (startedAt desc, _id desc), the keyset
+ * pagination order, after its equality fields. Startup fails if an index
+ * is missing after creation, rather than letting history queries fall
+ * back to collection scans.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutionRecordIndexes {
+
+    static final List<Index> INDEXES = List.of(
+        keyset("startedAt_id"),
+        keyset("task_startedAt_id", "taskId"),
+        keyset("task_status_startedAt_id", "taskId", "status"),
+        keyset("status_startedAt_id", "status"),
+        keyset("exitCode_startedAt_id", "exitCode"),
+        new Index().on("jobName", Sort.Direction.ASC).named("jobName"));
+
+    private static final Set<TaskExecution.ExecutionStatus> IN_FLIGHT = EnumSet.of(
+        TaskExecution.ExecutionStatus.PENDING, TaskExecution.ExecutionStatus.RUNNING);
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        boolean backfillRecords = !mongoTemplate.collectionExists(ExecutionRecord.class);
+        boolean backfillStats = !mongoTemplate.collectionExists(ExecutionStats.class);
+
+        IndexOperations indexOps = mongoTemplate.indexOps(ExecutionRecord.class);
+        INDEXES.forEach(indexOps::ensureIndex);
+        Set<String> present = indexOps.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toSet());
+        List<String> missing = INDEXES.stream()
+            .map(index -> index.getIndexOptions().getString("name"))
+            .filter(name -> !present.contains(name))
+            .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("execution_records indexes missing after creation: " + missing);
+        }
+
+        if (backfillRecords || backfillStats) {
+            backfill(backfillRecords, backfillStats);
+        }
+    }
+
+    /**
+     * Copy every embedded execution into execution_records, and count every
+     * completed one in its task's and the fleet's execution_stats, in one
+     * pass over the tasks.
+     */
+    private void backfill(boolean records, boolean stats) {
+        Query query = new Query();
+        query.fields().include("executions.id", "executions.jobName", "executions.resourceClass",
+            "executions.status", "executions.exitCode", "executions.terminationReason",
+            "executions.durationMs", "executions.startedAt", "executions.completedAt");
+
+        long copied = 0;
+        long counted = 0;
+        ExecutionStats fleet = ExecutionStats.empty(ExecutionStats.FLEET_ID);
+        try (var tasks = mongoTemplate.stream(query, Task.class)) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                List<ExecutionRecord> taskRecords = new ArrayList<>();
+                task.getExecutions().stream()
+                    .filter(execution -> execution.getId() != null)
+                    .forEach(execution -> taskRecords.add(ExecutionRecord.of(task.getId(), execution)));
+                if (records && !taskRecords.isEmpty()) {
+                    mongoTemplate.insert(taskRecords, ExecutionRecord.class);
+                    copied += taskRecords.size();
+                }
+
+                ExecutionStats taskStats = ExecutionStats.empty(task.getId());
+                taskRecords.stream()
+                    .filter(record -> record.getStatus() != null && !IN_FLIGHT.contains(record.getStatus()))
+                    .forEach(record -> {
+                        taskStats.add(record);
+                        fleet.add(record);
+                    });
+                if (stats && taskStats.getTotal() > 0) {
+                    mongoTemplate.insert(taskStats);
+                    counted += taskStats.getTotal();
+                }
+            }
+        }
+
+        if (records) {
+            log.info("Backfilled {} execution records", copied);
+        }
+        if (stats) {
+            if (fleet.getTotal() > 0) {
+                mongoTemplate.insert(fleet);
+            }
+            log.info("Backfilled execution stats from {} completed executions", counted);
+        }
+    }
+
+    private static Index keyset(String name, String... prefix) {
+        Index index = new Index();
+        for (String field : prefix) {
+            index.on(field, Sort.Direction.ASC);
+        }
+        return index.on("startedAt", Sort.Direction.DESC).on("_id", Sort.Direction.DESC).named(name);
+    }
+}
@@ -0,0 +1,20 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the execution_records query projection.
+ * 
+ * @author Aditya R
+ */
+@Repository
+public interface ExecutionRecordRepository
+        extends MongoRepository<ExecutionRecord, String>, ExecutionRecordRepositoryCustom {
+    
+    /**
+     * Drop the records of a task whose executions were deleted or replaced.
+     */
+    long deleteByTaskId(String taskId);
+}
@@ -0,0 +1,31 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Filtered, keyset-paginated execution history queries.
+ *
+ * @author Aditya R
+ */
+public interface ExecutionRecordRepositoryCustom {
+
+    /**
+     * Executions matching every given filter, newest first by (startedAt, id).
+     *
+     * @param taskId Owning task, or null for all tasks
+     * @param statuses Statuses to include, or empty for all
+     * @param exitCode Exit code, or null for any
+     * @param from Earliest startedAt (inclusive), or null
+     * @param to Latest startedAt (exclusive), or null
+     * @param afterStartedAt startedAt of the last record of the previous page, or null for the first page
+     * @param afterId id of the last record of the previous page
+     * @param limit Page size
+     */
+    List<ExecutionRecord> search(String taskId, Collection<TaskExecution.ExecutionStatus> statuses, Integer exitCode,
+                                 Instant from, Instant to, Instant afterStartedAt, String afterId, int limit);
+}
@@ -0,0 +1,68 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MongoTemplate-backed implementation of ExecutionRecordRepositoryCustom.
+ *
+ * Equality filters come first and the range and keyset conditions are on
+ * (startedAt, _id), matching the prefix-then-sort shape of the indexes in
+ * ExecutionRecordIndexes, so every page is an index range scan of limit
+ * entries regardless of how deep it is.
+ *
+ * @author Aditya R
+ */
+@RequiredArgsConstructor
+public class ExecutionRecordRepositoryCustomImpl implements ExecutionRecordRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ExecutionRecord> search(String taskId, Collection<TaskExecution.ExecutionStatus> statuses,
+                                        Integer exitCode, Instant from, Instant to,
+                                        Instant afterStartedAt, String afterId, int limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (taskId != null) {
+            filters.add(Criteria.where("taskId").is(taskId));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            filters.add(statuses.size() == 1
+                ? Criteria.where("status").is(statuses.iterator().next())
+                : Criteria.where("status").in(statuses));
+        }
+        if (exitCode != null) {
+            filters.add(Criteria.where("exitCode").is(exitCode));
+        }
+        if (from != null || to != null) {
+            Criteria startedAt = Criteria.where("startedAt");
+            if (from != null) {
+                startedAt = startedAt.gte(from);
+            }
+            if (to != null) {
+                startedAt = startedAt.lt(to);
+            }
+            filters.add(startedAt);
+        }
+        if (afterStartedAt != null) {
+            filters.add(new Criteria().orOperator(
+                Criteria.where("startedAt").lt(afterStartedAt),
+                Criteria.where("startedAt").is(afterStartedAt).and("_id").lt(afterId)));
+        }
+
+        Query query = new Query(filters.isEmpty() ? new Criteria() : new Criteria().andOperator(filters))
+            .with(Sort.by(Sort.Direction.DESC, "startedAt", "_id"))
+            .limit(limit);
+        return mongoTemplate.find(query, ExecutionRecord.class);
+    }
+}
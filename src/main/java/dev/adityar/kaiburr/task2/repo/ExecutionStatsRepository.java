@@ -0,0 +1,15 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for per-task and fleet execution statistics.
+ * 
+ * @author Aditya R
+ */
+@Repository
+public interface ExecutionStatsRepository
+        extends MongoRepository<ExecutionStats, String>, ExecutionStatsRepositoryCustom {
+}
@@ -0,0 +1,16 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+
+/**
+ * Incremental updates of execution statistics.
+ *
+ * @author Aditya R
+ */
+public interface ExecutionStatsRepositoryCustom {
+
+    /**
+     * Count one completed execution in its task's statistics and the fleet's.
+     */
+    void recordCompletion(ExecutionRecord record);
+}
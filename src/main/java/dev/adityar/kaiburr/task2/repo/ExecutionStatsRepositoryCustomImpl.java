@@ -0,0 +1,47 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.ExecutionStats;
+import dev.adityar.kaiburr.task2.util.DurationHistogram;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * MongoTemplate-backed implementation of ExecutionStatsRepositoryCustom.
+ *
+ * The task and fleet upserts go out as one unordered bulk write.
+ *
+ * @author Aditya R
+ */
+@RequiredArgsConstructor
+public class ExecutionStatsRepositoryCustomImpl implements ExecutionStatsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void recordCompletion(ExecutionRecord execution) {
+        Update update = new Update()
+            .inc("total", 1)
+            .inc("statusCounts." + execution.getStatus().name(), 1);
+        if (execution.getDurationMs() != null) {
+            update.inc("durationBuckets." + DurationHistogram.bucketOf(execution.getDurationMs()), 1)
+                .inc("durationSumMs", execution.getDurationMs());
+        }
+        if (execution.getCompletedAt() != null) {
+            update.max("lastCompletedAt", execution.getCompletedAt());
+        }
+
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExecutionStats.class)
+            .upsert(byId(execution.getTaskId()), update)
+            .upsert(byId(ExecutionStats.FLEET_ID), update)
+            .execute();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
@@ -0,0 +1,22 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionDailySummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for per-day summaries of compacted executions.
+ * 
+ * @author Aditya R
+ */
+@Repository
+public interface ExecutionSummaryRepository
+        extends MongoRepository<ExecutionDailySummary, String>, ExecutionSummaryRepositoryCustom {
+    
+    /**
+     * Summaries of a task for days in [from, to] (yyyy-MM-dd), oldest first.
+     */
+    List<ExecutionDailySummary> findByTaskIdAndDayBetweenOrderByDayAsc(String taskId, String from, String to);
+}
@@ -0,0 +1,16 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionDailySummary;
+
+/**
+ * Incremental updates of execution summaries.
+ *
+ * @author Aditya R
+ */
+public interface ExecutionSummaryRepositoryCustom {
+
+    /**
+     * Add a summary's counts to the stored summary with the same id, creating it if needed.
+     */
+    void merge(ExecutionDailySummary delta);
+}
@@ -0,0 +1,31 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionDailySummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * MongoTemplate-backed implementation of ExecutionSummaryRepositoryCustom.
+ *
+ * @author Aditya R
+ */
+@RequiredArgsConstructor
+public class ExecutionSummaryRepositoryCustomImpl implements ExecutionSummaryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void merge(ExecutionDailySummary delta) {
+        Update update = new Update()
+            .setOnInsert("taskId", delta.getTaskId())
+            .setOnInsert("day", delta.getDay())
+            .inc("total", delta.getTotal());
+        delta.getStatusCounts().forEach((status, count) -> update.inc("statusCounts." + status, count));
+        delta.getDurationBuckets().forEach((bucket, count) -> update.inc("durationBuckets." + bucket, count));
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(delta.getId())), update,
+            ExecutionDailySummary.class);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.OutputBlob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for content-addressed execution output.
+ * 
+ * @author Aditya R
+ */
+@Repository
+public interface OutputBlobRepository extends MongoRepository<OutputBlob, String>, OutputBlobRepositoryCustom {
+}
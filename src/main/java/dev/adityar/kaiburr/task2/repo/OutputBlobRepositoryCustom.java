@@ -0,0 +1,33 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.OutputBlob;
+
+import java.util.Collection;
+
+/**
+ * Reference counting for output blobs.
+ *
+ * @author Aditya R
+ */
+public interface OutputBlobRepositoryCustom {
+
+    /**
+     * Add one reference to an existing blob.
+     *
+     * @return false if no blob has this id
+     */
+    boolean addReference(String id);
+
+    /**
+     * Add one reference to a blob, inserting it if no execution references it yet.
+     *
+     * @param blob Blob to insert; only its id is used if it already exists
+     * @return true if the blob was inserted, false if an existing one was reused
+     */
+    boolean acquire(OutputBlob blob);
+
+    /**
+     * Drop one reference per id (ids may repeat) and delete blobs left without references.
+     */
+    void release(Collection<String> ids);
+}
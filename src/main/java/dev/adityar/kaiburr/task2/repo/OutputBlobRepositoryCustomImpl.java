@@ -0,0 +1,60 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.OutputBlob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * MongoTemplate-backed implementation of OutputBlobRepositoryCustom.
+ *
+ * Both operations are single-document updates, so a release that deletes a
+ * blob and an acquire of the same content cannot lose a reference: the
+ * delete only matches while refCount is zero, and an acquire after it
+ * re-inserts the blob.
+ *
+ * @author Aditya R
+ */
+@RequiredArgsConstructor
+public class OutputBlobRepositoryCustomImpl implements OutputBlobRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean addReference(String id) {
+        return mongoTemplate.updateFirst(byId(id), new Update().inc("refCount", 1), OutputBlob.class)
+            .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean acquire(OutputBlob blob) {
+        Update update = new Update()
+            .inc("refCount", 1)
+            .setOnInsert("content", blob.getDeflated() == null ? blob.getContent() : null)
+            .setOnInsert("deflated", blob.getDeflated())
+            .setOnInsert("sizeBytes", blob.getSizeBytes())
+            .setOnInsert("createdAt", blob.getCreatedAt());
+        return mongoTemplate.upsert(byId(blob.getId()), update, OutputBlob.class).getUpsertedId() != null;
+    }
+
+    @Override
+    public void release(Collection<String> ids) {
+        Map<String, Long> counts = ids.stream()
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        counts.forEach((id, count) ->
+            mongoTemplate.updateFirst(byId(id), new Update().inc("refCount", -count), OutputBlob.class));
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(counts.keySet()).and("refCount").lte(0)),
+            OutputBlob.class);
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Task persistence operations.
@@ -13,11 +14,22 @@ import java.util.List;
  * @author Aditya R
  */
 @Repository
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends MongoRepository<Task, String>, TaskRepositoryCustom {
     
     /**
-     * Search tasks by name substring (case-insensitive).
+     * Search tasks by name substring (case-insensitive), read from a cursor. Close the stream when done.
      */
     @Query("{ 'name': { $regex: ?0, $options: 'i' } }")
-    List<Task> findByNameContaining(String nameSubstring);
+    Stream<Task> streamByNameContaining(String nameSubstring);
+    
+    /**
+     * All tasks, read from a cursor as the stream is consumed. Close the stream when done.
+     */
+    Stream<Task> streamAllBy();
+    
+    /**
+     * Find tasks that still have executions waiting on a Job.
+     */
+    @Query("{ 'executions.status': { $in: ['PENDING', 'RUNNING'] } }")
+    List<Task> findWithInFlightExecutions();
 }
@@ -0,0 +1,83 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.domain.Task;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom Task persistence operations that update embedded executions in place
+ * instead of rewriting the whole task document.
+ *
+ * @author Aditya R
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Load a task without its executions.
+     */
+    Optional<Task> findDefinition(String taskId);
+
+    /**
+     * Current version of a task without loading it; 0 for tasks written before versioning.
+     */
+    Optional<Long> findVersion(String taskId);
+
+    /**
+     * Replace a task only if its stored version is still the expected one.
+     *
+     * @param expectedVersion Version read before the write, as returned by findVersion
+     * @return The replaced document, or empty if the task is gone or was written since
+     */
+    Optional<Task> replaceIfVersion(Task task, long expectedVersion);
+
+    /**
+     * Atomically append an execution to a task.
+     *
+     * @return false if the task does not exist
+     */
+    boolean appendExecution(String taskId, TaskExecution execution);
+
+    /**
+     * Replace a PENDING/RUNNING execution (matched by id) with its final record.
+     * Only the first completion wins, so a live runner and startup recovery
+     * racing on the same execution cannot overwrite each other.
+     *
+     * @return false if the execution is missing or already completed
+     */
+    boolean completeExecution(String taskId, TaskExecution execution);
+
+    /**
+     * Move every non-terminal execution that ran in the given Job to a terminal status.
+     *
+     * @param jobName Kubernetes Job name recorded on the execution
+     * @param status Terminal status to set (TIMEOUT or FAILED)
+     * @param reason Message stored as the execution's stderr
+     * @param completedAt Completion time to record
+     * @return Records of the executions this call moved, not those that were already terminal
+     */
+    List<ExecutionRecord> completeStaleExecutions(String jobName, TaskExecution.ExecutionStatus status, String reason, Instant completedAt);
+
+    /**
+     * Next page of tasks, in id order, that may have executions to compact:
+     * more than keepLast executions, an execution started before the cutoff,
+     * or a task-specific retention policy. Execution output is not loaded.
+     *
+     * @param afterId Last task id of the previous page, or null to start
+     * @param keepLast Global execution count limit; 0 for none
+     * @param cutoff Earliest global age limit; null for none
+     * @param limit Page size
+     */
+    List<Task> findForCompaction(String afterId, int keepLast, Instant cutoff, int limit);
+
+    /**
+     * Remove executions from a task, only if all of them are still present.
+     *
+     * @return false if the task is gone or any execution was already removed
+     */
+    boolean removeExecutions(String taskId, Collection<String> executionIds);
+}
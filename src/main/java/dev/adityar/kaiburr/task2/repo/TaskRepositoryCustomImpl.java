@@ -0,0 +1,157 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MongoTemplate-backed implementation of TaskRepositoryCustom.
+ *
+ * Each execution write is mirrored into the execution_records projection
+ * once the embedded write has succeeded. The two are not transactional;
+ * a record only lags its execution if the process dies between them.
+ *
+ * @author Aditya R
+ */
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final List<String> IN_FLIGHT = List.of(
+        TaskExecution.ExecutionStatus.PENDING.name(),
+        TaskExecution.ExecutionStatus.RUNNING.name());
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Task> findDefinition(String taskId) {
+        Query query = Query.query(Criteria.where("_id").is(taskId));
+        query.fields().exclude("executions");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Task.class));
+    }
+
+    @Override
+    public Optional<Long> findVersion(String taskId) {
+        Query query = Query.query(Criteria.where("_id").is(taskId));
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Task.class))
+            .map(task -> task.getVersion() != null ? task.getVersion() : 0L);
+    }
+
+    @Override
+    public Optional<Task> replaceIfVersion(Task task, long expectedVersion) {
+        // findVersion reports unversioned tasks as 0
+        Criteria version = expectedVersion == 0
+            ? Criteria.where("version").in(0L, null)
+            : Criteria.where("version").is(expectedVersion);
+        Query query = Query.query(Criteria.where("_id").is(task.getId()).andOperator(version));
+        return Optional.ofNullable(mongoTemplate.findAndReplace(query, task));
+    }
+
+    @Override
+    public boolean appendExecution(String taskId, TaskExecution execution) {
+        Query query = Query.query(Criteria.where("_id").is(taskId));
+        Update update = touch(new Update().push("executions", execution));
+        if (mongoTemplate.updateFirst(query, update, Task.class).getMatchedCount() == 0) {
+            return false;
+        }
+        mongoTemplate.save(ExecutionRecord.of(taskId, execution));
+        return true;
+    }
+
+    @Override
+    public boolean completeExecution(String taskId, TaskExecution execution) {
+        Query query = Query.query(Criteria.where("_id").is(taskId)
+            .and("executions").elemMatch(Criteria.where("id").is(execution.getId()).and("status").in(IN_FLIGHT)));
+        Update update = touch(new Update().set("executions.$", execution));
+        if (mongoTemplate.updateFirst(query, update, Task.class).getModifiedCount() == 0) {
+            return false;
+        }
+        mongoTemplate.save(ExecutionRecord.of(taskId, execution));
+        return true;
+    }
+
+    @Override
+    public List<ExecutionRecord> completeStaleExecutions(String jobName, TaskExecution.ExecutionStatus status,
+                                                         String reason, Instant completedAt) {
+        // Stored with millisecond precision; the records moved here are found again by it
+        Instant marker = completedAt.truncatedTo(ChronoUnit.MILLIS);
+        Query query = Query.query(Criteria.where("executions").elemMatch(
+            Criteria.where("jobName").is(jobName).and("status").in(IN_FLIGHT)));
+
+        Update update = touch(new Update())
+            .set("executions.$[stale].status", status.name())
+            .set("executions.$[stale].stderr", reason)
+            .set("executions.$[stale].completedAt", marker)
+            .filterArray(Criteria.where("stale.jobName").is(jobName).and("stale.status").in(IN_FLIGHT));
+
+        if (mongoTemplate.updateMulti(query, update, Task.class).getModifiedCount() == 0) {
+            return List.of();
+        }
+        mongoTemplate.updateMulti(
+            Query.query(Criteria.where("jobName").is(jobName).and("status").in(IN_FLIGHT)),
+            new Update().set("status", status.name()).set("completedAt", marker),
+            ExecutionRecord.class);
+        // One task document can hold several executions of a batch Job, and
+        // executions of the Job that completed earlier keep their own completedAt
+        return mongoTemplate.find(
+            Query.query(Criteria.where("jobName").is(jobName).and("status").is(status.name()).and("completedAt").is(marker)),
+            ExecutionRecord.class);
+    }
+
+    @Override
+    public List<Task> findForCompaction(String afterId, int keepLast, Instant cutoff, int limit) {
+        List<Criteria> candidates = new ArrayList<>();
+        candidates.add(Criteria.where("retention").ne(null));
+        if (keepLast > 0) {
+            candidates.add(Criteria.where("executions." + keepLast).exists(true));
+        }
+        if (cutoff != null) {
+            candidates.add(Criteria.where("executions.startedAt").lt(cutoff));
+        }
+
+        Criteria criteria = new Criteria().orOperator(candidates);
+        if (afterId != null) {
+            criteria = new Criteria().andOperator(Criteria.where("_id").gt(afterId), criteria);
+        }
+
+        Query query = Query.query(criteria)
+            .with(Sort.by("_id"))
+            .limit(limit);
+        query.fields()
+            .exclude("executions.stdout", "executions.stderr",
+                "executions.stdoutDeflated", "executions.stderrDeflated");
+        return mongoTemplate.find(query, Task.class);
+    }
+
+    @Override
+    public boolean removeExecutions(String taskId, Collection<String> executionIds) {
+        Query query = Query.query(Criteria.where("_id").is(taskId).and("executions.id").all(executionIds));
+        Update update = touch(new Update().pull("executions", new Document("id", new Document("$in", executionIds))));
+        if (mongoTemplate.updateFirst(query, update, Task.class).getModifiedCount() == 0) {
+            return false;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(executionIds)), ExecutionRecord.class);
+        return true;
+    }
+
+    /**
+     * Bump the task's version, so its ETag changes with its execution list.
+     */
+    private static Update touch(Update update) {
+        return update.inc("version", 1).currentDate("lastModified");
+    }
+}
@@ -0,0 +1,20 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.WebhookOutboxEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the webhook delivery outbox.
+ * 
+ * @author Aditya R
+ */
+@Repository
+public interface WebhookOutboxRepository
+        extends MongoRepository<WebhookOutboxEntry, String>, WebhookOutboxRepositoryCustom {
+    
+    /**
+     * Drop the pending deliveries of a removed subscription.
+     */
+    long deleteBySubscriptionId(String subscriptionId);
+}
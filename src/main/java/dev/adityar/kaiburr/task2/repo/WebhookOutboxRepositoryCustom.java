@@ -0,0 +1,34 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.WebhookOutboxEntry;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom outbox operations for claiming and rescheduling deliveries.
+ * 
+ * @author Aditya R
+ */
+public interface WebhookOutboxRepositoryCustom {
+
+    /**
+     * Claim up to limit entries that are due, oldest schedule first.
+     *
+     * @param claim Token identifying this dispatch run
+     * @param leaseUntil When the entries become due again if they are never acknowledged or rescheduled
+     * @return The entries now held by this claim
+     */
+    List<WebhookOutboxEntry> claimDue(Instant now, String claim, Instant leaseUntil, int limit);
+
+    /**
+     * Record a failed attempt on claimed entries and schedule the next one.
+     */
+    void reschedule(Collection<String> ids, Instant nextAttemptAt, String error);
+
+    /**
+     * Approximate number of entries, from collection metadata.
+     */
+    long estimatedSize();
+}
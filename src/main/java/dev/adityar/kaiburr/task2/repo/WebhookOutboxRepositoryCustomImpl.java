@@ -0,0 +1,64 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.WebhookOutboxEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MongoTemplate-backed implementation of WebhookOutboxRepositoryCustom.
+ *
+ * Claiming moves nextAttemptAt past now only where it is still due, so
+ * when several replicas claim the same candidates each entry goes to one.
+ *
+ * @author Aditya R
+ */
+@RequiredArgsConstructor
+public class WebhookOutboxRepositoryCustomImpl implements WebhookOutboxRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<WebhookOutboxEntry> claimDue(Instant now, String claim, Instant leaseUntil, int limit) {
+        Query due = Query.query(Criteria.where("nextAttemptAt").lte(now))
+            .with(Sort.by("nextAttemptAt"))
+            .limit(limit);
+        due.fields().include("_id");
+        List<String> ids = mongoTemplate.find(due, WebhookOutboxEntry.class).stream()
+            .map(WebhookOutboxEntry::getId)
+            .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        mongoTemplate.updateMulti(
+            Query.query(Criteria.where("_id").in(ids).and("nextAttemptAt").lte(now)),
+            new Update().set("nextAttemptAt", leaseUntil).set("claim", claim),
+            WebhookOutboxEntry.class);
+        return mongoTemplate.find(Query.query(Criteria.where("claim").is(claim)), WebhookOutboxEntry.class);
+    }
+
+    @Override
+    public void reschedule(Collection<String> ids, Instant nextAttemptAt, String error) {
+        mongoTemplate.updateMulti(
+            Query.query(Criteria.where("_id").in(ids)),
+            new Update()
+                .inc("attempts", 1)
+                .set("nextAttemptAt", nextAttemptAt)
+                .set("lastError", error)
+                .unset("claim"),
+            WebhookOutboxEntry.class);
+    }
+
+    @Override
+    public long estimatedSize() {
+        return mongoTemplate.estimatedCount(WebhookOutboxEntry.class);
+    }
+}
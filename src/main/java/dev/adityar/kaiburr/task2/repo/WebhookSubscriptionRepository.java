@@ -0,0 +1,23 @@
+package dev.adityar.kaiburr.task2.repo;
+
+import dev.adityar.kaiburr.task2.domain.WebhookSubscription;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for webhook subscriptions.
+ * 
+ * @author Aditya R
+ */
+@Repository
+public interface WebhookSubscriptionRepository extends MongoRepository<WebhookSubscription, String> {
+    
+    /**
+     * Subscriptions that receive a task's completions: its own and the global ones.
+     */
+    @Query("{ $or: [ { 'taskId': ?0 }, { 'taskId': null } ] }")
+    List<WebhookSubscription> findMatching(String taskId);
+}
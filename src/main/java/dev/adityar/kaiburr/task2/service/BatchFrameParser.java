@@ -0,0 +1,129 @@
+package dev.adityar.kaiburr.task2.service;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the pod log of a batched Job back into per-command results.
+ *
+ * The kaiburr-batch driver writes one frame per line:
+ * {@code @kb <idx> <kind> <payload>}, where kind is O/o (stdout line/fragment),
+ * E/e (stderr line/fragment), T (stream truncated) or X (exit summary:
+ * {@code <exitCode> <durationMs> <timedOut>}). Lines that are not frames are ignored.
+ *
+ * @author Aditya R
+ */
+final class BatchFrameParser {
+
+    private static final String FRAME_PREFIX = "@kb ";
+
+    private BatchFrameParser() {
+        // Utility class
+    }
+
+    /**
+     * Parse driver output for a batch of {@code count} commands.
+     *
+     * @param logs Raw pod log
+     * @param count Number of commands in the batch
+     * @return One entry per command index; commands without an X frame have a null exit code
+     */
+    static List<CommandFrames> parse(String logs, int count) {
+        List<CommandFrames> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(new CommandFrames());
+        }
+
+        if (logs == null || logs.isEmpty()) {
+            return results;
+        }
+
+        int start = 0;
+        while (start < logs.length()) {
+            int end = logs.indexOf('\n', start);
+            if (end < 0) {
+                end = logs.length();
+            }
+            parseLine(logs, start, end, results);
+            start = end + 1;
+        }
+
+        return results;
+    }
+
+    private static void parseLine(String logs, int start, int end, List<CommandFrames> results) {
+        if (!logs.startsWith(FRAME_PREFIX, start)) {
+            return;
+        }
+
+        int idxStart = start + FRAME_PREFIX.length();
+        int idxEnd = logs.indexOf(' ', idxStart);
+        // Need at least "<idx> <kind>"
+        if (idxEnd < 0 || idxEnd + 2 > end) {
+            return;
+        }
+
+        int index;
+        try {
+            index = Integer.parseInt(logs, idxStart, idxEnd, 10);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (index < 0 || index >= results.size()) {
+            return;
+        }
+
+        char kind = logs.charAt(idxEnd + 1);
+        int payloadStart = Math.min(idxEnd + 3, end);
+        CommandFrames frames = results.get(index);
+
+        switch (kind) {
+            case 'O' -> frames.stdout.append(logs, payloadStart, end).append('\n');
+            case 'o' -> frames.stdout.append(logs, payloadStart, end);
+            case 'E' -> frames.stderr.append(logs, payloadStart, end).append('\n');
+            case 'e' -> frames.stderr.append(logs, payloadStart, end);
+            case 'T' -> {
+                if (logs.startsWith("O", payloadStart)) {
+                    frames.stdoutTruncated = true;
+                } else {
+                    frames.stderrTruncated = true;
+                }
+            }
+            case 'X' -> parseExit(logs.substring(payloadStart, end), frames);
+            default -> {
+                // Unknown frame kind from a newer driver; ignore
+            }
+        }
+    }
+
+    private static void parseExit(String payload, CommandFrames frames) {
+        String[] parts = payload.trim().split(" ");
+        try {
+            frames.exitCode = Integer.parseInt(parts[0]);
+            frames.durationMs = parts.length > 1 ? Long.parseLong(parts[1]) : 0L;
+            frames.timedOut = parts.length > 2 && "1".equals(parts[2]);
+        } catch (NumberFormatException e) {
+            frames.exitCode = null;
+        }
+    }
+
+    /**
+     * Output and exit summary of one command in a batch.
+     */
+    @Data
+    static class CommandFrames {
+        private final StringBuilder stdout = new StringBuilder();
+        private final StringBuilder stderr = new StringBuilder();
+        private boolean stdoutTruncated;
+        private boolean stderrTruncated;
+        private Integer exitCode;
+        private long durationMs;
+        private boolean timedOut;
+
+        boolean isComplete() {
+            return exitCode != null;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.util.Ids;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Micro-batching command runner for Kubernetes.
+ *
+ * Collects executions that arrive within a short window (or until the batch
+ * is full) and runs them in a single hardened executor Job through the
+ * in-image kaiburr-batch driver. The driver frames each command's output,
+ * which is split back into individual ExecutionResults with their own exit
+ * codes and durations. A window that closes with a single execution falls
+ * back to a regular one-command Job.
+ *
+ * Activated with profile=k8s and k8s.batch.enabled=true.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Service
+@Primary
+@Profile("k8s")
+@ConditionalOnProperty(prefix = "k8s.batch", name = "enabled", havingValue = "true")
+public class BatchingCommandRunner implements CommandRunner {
+
+    private static final String DRIVER_BINARY = "kaiburr-batch";
+    private static final int DEADLINE_SLACK_SECONDS = 5;
+
+    // MAX_COMMANDS and MAX_ARGS of executor/driver/kaiburr-batch.c; past either, it rejects the whole batch
+    static final int DRIVER_MAX_COMMANDS = 64;
+    static final int DRIVER_MAX_ARGS = 16;
+
+    private final KubernetesCommandRunner jobRunner;
+    private final CommandValidator commandValidator;
+    private final ExecutionMetrics metrics;
+
+    @Value("${k8s.batch.window-ms:50}")
+    private long windowMs;
+
+    @Value("${k8s.batch.max-size:16}")
+    private int maxBatchSize;
+
+    @Value("${k8s.batch.parallel:false}")
+    private boolean parallel;
+
+    private final ScheduledExecutorService windowTimer = Executors.newSingleThreadScheduledExecutor(
+        r -> new Thread(r, "batch-window"));
+    private final ExecutorService batchExecutor;
+
+    private final Object lock = new Object();
+    private List<PendingExecution> pending = new ArrayList<>();
+    private ScheduledFuture<?> windowFlush;
+
+    public BatchingCommandRunner(KubernetesCommandRunner jobRunner, CommandValidator commandValidator,
+                                 ExecutionMetrics metrics,
+                                 @Value("${k8s.batch.max-in-flight:8}") int maxInFlight) {
+        this.jobRunner = jobRunner;
+        this.commandValidator = commandValidator;
+        this.metrics = metrics;
+        this.batchExecutor = Executors.newFixedThreadPool(maxInFlight);
+    }
+
+    @PostConstruct
+    void checkDriverLimits() {
+        if (maxBatchSize > DRIVER_MAX_COMMANDS) {
+            throw new IllegalStateException("k8s.batch.max-size " + maxBatchSize
+                + " exceeds the kaiburr-batch limit of " + DRIVER_MAX_COMMANDS + " commands");
+        }
+        if (commandValidator.getMaxArgs() > DRIVER_MAX_ARGS) {
+            throw new IllegalStateException("Command policy limits.maxArgs " + commandValidator.getMaxArgs()
+                + " exceeds the kaiburr-batch limit of " + DRIVER_MAX_ARGS + " arguments");
+        }
+    }
+
+    @Override
+    public ExecutionResult execute(Task task) {
+        return execute(task, (jobName, execUuid, batchIndex) -> { });
+    }
+
+    @Override
+    public ExecutionResult execute(Task task, SubmissionListener listener) {
+        // The policy is reloaded at runtime; a task the driver would reject runs in its own Job
+        if (task.getArgs() != null && task.getArgs().size() > DRIVER_MAX_ARGS) {
+            return jobRunner.execute(task, listener);
+        }
+
+        PendingExecution execution = new PendingExecution(task, listener);
+        enqueue(execution);
+
+        // Worst case: a full sequential batch ahead of us in the same Job
+        long maxWaitSeconds = (long) jobRunner.getActiveDeadlineSeconds() * maxBatchSize + 60;
+        try {
+            // Counted from dispatch: batches can queue behind max-in-flight running ones,
+            // each bounded by its own Job deadline
+            CompletableFuture.anyOf(execution.dispatched, execution.result).get();
+            return execution.result.get(maxWaitSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CommandExecutionException cee) {
+                throw cee;
+            }
+            // Thrown by the caller's own listener, e.g. the task was deleted before submission
+            if (e.getCause() instanceof TaskService.TaskNotFoundException notFound) {
+                throw notFound;
+            }
+            throw new CommandExecutionException("Batched execution failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new CommandExecutionException("Batched execution did not complete within " + maxWaitSeconds + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommandExecutionException("Interrupted while waiting for batched execution", e);
+        }
+    }
+
+    /**
+     * Add an execution to the open batch, flushing when full or when the window closes.
+     */
+    private void enqueue(PendingExecution execution) {
+        List<PendingExecution> full = null;
+
+        synchronized (lock) {
+            pending.add(execution);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                windowFlush = windowTimer.schedule(this::flushWindow, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) {
+            submit(full);
+        }
+    }
+
+    private void flushWindow() {
+        List<PendingExecution> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+    }
+
+    /**
+     * Detach the open batch. Caller must hold the lock.
+     */
+    private List<PendingExecution> takePending() {
+        List<PendingExecution> batch = pending;
+        pending = new ArrayList<>();
+        if (windowFlush != null) {
+            windowFlush.cancel(false);
+            windowFlush = null;
+        }
+        return batch;
+    }
+
+    private void submit(List<PendingExecution> batch) {
+        try {
+            batchExecutor.execute(() -> {
+                try {
+                    runBatch(batch);
+                } catch (Exception e) {
+                    log.error("Batch of {} executions failed", batch.size(), e);
+                    batch.forEach(p -> p.result.completeExceptionally(e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the batch will never be dispatched
+            CommandExecutionException rejected = new CommandExecutionException("Batching runner is shut down");
+            batch.forEach(p -> p.result.completeExceptionally(rejected));
+        }
+    }
+
+    /**
+     * Run a closed batch as one Job and complete every pending execution.
+     */
+    private void runBatch(List<PendingExecution> closed) {
+        long now = System.nanoTime();
+        closed.forEach(p -> {
+            metrics.recordQueueWait(now - p.enqueuedAt);
+            p.dispatched.complete(null);
+        });
+
+        if (closed.size() == 1) {
+            PendingExecution only = closed.get(0);
+            only.result.complete(jobRunner.execute(only.task, only.listener));
+            return;
+        }
+
+        UUID id = Ids.next();
+        String jobName = jobRunner.generateJobName("batch", id);
+        String execUuid = id.toString();
+        List<PendingExecution> batch = announce(closed, jobName, execUuid);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int perCommandTimeout = jobRunner.getActiveDeadlineSeconds();
+        int deadline = (parallel ? perCommandTimeout : perCommandTimeout * batch.size()) + DEADLINE_SLACK_SECONDS;
+
+        log.info("Running batch of {} executions in job {} ({})", batch.size(), jobName, parallel ? "parallel" : "sequential");
+
+        KubernetesCommandRunner.JobRun run = jobRunner.runJob(jobName, "batch", execUuid, largestResourceClass(batch),
+            DRIVER_BINARY, buildDriverArgs(batch, perCommandTimeout), deadline);
+
+        List<BatchFrameParser.CommandFrames> frames = BatchFrameParser.parse(run.getLogs(), batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(jobRunner.batchResult(run, frames.get(i)));
+        }
+
+        log.info("Batch job {} completed: {} executions, duration={}ms", jobName, batch.size(), run.getDurationMs());
+    }
+
+    /**
+     * Report the batch Job to each execution's listener; executions whose
+     * listener fails are completed exceptionally and left out of the batch.
+     */
+    private List<PendingExecution> announce(List<PendingExecution> closed, String jobName, String execUuid) {
+        List<PendingExecution> batch = new ArrayList<>(closed.size());
+        for (PendingExecution execution : closed) {
+            try {
+                execution.listener.onSubmitted(jobName, execUuid, batch.size());
+                batch.add(execution);
+            } catch (RuntimeException e) {
+                execution.result.completeExceptionally(e);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * The batch shares one pod, so it gets the largest class any member asked for.
+     */
+    private String largestResourceClass(List<PendingExecution> batch) {
+        List<String> bySize = commandValidator.getResourceClassNames();
+        return batch.stream()
+            .map(p -> jobRunner.resourceClassOf(p.task))
+            .max(Comparator.comparingInt(bySize::indexOf))
+            .orElse(commandValidator.getDefaultResourceClass());
+    }
+
+    /**
+     * Encode the batch as driver arguments: mode, limits, count, then argc-prefixed commands.
+     */
+    private List<String> buildDriverArgs(List<PendingExecution> batch, int perCommandTimeout) {
+        List<String> args = new ArrayList<>();
+        args.add(parallel ? "par" : "seq");
+        args.add(String.valueOf(perCommandTimeout));
+        args.add(String.valueOf(jobRunner.getMaxStdoutBytes()));
+        args.add(String.valueOf(jobRunner.getMaxStderrBytes()));
+        args.add(String.valueOf(batch.size()));
+
+        for (PendingExecution execution : batch) {
+            List<String> commandArgs = execution.task.getArgs() != null ? execution.task.getArgs() : List.of();
+            args.add(String.valueOf(commandArgs.size() + 1));
+            args.add(execution.task.getCommand());
+            args.addAll(commandArgs);
+        }
+
+        return args;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushWindow();
+        windowTimer.shutdown();
+        batchExecutor.shutdown();
+    }
+
+    /**
+     * An execution waiting for its batch to run.
+     */
+    private static class PendingExecution {
+        private final Task task;
+        private final SubmissionListener listener;
+        private final CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+        private final CompletableFuture<Void> dispatched = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+
+        PendingExecution(Task task, SubmissionListener listener) {
+            this.task = task;
+            this.listener = listener;
+        }
+    }
+}
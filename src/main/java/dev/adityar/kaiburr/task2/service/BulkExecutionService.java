@@ -0,0 +1,95 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.dto.TaskExecutionResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes many tasks for one request.
+ *
+ * Each task goes through TaskService.executeTask on a bounded pool, so a
+ * bulk request costs one HTTP round trip instead of one per task and its
+ * executions reach the batching runner together, where they share Jobs.
+ * A task that cannot be executed does not fail the request: it gets a
+ * REJECTED result (unknown task, command not allowed) or a FAILED one
+ * (runner error) with the reason in error.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Service
+public class BulkExecutionService {
+
+    private final TaskService taskService;
+    private final DistributionSummary bulkSize;
+    private ExecutorService bulkExecutor;
+
+    @Value("${exec.bulk.concurrency:32}")
+    private int concurrency;
+
+    public BulkExecutionService(TaskService taskService, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.bulkSize = DistributionSummary.builder("kaiburr.execution.bulk.size")
+            .description("Tasks per bulk execution request")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        bulkExecutor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "bulk-execution-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        bulkExecutor.shutdownNow();
+    }
+
+    /**
+     * Execute every task and wait for all of them.
+     *
+     * @param taskIds Tasks to execute; a repeated id is executed once per occurrence
+     * @return One result per task id, in the same order
+     */
+    public List<TaskExecutionResponse> executeAll(List<String> taskIds) {
+        bulkSize.record(taskIds.size());
+        List<CompletableFuture<TaskExecutionResponse>> futures = new ArrayList<>(taskIds.size());
+        for (String taskId : taskIds) {
+            futures.add(CompletableFuture.supplyAsync(() -> execute(taskId), bulkExecutor));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private TaskExecutionResponse execute(String taskId) {
+        try {
+            TaskExecution execution = taskService.executeTask(taskId);
+            return TaskExecutionResponse.of(taskId, execution);
+        } catch (TaskService.TaskNotFoundException | IllegalArgumentException e) {
+            return TaskExecutionResponse.rejected(taskId, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Bulk execution of task {} failed: {}", taskId, e.getMessage());
+            return TaskExecutionResponse.builder()
+                .taskId(taskId)
+                .status(TaskExecution.ExecutionStatus.FAILED.name())
+                .error(e.getMessage())
+                .build();
+        }
+    }
+}
@@ -17,6 +17,11 @@ import lombok.NoArgsConstructor;
  */
 public interface CommandRunner {
     
+    /**
+     * Appended to stdout/stderr that was cut at the configured size limit.
+     */
+    String TRUNCATION_MARKER = "\n⟂TRUNCATED";
+    
     /**
      * Execute a task's command and return the execution result.
      * 
@@ -26,6 +31,29 @@ public interface CommandRunner {
      */
     ExecutionResult execute(Task task);
     
+    /**
+     * Execute a task's command, reporting the Job it runs in before waiting on it.
+     * 
+     * Runners that do not use Jobs never call the listener.
+     * 
+     * @param task The task to execute
+     * @param listener Called once the Job is named, before it is created
+     * @return ExecutionResult with exit code, stdout, stderr, and timing
+     * @throws CommandExecutionException if execution fails
+     */
+    default ExecutionResult execute(Task task, SubmissionListener listener) {
+        return execute(task);
+    }
+    
+    /**
+     * Receives the identity of the Job an execution is about to run in,
+     * so it can be persisted before the (possibly long) wait.
+     */
+    @FunctionalInterface
+    interface SubmissionListener {
+        void onSubmitted(String jobName, String execUuid, Integer batchIndex);
+    }
+    
     /**
      * Result of command execution.
      */
@@ -40,6 +68,12 @@ public interface CommandRunner {
         private String stderr;
         private long durationMs;
         private boolean timeout;
+        private String resourceClass;
+        private String terminationReason;
+        /** GridFS file with the full stdout, when it was spilled. */
+        private String stdoutFileId;
+        /** Full stdout size in bytes, when it was spilled. */
+        private Long stdoutSize;
     }
     
     /**
@@ -13,7 +13,9 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
@@ -125,16 +127,71 @@ public class CommandValidator {
         return new ValidationResult(reasons.isEmpty(), reasons);
     }
     
+    /**
+     * Allowlisted binaries, in policy order.
+     */
+    public List<String> getAllowlistedBinaries() {
+        return List.copyOf(policy.getAllowlist().getBinaries());
+    }
+    
+    /**
+     * Whether a binary is on the allowlist.
+     */
+    public boolean isAllowlisted(String binary) {
+        return policy.getAllowlist().getBinaries().contains(binary);
+    }
+    
+    /**
+     * Most arguments a command may have.
+     */
+    public int getMaxArgs() {
+        return policy.getLimits().getMaxArgs();
+    }
+    
+    /**
+     * Largest stdout kept in full (GridFS) when output spilling is enabled; 0 disables it.
+     */
+    public long getMaxSpillBytes() {
+        return policy.getOutput() != null ? policy.getOutput().getMaxSpillBytes() : 0;
+    }
+    
+    /**
+     * Name of the resource class used by tasks that do not select one.
+     */
+    public String getDefaultResourceClass() {
+        return policy.getResources().getDefaultClass();
+    }
+    
+    /**
+     * Resource class names, smallest first.
+     */
+    public List<String> getResourceClassNames() {
+        return List.copyOf(policy.getResources().getClasses().keySet());
+    }
+    
+    /**
+     * Look up a resource class by name; null selects the default class.
+     * 
+     * @return The class, or null if no class has that name
+     */
+    public CommandPolicy.ResourceClass getResourceClass(String name) {
+        return policy.getResources().getClasses().get(name != null ? name : getDefaultResourceClass());
+    }
+    
     /**
      * Load policy from classpath resource.
      */
     private void loadPolicy() {
         try {
             ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
-            this.policy = mapper.readValue(
+            CommandPolicy loaded = mapper.readValue(
                 new ClassPathResource("command-policy.yaml").getInputStream(),
                 CommandPolicy.class
             );
+            if (loaded.getResources() == null) {
+                loaded.setResources(createDefaultPolicy().getResources());
+            }
+            this.policy = loaded;
             log.info("Loaded command policy: {} allowlisted binaries, {} denylisted commands",
                 policy.getAllowlist().getBinaries().size(),
                 policy.getDenylist().getCommands().size());
@@ -201,6 +258,13 @@ public class CommandValidator {
         defaultPolicy.getLimits().setMaxTotalLength(100);
         defaultPolicy.getLimits().setArgumentPattern("^[A-Za-z0-9._-]{1,32}$");
         
+        // Single small resource class
+        LinkedHashMap<String, CommandPolicy.ResourceClass> classes = new LinkedHashMap<>();
+        classes.put("small", new CommandPolicy.ResourceClass(
+            Map.of("cpu", "50m", "memory", "64Mi"),
+            Map.of("cpu", "200m", "memory", "128Mi")));
+        defaultPolicy.setResources(new CommandPolicy.Resources("small", classes));
+        
         return defaultPolicy;
     }
     
@@ -226,6 +290,7 @@ public class CommandValidator {
         private Limits limits;
         private Timeouts timeouts;
         private Output output;
+        private Resources resources;
         
         @Data
         @NoArgsConstructor
@@ -267,6 +332,25 @@ public class CommandValidator {
             private int maxStdoutBytes;
             private int maxStderrBytes;
             private String truncationMarker;
+            // Cap on full stdout kept in GridFS when spilling is enabled; 0 disables spilling
+            private long maxSpillBytes;
+        }
+        
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Resources {
+            private String defaultClass;
+            // Declaration order is size order (smallest first)
+            private LinkedHashMap<String, ResourceClass> classes;
+        }
+        
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class ResourceClass {
+            private Map<String, String> requests;
+            private Map<String, String> limits;
         }
     }
 }
@@ -0,0 +1,204 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionDailySummary;
+import dev.adityar.kaiburr.task2.domain.RetentionPolicy;
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.ExecutionSummaryRepository;
+import dev.adityar.kaiburr.task2.repo.TaskRepository;
+import dev.adityar.kaiburr.task2.util.DurationHistogram;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background enforcement of execution history retention.
+ *
+ * Pages through tasks in id order, batchSize at a time, and removes the
+ * completed executions their retention policy no longer keeps: those past
+ * the newest keepLast, and those older than maxAgeDays (failureMaxAgeDays
+ * for FAILED and TIMEOUT). Removed executions are rolled into per-task,
+ * per-day ExecutionDailySummary documents and their stored output is
+ * released. In-flight executions are never removed.
+ *
+ * Removal only succeeds if every selected execution is still on the task,
+ * so when several replicas compact at once each execution is summarized
+ * exactly once.
+ *
+ * Off unless exec.retention.enabled=true, since its first run deletes
+ * existing history.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "exec.retention", name = "enabled", havingValue = "true")
+public class ExecutionCompactor {
+
+    private final TaskRepository taskRepository;
+    private final ExecutionSummaryRepository summaryRepository;
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${exec.retention.keep-last:1000}")
+    private int keepLast;
+
+    @Value("${exec.retention.max-age-days:90}")
+    private int maxAgeDays;
+
+    @Value("${exec.retention.failure-max-age-days:180}")
+    private int failureMaxAgeDays;
+
+    @Value("${exec.retention.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${exec.retention.initial-delay-ms:120000}",
+               fixedDelayString = "${exec.retention.interval-ms:3600000}")
+    public void scheduledCompact() {
+        try {
+            int compacted = compact(Instant.now());
+            if (compacted > 0) {
+                log.info("Compacted {} executions into daily summaries", compacted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Execution compaction run aborted: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Run one compaction pass over all tasks.
+     *
+     * @param now Reference time for age limits
+     * @return Number of executions compacted
+     */
+    int compact(Instant now) {
+        Instant cutoff = earliestCutoff(now);
+        int compacted = 0;
+        String afterId = null;
+
+        while (true) {
+            List<Task> page = taskRepository.findForCompaction(afterId, keepLast, cutoff, batchSize);
+            for (Task task : page) {
+                compacted += compact(task, now);
+            }
+            if (page.size() < batchSize) {
+                return compacted;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private int compact(Task task, Instant now) {
+        List<TaskExecution> expired = expired(task.getExecutions(), effective(task.getRetention()), now);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<String> ids = expired.stream().map(TaskExecution::getId).toList();
+        if (!taskRepository.removeExecutions(task.getId(), ids)) {
+            log.debug("Executions of task {} changed during compaction; retrying next run", task.getId());
+            return 0;
+        }
+
+        summarize(task.getId(), expired).forEach(summaryRepository::merge);
+        taskService.releaseOutput(expired);
+        meterRegistry.counter("kaiburr.retention.compacted").increment(expired.size());
+        return expired.size();
+    }
+
+    /**
+     * Completed executions the policy no longer keeps.
+     */
+    static List<TaskExecution> expired(List<TaskExecution> executions, RetentionPolicy policy, Instant now) {
+        List<TaskExecution> completed = executions.stream()
+            .filter(execution -> execution.getId() != null && isTerminal(execution.getStatus()))
+            .sorted(Comparator.comparing(ExecutionCompactor::startOf,
+                Comparator.nullsLast(Comparator.reverseOrder())))
+            .toList();
+
+        List<TaskExecution> expired = new ArrayList<>();
+        for (int rank = 0; rank < completed.size(); rank++) {
+            TaskExecution execution = completed.get(rank);
+            int maxAge = execution.getStatus() == TaskExecution.ExecutionStatus.SUCCEEDED
+                ? policy.getMaxAgeDays()
+                : policy.getFailureMaxAgeDays();
+            Instant start = startOf(execution);
+            boolean overCount = policy.getKeepLast() > 0 && rank >= policy.getKeepLast();
+            boolean overAge = maxAge > 0 && (start == null || start.isBefore(now.minus(Duration.ofDays(maxAge))));
+            if (overCount || overAge) {
+                expired.add(execution);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Roll executions into one summary delta per UTC day.
+     */
+    static Collection<ExecutionDailySummary> summarize(String taskId, List<TaskExecution> executions) {
+        Map<String, ExecutionDailySummary> byDay = new LinkedHashMap<>();
+        for (TaskExecution execution : executions) {
+            Instant start = startOf(execution);
+            String day = (start != null ? start : Instant.EPOCH).atZone(ZoneOffset.UTC).toLocalDate().toString();
+            ExecutionDailySummary summary = byDay.computeIfAbsent(day, key -> ExecutionDailySummary.builder()
+                .id(ExecutionDailySummary.idOf(taskId, key))
+                .taskId(taskId)
+                .day(key)
+                .build());
+
+            summary.setTotal(summary.getTotal() + 1);
+            summary.getStatusCounts().merge(execution.getStatus().name(), 1L, Long::sum);
+            if (execution.getDurationMs() != null) {
+                summary.getDurationBuckets().merge(
+                    String.valueOf(DurationHistogram.bucketOf(execution.getDurationMs())), 1L, Long::sum);
+            }
+        }
+        return byDay.values();
+    }
+
+    /**
+     * Task policy with unset fields taken from the global settings.
+     */
+    RetentionPolicy effective(RetentionPolicy task) {
+        return RetentionPolicy.builder()
+            .keepLast(task != null && task.getKeepLast() != null ? task.getKeepLast() : keepLast)
+            .maxAgeDays(task != null && task.getMaxAgeDays() != null ? task.getMaxAgeDays() : maxAgeDays)
+            .failureMaxAgeDays(task != null && task.getFailureMaxAgeDays() != null
+                ? task.getFailureMaxAgeDays()
+                : failureMaxAgeDays)
+            .build();
+    }
+
+    private Instant earliestCutoff(Instant now) {
+        int days = maxAgeDays > 0 && failureMaxAgeDays > 0
+            ? Math.min(maxAgeDays, failureMaxAgeDays)
+            : Math.max(maxAgeDays, failureMaxAgeDays);
+        return days > 0 ? now.minus(Duration.ofDays(days)) : null;
+    }
+
+    private static Instant startOf(TaskExecution execution) {
+        return execution.getStartedAt() != null ? execution.getStartedAt() : execution.getCompletedAt();
+    }
+
+    private static boolean isTerminal(TaskExecution.ExecutionStatus status) {
+        return status != null
+            && status != TaskExecution.ExecutionStatus.PENDING
+            && status != TaskExecution.ExecutionStatus.RUNNING;
+    }
+}
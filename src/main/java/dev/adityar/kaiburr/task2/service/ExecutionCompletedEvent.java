@@ -0,0 +1,22 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+
+/**
+ * Application event published after an execution's terminal state has
+ * been stored. Listeners run on the publishing thread.
+ *
+ * @author Aditya R
+ */
+public class ExecutionCompletedEvent {
+
+    private final ExecutionRecord execution;
+
+    public ExecutionCompletedEvent(ExecutionRecord execution) {
+        this.execution = execution;
+    }
+
+    public ExecutionRecord getExecution() {
+        return execution;
+    }
+}
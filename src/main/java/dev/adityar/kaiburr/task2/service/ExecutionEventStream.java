@@ -0,0 +1,215 @@
+package dev.adityar.kaiburr.task2.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adityar.kaiburr.task2.dto.TaskExecutionResponse;
+import dev.adityar.kaiburr.task2.util.ProtobufMessageConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-streamed execution completions.
+ *
+ * Each open stream is a ResponseBodyEmitter that receives every
+ * ExecutionCompletedEvent of this instance (optionally of one task) as a
+ * frame: one JSON line for NDJSON streams, or a length-delimited
+ * TaskExecutionResponse for protobuf streams. A frame is encoded once per
+ * event and format, not once per stream. Writes happen on a small sender
+ * pool, never on the thread that completed the execution; a stream whose
+ * queue fills up because its client reads too slowly is closed, and the
+ * client is expected to reconnect and catch up from the execution history.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+public class ExecutionEventStream {
+
+    private final ObjectMapper objectMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter overflows;
+    private ExecutorService sender;
+
+    @Value("${exec.events.max-streams:1000}")
+    private int maxStreams;
+
+    @Value("${exec.events.queue-size:1000}")
+    private int queueSize;
+
+    @Value("${exec.events.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${exec.events.sender-threads:4}")
+    private int senderThreads;
+
+    public ExecutionEventStream(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        Gauge.builder("kaiburr.execution.event.streams", subscribers, Set::size)
+            .description("Open execution event streams")
+            .register(meterRegistry);
+        this.overflows = Counter.builder("kaiburr.execution.event.overflows")
+            .description("Event streams closed because the client fell behind")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "execution-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Open a stream of completions.
+     *
+     * @param taskId Only completions of this task, or null for all tasks
+     * @param protobuf Length-delimited protobuf frames instead of NDJSON
+     * @throws IllegalStateException If exec.events.max-streams streams are already open
+     */
+    public ResponseBodyEmitter subscribe(String taskId, boolean protobuf) {
+        if (subscribers.size() >= maxStreams) {
+            throw new IllegalStateException("Too many open execution event streams");
+        }
+        Subscriber subscriber = new Subscriber(taskId, protobuf,
+            new ResponseBodyEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes)), new ArrayBlockingQueue<>(queueSize));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    @EventListener
+    public void onCompleted(ExecutionCompletedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Frames frames = new Frames(TaskExecutionResponse.of(event.getExecution()));
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.taskId != null && !subscriber.taskId.equals(event.getExecution().getTaskId())) {
+                continue;
+            }
+            if (!subscriber.queue.offer(subscriber.protobuf ? frames.protobuf() : frames.json())) {
+                overflows.increment();
+                close(subscriber);
+                continue;
+            }
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Streams currently open.
+     */
+    int streams() {
+        return subscribers.size();
+    }
+
+    private void drain(Subscriber subscriber) {
+        // One sender per stream at a time keeps frames in order
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            byte[] frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(frame, MediaType.APPLICATION_OCTET_STREAM);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Execution event stream closed: {}", e.getMessage());
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A frame queued while the sender was finishing would otherwise wait for the next event
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static final class Subscriber {
+        private final String taskId;
+        private final boolean protobuf;
+        private final ResponseBodyEmitter emitter;
+        private final Queue<byte[]> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(String taskId, boolean protobuf, ResponseBodyEmitter emitter, Queue<byte[]> queue) {
+            this.taskId = taskId;
+            this.protobuf = protobuf;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * The frames of one event, each encoded on first use.
+     */
+    private final class Frames {
+        private final TaskExecutionResponse execution;
+        private byte[] json;
+        private byte[] protobuf;
+
+        Frames(TaskExecutionResponse execution) {
+            this.execution = execution;
+        }
+
+        byte[] json() {
+            if (json == null) {
+                try {
+                    byte[] body = objectMapper.writeValueAsBytes(execution);
+                    json = Arrays.copyOf(body, body.length + 1);
+                    json[body.length] = '\n';
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return json;
+        }
+
+        byte[] protobuf() {
+            if (protobuf == null) {
+                protobuf = ProtobufMessageConverter.toDelimitedByteArray(execution);
+            }
+            return protobuf;
+        }
+    }
+}
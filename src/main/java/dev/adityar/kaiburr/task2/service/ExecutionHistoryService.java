@@ -0,0 +1,121 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.ExecutionStats;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.dto.ExecutionPage;
+import dev.adityar.kaiburr.task2.repo.ExecutionRecordRepository;
+import dev.adityar.kaiburr.task2.repo.ExecutionStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Execution history queries and statistics across one or all tasks.
+ * 
+ * Pages are keyset-paginated on (startedAt, id), newest first. The cursor
+ * encodes the last record of a page, so fetching page N costs the same as
+ * page 1 and concurrent inserts never shift or repeat entries.
+ * 
+ * @author Aditya R
+ */
+@Service
+@RequiredArgsConstructor
+public class ExecutionHistoryService {
+    
+    private final ExecutionRecordRepository executionRecordRepository;
+    private final TaskCache taskCache;
+    private final ExecutionStatsRepository statsRepository;
+    
+    @Value("${exec.history.default-page-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${exec.history.max-page-size:500}")
+    private int maxPageSize;
+    
+    /**
+     * Search executions.
+     * 
+     * @param taskId Owning task, or null for all tasks
+     * @param statuses Statuses to include, or empty for all
+     * @param exitCode Exit code, or null for any
+     * @param from Earliest startedAt (inclusive), or null
+     * @param to Latest startedAt (exclusive), or null
+     * @param cursor nextCursor of the previous page, or null
+     * @param limit Page size, or null for the default
+     */
+    public ExecutionPage search(String taskId, Collection<TaskExecution.ExecutionStatus> statuses, Integer exitCode,
+                                Instant from, Instant to, String cursor, Integer limit) {
+        if (taskId != null && taskCache.get(taskId).isEmpty()) {
+            throw new TaskService.TaskNotFoundException("Task not found: " + taskId);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        
+        Instant afterStartedAt = null;
+        String afterId = null;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            afterStartedAt = Instant.ofEpochMilli(Long.parseLong(position[0]));
+            afterId = position[1];
+        }
+        
+        // One extra record tells whether another page exists
+        List<ExecutionRecord> records = executionRecordRepository.search(
+            taskId, statuses, exitCode, from, to, afterStartedAt, afterId, pageSize + 1);
+        if (records.size() <= pageSize) {
+            return new ExecutionPage(records, null);
+        }
+        
+        List<ExecutionRecord> page = records.subList(0, pageSize);
+        return new ExecutionPage(List.copyOf(page), encodeCursor(page.get(pageSize - 1)));
+    }
+    
+    /**
+     * Running statistics of one task.
+     */
+    public ExecutionStats taskStats(String taskId) {
+        if (taskCache.get(taskId).isEmpty()) {
+            throw new TaskService.TaskNotFoundException("Task not found: " + taskId);
+        }
+        return statsRepository.findById(taskId).orElseGet(() -> ExecutionStats.empty(taskId));
+    }
+    
+    /**
+     * Running statistics of all executions.
+     */
+    public ExecutionStats fleetStats() {
+        return statsRepository.findById(ExecutionStats.FLEET_ID)
+            .orElseGet(() -> ExecutionStats.empty(ExecutionStats.FLEET_ID));
+    }
+    
+    static String encodeCursor(ExecutionRecord last) {
+        String position = last.getStartedAt().toEpochMilli() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split(":", 2);
+            Long.parseLong(parts[0]);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
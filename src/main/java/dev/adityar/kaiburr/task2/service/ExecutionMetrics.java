@@ -0,0 +1,285 @@
+package dev.adityar.kaiburr.task2.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution meters, registered once per resource class and binary.
+ *
+ * Meters for every resource class and allowlisted binary in the command
+ * policy are registered at startup, so recording is a map read and an
+ * increment instead of a builder, tag sort and registry lookup per
+ * execution. A class or binary that appears later (e.g. after a policy
+ * reload) is registered on first use. Output meters tag binaries off the
+ * allowlist as "other", so their tag values stay bounded by the policy.
+ *
+ * @author Aditya R
+ */
+@Component
+public class ExecutionMetrics {
+
+    /** Binary tag for commands off the allowlist. */
+    static final String OTHER_BINARY = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final CommandValidator commandValidator;
+    private final Map<String, ClassMeters> byClass = new ConcurrentHashMap<>();
+    private final Map<String, OutputMeters> byBinary = new ConcurrentHashMap<>();
+    private final Timer queueWait;
+    private final DistributionSummary stdoutCompression;
+    private final DistributionSummary stderrCompression;
+    private final Counter blobsStored;
+    private final Counter blobsReused;
+
+    public ExecutionMetrics(MeterRegistry meterRegistry, CommandValidator commandValidator) {
+        this.meterRegistry = meterRegistry;
+        this.commandValidator = commandValidator;
+        this.queueWait = Timer.builder("kaiburr.batch.queue.wait")
+            .description("Time an execution waits for its batch Job to start")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.stdoutCompression = compressionRatio("stdout");
+        this.stderrCompression = compressionRatio("stderr");
+        this.blobsStored = blobs("stored");
+        this.blobsReused = blobs("reused");
+    }
+
+    @PostConstruct
+    public void preRegister() {
+        commandValidator.getResourceClassNames().forEach(this::meters);
+        commandValidator.getAllowlistedBinaries().forEach(this::outputMeters);
+        outputMeters(OTHER_BINARY);
+    }
+
+    /**
+     * Count one execution outcome.
+     */
+    public void count(String resourceClass, Result result) {
+        meters(resourceClass).results[result.ordinal()].increment();
+    }
+
+    /**
+     * Timer for the whole runner call.
+     */
+    public Timer executorDuration(String resourceClass) {
+        return meters(resourceClass).executorDuration;
+    }
+
+    /**
+     * Record the stored (post-truncation) UTF-8 size of an execution's output
+     * and whether each stream was truncated.
+     *
+     * @param binary The executed command; binaries off the allowlist are tagged "other"
+     */
+    public void recordOutput(String binary, String stdout, String stderr) {
+        OutputMeters meters = outputMeters(
+            binary != null && commandValidator.isAllowlisted(binary) ? binary : OTHER_BINARY);
+        meters.stdoutBytes.record(utf8Length(stdout));
+        meters.stderrBytes.record(utf8Length(stderr));
+        if (stdout != null && stdout.endsWith(CommandRunner.TRUNCATION_MARKER)) {
+            meters.stdoutTruncated.increment();
+        }
+        if (stderr != null && stderr.endsWith(CommandRunner.TRUNCATION_MARKER)) {
+            meters.stderrTruncated.increment();
+        }
+    }
+
+    /**
+     * Record the compression ratio (original / stored size) of one compressed output.
+     */
+    public void recordCompression(String stream, long originalBytes, long storedBytes) {
+        ("stderr".equals(stream) ? stderrCompression : stdoutCompression)
+            .record((double) originalBytes / Math.max(storedBytes, 1));
+    }
+
+    /**
+     * Count one output stream stored as a blob, either new content or a reference to an existing blob.
+     */
+    public void recordBlob(boolean reused) {
+        (reused ? blobsReused : blobsStored).increment();
+    }
+
+    /**
+     * Record how long an execution waited in the batching window and queue.
+     */
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record one executor pod lifecycle phase.
+     */
+    public void recordPodPhase(PodPhase phase, String resourceClass, Duration duration) {
+        meters(resourceClass).podPhases[phase.ordinal()].record(duration);
+    }
+
+    private ClassMeters meters(String resourceClass) {
+        ClassMeters meters = byClass.get(resourceClass);
+        return meters != null ? meters : byClass.computeIfAbsent(resourceClass, this::register);
+    }
+
+    private OutputMeters outputMeters(String binary) {
+        OutputMeters meters = byBinary.get(binary);
+        return meters != null ? meters : byBinary.computeIfAbsent(binary, this::registerOutput);
+    }
+
+    private OutputMeters registerOutput(String binary) {
+        return new OutputMeters(
+            outputBytes(binary, "stdout"),
+            outputBytes(binary, "stderr"),
+            truncated(binary, "stdout"),
+            truncated(binary, "stderr"));
+    }
+
+    private DistributionSummary outputBytes(String binary, String stream) {
+        return DistributionSummary.builder("kaiburr.execution.output.bytes")
+            .description("Stored output size per execution, after truncation")
+            .baseUnit("bytes")
+            .tag("binary", binary)
+            .tag("stream", stream)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private DistributionSummary compressionRatio(String stream) {
+        return DistributionSummary.builder("kaiburr.execution.output.compression.ratio")
+            .description("Original to stored size of compressed execution output")
+            .tag("stream", stream)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Counter blobs(String result) {
+        return Counter.builder("kaiburr.execution.output.blobs")
+            .description("Output streams stored as content-addressed blobs")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private Counter truncated(String binary, String stream) {
+        return Counter.builder("kaiburr.execution.output.truncated")
+            .description("Executions whose output hit the size limit")
+            .tag("binary", binary)
+            .tag("stream", stream)
+            .register(meterRegistry);
+    }
+
+    private ClassMeters register(String resourceClass) {
+        Counter[] results = new Counter[Result.values().length];
+        for (Result result : Result.values()) {
+            results[result.ordinal()] = Counter.builder("kaiburr.executions.total")
+                .tag("result", result.tag)
+                .tag("resource_class", resourceClass)
+                .register(meterRegistry);
+        }
+
+        Timer[] podPhases = new Timer[PodPhase.values().length];
+        for (PodPhase phase : PodPhase.values()) {
+            podPhases[phase.ordinal()] = Timer.builder("kaiburr.executor.pod.phase")
+                .description("Executor pod lifecycle phases taken from pod conditions and container state")
+                .tag("phase", phase.tag)
+                .tag("resource_class", resourceClass)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        }
+
+        return new ClassMeters(
+            results,
+            Timer.builder("kaiburr.executor.duration")
+                .tag("resource_class", resourceClass)
+                .register(meterRegistry),
+            podPhases);
+    }
+
+    /**
+     * UTF-8 encoded length without encoding the string.
+     */
+    static long utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Execution outcome, the result tag of kaiburr.executions.total.
+     */
+    public enum Result {
+        SUCCESS("success"),
+        TIMEOUT("timeout"),
+        VALIDATION_ERROR("validation_error"),
+        RUNTIME_ERROR("runtime_error");
+
+        private final String tag;
+
+        Result(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Executor pod lifecycle phase, the phase tag of kaiburr.executor.pod.phase.
+     */
+    public enum PodPhase {
+        SCHEDULING("scheduling"),
+        STARTUP("startup"),
+        RUN("run");
+
+        private final String tag;
+
+        PodPhase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final class ClassMeters {
+        private final Counter[] results;
+        private final Timer executorDuration;
+        private final Timer[] podPhases;
+
+        ClassMeters(Counter[] results, Timer executorDuration, Timer[] podPhases) {
+            this.results = results;
+            this.executorDuration = executorDuration;
+            this.podPhases = podPhases;
+        }
+    }
+
+    private static final class OutputMeters {
+        private final DistributionSummary stdoutBytes;
+        private final DistributionSummary stderrBytes;
+        private final Counter stdoutTruncated;
+        private final Counter stderrTruncated;
+
+        OutputMeters(DistributionSummary stdoutBytes, DistributionSummary stderrBytes,
+                     Counter stdoutTruncated, Counter stderrTruncated) {
+            this.stdoutBytes = stdoutBytes;
+            this.stderrBytes = stderrBytes;
+            this.stdoutTruncated = stdoutTruncated;
+            this.stderrTruncated = stderrTruncated;
+        }
+    }
+}
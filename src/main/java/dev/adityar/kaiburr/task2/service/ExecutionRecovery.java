@@ -0,0 +1,305 @@
+package dev.adityar.kaiburr.task2.service;
+
+import com.google.gson.reflect.TypeToken;
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.TaskRepository;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobStatus;
+import io.kubernetes.client.util.Watch;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Re-attaches to executions that were in flight when the service stopped.
+ *
+ * Executions are persisted as PENDING with their jobName and execUuid
+ * before the runner waits on the Job. On startup this component finds
+ * those records, watches each Job until it finishes (or its deadline
+ * passes), collects logs and exit codes exactly as the runner would, and
+ * completes the records. Jobs that no longer exist are marked FAILED once
+ * their executions are older than the Job deadline; until then the Job may
+ * still be on its way from the instance that submitted it.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@Profile("k8s")
+@RequiredArgsConstructor
+public class ExecutionRecovery {
+
+    private static final int DEADLINE_SLACK_SECONDS = 45;
+
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final KubernetesCommandRunner jobRunner;
+    private final BatchV1Api batchApi;
+    private final ApiClient apiClient;
+    private final KubernetesApiGateway gateway;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${k8s.namespace:kaiburr}")
+    private String namespace;
+
+    @Value("${k8s.recovery.enabled:true}")
+    private boolean enabled;
+
+    @Value("${k8s.recovery.concurrency:4}")
+    private int concurrency;
+
+    // Must stay below the API client's read timeout
+    @Value("${k8s.recovery.watch-timeout-seconds:20}")
+    private int watchTimeoutSeconds;
+
+    // How often a young execution's missing Job is looked up again
+    @Value("${k8s.recovery.create-poll-ms:2000}")
+    private long createPollMs;
+
+    private ExecutorService recoveryExecutor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, List<InFlight>> byJob = findInFlight();
+        if (byJob.isEmpty()) {
+            return;
+        }
+
+        log.info("Re-attaching to {} in-flight Jobs left by a previous instance", byJob.size());
+        recoveryExecutor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "execution-recovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        byJob.forEach((jobName, executions) -> recoveryExecutor.execute(() -> recoverJob(jobName, executions)));
+        recoveryExecutor.shutdown();
+    }
+
+    /**
+     * Group PENDING/RUNNING executions by the Job they run in.
+     */
+    Map<String, List<InFlight>> findInFlight() {
+        Map<String, List<InFlight>> byJob = new LinkedHashMap<>();
+        for (Task task : taskRepository.findWithInFlightExecutions()) {
+            for (TaskExecution execution : task.getExecutions()) {
+                boolean inFlight = execution.getStatus() == TaskExecution.ExecutionStatus.PENDING
+                    || execution.getStatus() == TaskExecution.ExecutionStatus.RUNNING;
+                if (inFlight && execution.getJobName() != null) {
+                    byJob.computeIfAbsent(execution.getJobName(), k -> new ArrayList<>())
+                        .add(new InFlight(task.getId(), execution));
+                }
+            }
+        }
+        return byJob;
+    }
+
+    /**
+     * Wait for one Job to finish and complete all executions that ran in it.
+     */
+    void recoverJob(String jobName, List<InFlight> executions) {
+        try {
+            V1Job job = awaitFinished(jobName);
+
+            // PENDING is persisted before createJob, which the gateway can delay, and the
+            // submitter may be a live replica: a missing Job only counts as lost once it
+            // would have finished anyway
+            Instant lostAfter = lostAfter(executions);
+            while (job == null && Instant.now().isBefore(lostAfter)) {
+                Thread.sleep(createPollMs);
+                job = awaitFinished(jobName);
+            }
+
+            if (job == null) {
+                completeAll(executions, TaskExecution.ExecutionStatus.FAILED,
+                    "Job no longer exists; result was lost during restart", "lost");
+            } else if (!isFinished(job.getStatus())) {
+                completeAll(executions, TaskExecution.ExecutionStatus.TIMEOUT, "Job timeout exceeded", "timeout");
+            } else if (executions.get(0).execution.getBatchIndex() == null) {
+                InFlight only = executions.get(0);
+                record(only, jobRunner.collectResult(jobName, only.execution.getStartedAt()));
+            } else {
+                collectBatch(jobName, executions);
+            }
+        } catch (InterruptedException e) {
+            // Shutting down; the next instance recovers these executions
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not recover Job {}: {}", jobName, e.getMessage());
+            completeAll(executions, TaskExecution.ExecutionStatus.FAILED,
+                "Result could not be recovered after restart: " + e.getMessage(), "failed");
+        }
+    }
+
+    private void collectBatch(String jobName, List<InFlight> executions) throws ApiException {
+        Instant startedAt = executions.stream()
+            .map(e -> e.execution.getStartedAt())
+            .min(Instant::compareTo)
+            .orElse(Instant.now());
+        int count = executions.stream().mapToInt(e -> e.execution.getBatchIndex()).max().orElse(0) + 1;
+
+        KubernetesCommandRunner.JobRun run = jobRunner.collectRun(jobName, startedAt);
+        List<BatchFrameParser.CommandFrames> frames = BatchFrameParser.parse(run.getLogs(), count);
+
+        for (InFlight inFlight : executions) {
+            record(inFlight, jobRunner.batchResult(run, frames.get(inFlight.execution.getBatchIndex())));
+        }
+    }
+
+    /**
+     * Watch the Job until it reports success or failure, or until its deadline passes.
+     *
+     * @return The last seen Job, or null if it does not exist
+     */
+    private V1Job awaitFinished(String jobName) throws ApiException, IOException {
+        V1Job job;
+        try {
+            job = gateway.read("read_job_status", () -> batchApi.readNamespacedJobStatus(jobName, namespace, null));
+        } catch (ApiException e) {
+            if (e.getCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+
+        Instant giveUpAt = giveUpAt(job);
+        String resourceVersion = job.getMetadata().getResourceVersion();
+
+        while (!isFinished(job.getStatus()) && Instant.now().isBefore(giveUpAt)) {
+            String fromVersion = resourceVersion;
+            try (Watch<V1Job> watch = gateway.read("watch_job", () -> Watch.createWatch(
+                    apiClient,
+                    batchApi.listNamespacedJobCall(
+                        namespace,
+                        null,   // pretty
+                        false,  // allowWatchBookmarks
+                        null,   // continue
+                        "metadata.name=" + jobName,
+                        null,   // labelSelector
+                        null,   // limit
+                        fromVersion,
+                        null,   // resourceVersionMatch
+                        null,   // sendInitialEvents
+                        watchTimeoutSeconds,
+                        true,   // watch
+                        null),  // callback
+                    new TypeToken<Watch.Response<V1Job>>() { }.getType()))) {
+
+                for (Watch.Response<V1Job> event : watch) {
+                    if ("DELETED".equals(event.type)) {
+                        return null;
+                    }
+                    if ("ERROR".equals(event.type)) {
+                        // Usually 410 Gone: our resourceVersion is too old, relist below
+                        resourceVersion = null;
+                        break;
+                    }
+                    job = event.object;
+                    resourceVersion = job.getMetadata().getResourceVersion();
+                    if (isFinished(job.getStatus())) {
+                        return job;
+                    }
+                }
+            }
+
+            if (resourceVersion == null) {
+                job = gateway.read("read_job_status", () -> batchApi.readNamespacedJobStatus(jobName, namespace, null));
+                resourceVersion = job.getMetadata().getResourceVersion();
+            }
+        }
+
+        return job;
+    }
+
+    /**
+     * When a Job submitted for these executions would have been created and
+     * run to its deadline.
+     */
+    private Instant lostAfter(List<InFlight> executions) {
+        Instant lastStarted = executions.stream()
+            .map(e -> e.execution.getStartedAt())
+            .filter(Objects::nonNull)
+            .max(Instant::compareTo)
+            .orElse(Instant.EPOCH);
+        return lastStarted.plusSeconds(jobRunner.getActiveDeadlineSeconds() + DEADLINE_SLACK_SECONDS);
+    }
+
+    private Instant giveUpAt(V1Job job) {
+        Instant created = job.getMetadata().getCreationTimestamp() != null
+            ? job.getMetadata().getCreationTimestamp().toInstant()
+            : Instant.now();
+        long deadline = job.getSpec() != null && job.getSpec().getActiveDeadlineSeconds() != null
+            ? job.getSpec().getActiveDeadlineSeconds()
+            : jobRunner.getActiveDeadlineSeconds();
+        return created.plusSeconds(deadline + DEADLINE_SLACK_SECONDS);
+    }
+
+    private static boolean isFinished(V1JobStatus status) {
+        return status != null
+            && ((status.getSucceeded() != null && status.getSucceeded() > 0)
+                || (status.getFailed() != null && status.getFailed() > 0));
+    }
+
+    private void record(InFlight inFlight, CommandRunner.ExecutionResult result) {
+        taskService.recordResult(inFlight.taskId, inFlight.execution, inFlight.execution.getId(), result);
+        meterRegistry.counter("kaiburr.recovery.executions", "outcome", "recovered").increment();
+        log.info("Recovered execution {} of task {} from Job {}",
+            inFlight.execution.getId(), inFlight.taskId, result.getJobName());
+    }
+
+    private void completeAll(List<InFlight> executions, TaskExecution.ExecutionStatus status,
+                             String reason, String outcome) {
+        for (InFlight inFlight : executions) {
+            TaskExecution completed = inFlight.execution.toBuilder()
+                .status(status)
+                .stderr(reason)
+                .completedAt(Instant.now())
+                .build();
+            taskService.completeExecution(inFlight.taskId, completed);
+            meterRegistry.counter("kaiburr.recovery.executions", "outcome", outcome).increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (recoveryExecutor != null) {
+            recoveryExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * A persisted execution still waiting on its Job.
+     */
+    static class InFlight {
+        private final String taskId;
+        private final TaskExecution execution;
+
+        InFlight(String taskId, TaskExecution execution) {
+            this.taskId = taskId;
+            this.execution = execution;
+        }
+    }
+}
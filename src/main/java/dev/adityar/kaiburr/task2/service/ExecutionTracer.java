@@ -0,0 +1,51 @@
+package dev.adityar.kaiburr.task2.service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Named phases of a task execution.
+ *
+ * Each phase is a Micrometer Observation, so it is recorded as the
+ * kaiburr.execution.phase timer (tagged phase and error) and, when a
+ * tracing bridge is on the classpath, as a span nested under whatever
+ * observation is current on the calling thread. Histogram and SLO buckets
+ * for the timer are configured under management.metrics.distribution.
+ *
+ * Phases: mongo_read, validation, persist_submit, job_create, job_wait,
+ * log_fetch, persist_result (Kubernetes) and process_start, process_run,
+ * output_read (local). Scheduling versus container runtime inside job_wait
+ * is broken down from pod timestamps in kaiburr.executor.pod.phase.
+ *
+ * @author Aditya R
+ */
+@Component
+@RequiredArgsConstructor
+public class ExecutionTracer {
+
+    static final String PHASE_OBSERVATION = "kaiburr.execution.phase";
+
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Run one phase and return its result.
+     */
+    public <T, E extends Throwable> T trace(String phase, Observation.CheckedCallable<T, E> body) throws E {
+        return observation(phase).observeChecked(body);
+    }
+
+    /**
+     * Run one phase that has no result.
+     */
+    public <E extends Throwable> void run(String phase, Observation.CheckedRunnable<E> body) throws E {
+        observation(phase).observeChecked(body);
+    }
+
+    private Observation observation(String phase) {
+        return Observation.createNotStarted(PHASE_OBSERVATION, observationRegistry)
+            .contextualName("execution " + phase)
+            .lowCardinalityKeyValue("phase", phase);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.ExecutionRecordRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-poll waits on execution state.
+ *
+ * A wait is a DeferredResult parked in a map keyed by execution id, so a
+ * waiting request holds no thread. It is completed by the
+ * ExecutionCompletedEvent of that execution, or at the end of the wait
+ * with whatever state is stored then. Events are local to this instance,
+ * so an execution completed by another replica is only seen at the end of
+ * the wait.
+ *
+ * @author Aditya R
+ */
+@Component
+public class ExecutionWaiter {
+
+    private final ExecutionRecordRepository recordRepository;
+    private final Map<String, Set<DeferredResult<ExecutionRecord>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    @Value("${exec.wait.max-seconds:60}")
+    private int maxWaitSeconds;
+
+    @Value("${exec.wait.max-waiters:10000}")
+    private int maxWaiters;
+
+    public ExecutionWaiter(ExecutionRecordRepository recordRepository, MeterRegistry meterRegistry) {
+        this.recordRepository = recordRepository;
+        Gauge.builder("kaiburr.execution.waiters", waiting, AtomicInteger::get)
+            .description("Requests waiting for an execution to finish")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Current state of an execution, held until it is terminal or waitSeconds pass.
+     *
+     * @param waitSeconds Longest wait, capped at exec.wait.max-seconds; 0 answers immediately
+     * @throws TaskService.TaskNotFoundException If the task has no such execution
+     */
+    public DeferredResult<ExecutionRecord> await(String taskId, String executionId, int waitSeconds) {
+        if (waitSeconds < 0) {
+            throw new IllegalArgumentException("waitSeconds must not be negative");
+        }
+        ExecutionRecord current = find(taskId, executionId);
+        int wait = Math.min(waitSeconds, maxWaitSeconds);
+        DeferredResult<ExecutionRecord> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(wait));
+        // Over the limit, callers fall back to polling rather than queueing more waits
+        if (isTerminal(current) || wait == 0 || waiting.get() >= maxWaiters) {
+            result.setResult(current);
+            return result;
+        }
+
+        register(executionId, result);
+        result.onTimeout(() -> result.setResult(recordRepository.findById(executionId).orElse(current)));
+        result.onCompletion(() -> unregister(executionId, result));
+        result.onError(error -> unregister(executionId, result));
+
+        // The execution may have completed between the first read and registration
+        ExecutionRecord latest = recordRepository.findById(executionId).orElse(current);
+        if (isTerminal(latest)) {
+            result.setResult(latest);
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onCompleted(ExecutionCompletedEvent event) {
+        Set<DeferredResult<ExecutionRecord>> parked = waiters.remove(event.getExecution().getId());
+        if (parked != null) {
+            waiting.addAndGet(-parked.size());
+            parked.forEach(result -> result.setResult(event.getExecution()));
+        }
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    private ExecutionRecord find(String taskId, String executionId) {
+        return recordRepository.findById(executionId)
+            .filter(record -> taskId.equals(record.getTaskId()))
+            .orElseThrow(() -> new TaskService.TaskNotFoundException(
+                "Execution not found: " + executionId + " of task " + taskId));
+    }
+
+    private void register(String executionId, DeferredResult<ExecutionRecord> result) {
+        waiters.compute(executionId, (id, parked) -> {
+            Set<DeferredResult<ExecutionRecord>> set = parked != null ? parked : ConcurrentHashMap.newKeySet();
+            set.add(result);
+            return set;
+        });
+        waiting.incrementAndGet();
+    }
+
+    private void unregister(String executionId, DeferredResult<ExecutionRecord> result) {
+        waiters.computeIfPresent(executionId, (id, parked) -> {
+            if (parked.remove(result)) {
+                waiting.decrementAndGet();
+            }
+            return parked.isEmpty() ? null : parked;
+        });
+    }
+
+    private static boolean isTerminal(ExecutionRecord record) {
+        return record.getStatus() != TaskExecution.ExecutionStatus.PENDING
+            && record.getStatus() != TaskExecution.ExecutionStatus.RUNNING;
+    }
+}
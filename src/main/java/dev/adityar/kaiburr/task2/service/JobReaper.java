@@ -0,0 +1,230 @@
+package dev.adityar.kaiburr.task2.service;
+
+import com.google.gson.JsonSyntaxException;
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobCondition;
+import io.kubernetes.client.openapi.models.V1JobList;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Background garbage collector for executor Jobs.
+ *
+ * ttlSecondsAfterFinished normally removes finished Jobs, but Jobs whose
+ * waiter went away (API restart, wait timeout) or that never finish stay
+ * behind and slow every later list call. This reaper pages through
+ * app=kaiburr-exec Jobs with limit/continue, deletes the stale ones with
+ * propagationPolicy=Background, and moves any TaskExecution still marked
+ * PENDING/RUNNING for a reaped Job to TIMEOUT or FAILED.
+ *
+ * A Job is stale when it finished more than ttl + grace seconds ago, or
+ * is still active more than its activeDeadlineSeconds + grace seconds
+ * after creation.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@Profile("k8s")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "k8s.reaper", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JobReaper {
+
+    static final String LABEL_SELECTOR = "app=kaiburr-exec";
+
+    private final BatchV1Api batchApi;
+    private final KubernetesApiGateway gateway;
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${k8s.namespace:kaiburr}")
+    private String namespace;
+
+    @Value("${k8s.ttl.seconds:120}")
+    private int ttlSeconds;
+
+    @Value("${k8s.active-deadline.seconds:15}")
+    private int activeDeadlineSeconds;
+
+    @Value("${k8s.reaper.grace-seconds:60}")
+    private int graceSeconds;
+
+    @Value("${k8s.reaper.page-size:100}")
+    private int pageSize;
+
+    @Value("${k8s.reaper.max-deletes-per-run:200}")
+    private int maxDeletesPerRun;
+
+    @Scheduled(initialDelayString = "${k8s.reaper.initial-delay-ms:30000}",
+               fixedDelayString = "${k8s.reaper.interval-ms:60000}")
+    public void scheduledReap() {
+        try {
+            int reaped = reap(Instant.now());
+            if (reaped > 0) {
+                log.info("Reaped {} stale executor Jobs", reaped);
+            }
+        } catch (ApiException e) {
+            log.warn("Job reaper run aborted: code={} {}", e.getCode(), e.getMessage());
+        }
+    }
+
+    /**
+     * Run one reaping pass.
+     *
+     * @param now Reference time for staleness checks
+     * @return Number of Jobs deleted
+     * @throws ApiException if listing fails
+     */
+    int reap(Instant now) throws ApiException {
+        int deleted = 0;
+        String continueToken = null;
+
+        do {
+            String token = continueToken;
+            V1JobList page;
+            try {
+                page = gateway.read("list_jobs", () -> batchApi.listNamespacedJob(
+                    namespace,
+                    null,  // pretty
+                    null,  // allowWatchBookmarks
+                    token,
+                    null,  // fieldSelector
+                    LABEL_SELECTOR,
+                    pageSize,
+                    null,  // resourceVersion
+                    null,  // resourceVersionMatch
+                    null,  // sendInitialEvents
+                    null,  // timeoutSeconds
+                    false  // watch
+                ));
+            } catch (ApiException e) {
+                if (e.getCode() == 410) {
+                    // Continue token expired; the next run starts from a fresh list
+                    log.debug("Job list continue token expired after {} deletions", deleted);
+                    return deleted;
+                }
+                throw e;
+            }
+
+            for (V1Job job : page.getItems()) {
+                if (deleted >= maxDeletesPerRun) {
+                    return deleted;
+                }
+                String reason = staleReason(job, now);
+                if (reason != null && delete(job.getMetadata().getName(), reason)) {
+                    deleted++;
+                    reconcile(job, reason, now);
+                }
+            }
+
+            continueToken = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+        } while (continueToken != null && !continueToken.isEmpty());
+
+        return deleted;
+    }
+
+    /**
+     * @return "expired" or "orphaned" if the Job should be reaped, otherwise null
+     */
+    String staleReason(V1Job job, Instant now) {
+        if (job.getMetadata() == null || job.getMetadata().getName() == null) {
+            return null;
+        }
+
+        Instant finishedAt = finishedAt(job);
+        if (finishedAt != null) {
+            return finishedAt.plusSeconds(ttlSeconds + graceSeconds).isBefore(now) ? "expired" : null;
+        }
+
+        OffsetDateTime created = job.getMetadata().getCreationTimestamp();
+        if (created == null) {
+            return null;
+        }
+        long deadline = job.getSpec() != null && job.getSpec().getActiveDeadlineSeconds() != null
+            ? job.getSpec().getActiveDeadlineSeconds()
+            : activeDeadlineSeconds;
+        return created.toInstant().plusSeconds(deadline + graceSeconds).isBefore(now) ? "orphaned" : null;
+    }
+
+    private boolean delete(String jobName, String reason) {
+        try {
+            gateway.write("delete_job", () -> batchApi.deleteNamespacedJob(
+                jobName,
+                namespace,
+                null,  // pretty
+                null,  // dryRun
+                null,  // gracePeriodSeconds
+                null,  // orphanDependents
+                "Background",
+                null   // body
+            ));
+        } catch (JsonSyntaxException e) {
+            // The API server answers with the Job rather than a V1Status; the delete went through
+        } catch (ApiException e) {
+            if (e.getCode() != 404) {
+                log.warn("Failed to reap Job {}: code={} {}", jobName, e.getCode(), e.getMessage());
+                return false;
+            }
+        }
+
+        meterRegistry.counter("kaiburr.reaper.jobs", "reason", reason).increment();
+        log.debug("Reaped {} Job {}", reason, jobName);
+        return true;
+    }
+
+    private void reconcile(V1Job job, String reason, Instant now) {
+        boolean timedOut = "orphaned".equals(reason) || hasCondition(job, "Failed", "DeadlineExceeded");
+        TaskExecution.ExecutionStatus status = timedOut
+            ? TaskExecution.ExecutionStatus.TIMEOUT
+            : TaskExecution.ExecutionStatus.FAILED;
+        String message = timedOut
+            ? "Execution timed out; Job was reaped"
+            : "Job was reaped before its result was recorded";
+
+        List<ExecutionRecord> moved =
+            taskService.completeStaleExecutions(job.getMetadata().getName(), status, message, now);
+        if (!moved.isEmpty()) {
+            meterRegistry.counter("kaiburr.reaper.executions", "status", status.name()).increment(moved.size());
+        }
+    }
+
+    private static Instant finishedAt(V1Job job) {
+        if (job.getStatus() == null) {
+            return null;
+        }
+        if (job.getStatus().getCompletionTime() != null) {
+            return job.getStatus().getCompletionTime().toInstant();
+        }
+        if (job.getStatus().getConditions() != null) {
+            for (V1JobCondition condition : job.getStatus().getConditions()) {
+                boolean terminal = "Complete".equals(condition.getType()) || "Failed".equals(condition.getType());
+                if (terminal && "True".equals(condition.getStatus()) && condition.getLastTransitionTime() != null) {
+                    return condition.getLastTransitionTime().toInstant();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasCondition(V1Job job, String type, String reason) {
+        if (job.getStatus() == null || job.getStatus().getConditions() == null) {
+            return false;
+        }
+        return job.getStatus().getConditions().stream()
+            .anyMatch(c -> type.equals(c.getType()) && reason.equals(c.getReason()));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.adityar.kaiburr.task2.service;
+
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.V1Job;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-serialized executor Job with slots for the per-execution fields.
+ *
+ * A prototype V1Job carrying placeholder values is serialized once; the
+ * JSON is then split at the placeholders. Rendering an execution only
+ * concatenates the fixed segments with the JSON-escaped name, labels,
+ * command, args and deadline, skipping object construction, Quantity
+ * parsing and Gson reflection on the hot path.
+ *
+ * @author Aditya R
+ */
+final class JobTemplate {
+
+    static final String JOB_NAME = "__kb_job_name__";
+    static final String TASK_ID = "__kb_task_id__";
+    static final String EXEC_UUID = "__kb_exec_uuid__";
+    static final String COMMAND = "__kb_command__";
+    static final String ARGS = "__kb_args__";
+    /** Sentinel for the numeric activeDeadlineSeconds field. */
+    static final int DEADLINE = 987654321;
+
+    private final List<String> segments;
+    private final List<Slot> slots;
+    private final int fixedLength;
+
+    private JobTemplate(List<String> segments, List<Slot> slots) {
+        this.segments = segments;
+        this.slots = slots;
+        this.fixedLength = segments.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Compile a template from a prototype built with the placeholder constants.
+     *
+     * @param prototype Job whose per-execution fields hold the placeholders
+     * @param json Serializer of the API client that will send the Job
+     * @throws IllegalStateException if a placeholder is missing from the serialized prototype
+     */
+    static JobTemplate compile(V1Job prototype, JSON json) {
+        String serialized = json.serialize(prototype);
+
+        List<String> segments = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int position = 0;
+
+        while (true) {
+            Slot next = null;
+            int nextIndex = -1;
+            for (Slot slot : Slot.values()) {
+                int index = serialized.indexOf(slot.token, position);
+                if (index >= 0 && (nextIndex < 0 || index < nextIndex)) {
+                    next = slot;
+                    nextIndex = index;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            segments.add(serialized.substring(position, nextIndex));
+            slots.add(next);
+            position = nextIndex + next.token.length();
+        }
+        segments.add(serialized.substring(position));
+
+        for (Slot slot : Slot.values()) {
+            if (!slots.contains(slot)) {
+                throw new IllegalStateException("Job template is missing placeholder " + slot.token);
+            }
+        }
+
+        return new JobTemplate(segments, slots);
+    }
+
+    /**
+     * Render the Job body for one execution as UTF-8 JSON.
+     */
+    byte[] render(String jobName, String taskId, String execUuid, String command, List<String> args,
+                  int deadlineSeconds) {
+        StringBuilder out = new StringBuilder(fixedLength + 256);
+
+        for (int i = 0; i < slots.size(); i++) {
+            out.append(segments.get(i));
+            switch (slots.get(i)) {
+                case NAME -> appendString(out, jobName);
+                case TASK -> appendString(out, taskId);
+                case UUID -> appendString(out, execUuid);
+                case CMD -> appendString(out, "/usr/bin/" + command);
+                case ARGV -> {
+                    for (int a = 0; a < args.size(); a++) {
+                        if (a > 0) {
+                            out.append(',');
+                        }
+                        appendString(out, args.get(a));
+                    }
+                }
+                case DEADLINE_SECONDS -> out.append(deadlineSeconds);
+            }
+        }
+        out.append(segments.get(segments.size() - 1));
+
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Append a JSON string literal, quotes included.
+     */
+    static void appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Placeholder as it appears in the serialized prototype.
+     */
+    private enum Slot {
+        NAME('"' + JOB_NAME + '"'),
+        TASK('"' + TASK_ID + '"'),
+        UUID('"' + EXEC_UUID + '"'),
+        // Command and args are single-element placeholder lists: ["/usr/bin/__kb_command__"]
+        CMD("\"/usr/bin/" + COMMAND + '"'),
+        ARGV('"' + ARGS + '"'),
+        DEADLINE_SECONDS(String.valueOf(DEADLINE));
+
+        private final String token;
+
+        Slot(String token) {
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.util.AimdConcurrencyLimiter;
+import dev.adityar.kaiburr.task2.util.TokenBucket;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single entry point for Kubernetes API calls made by the command runners.
+ *
+ * Every call passes a client-side token bucket (sustained QPS and burst)
+ * and an AIMD adaptive concurrency limiter, so a spike of executions is
+ * smoothed to what the API server can absorb instead of turning into 429s.
+ * Throttled calls (429) wait for Retry-After and are retried; idempotent
+ * reads are also retried with jittered exponential backoff on 5xx and I/O
+ * errors.
+ *
+ * Records a latency histogram per operation and outcome
+ * (kaiburr.k8s.api.duration) so slow or failing API calls can be told
+ * apart from slow commands.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@Profile("k8s")
+@RequiredArgsConstructor
+public class KubernetesApiGateway {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${k8s.client.rate-limit.qps:50}")
+    private double qps;
+
+    @Value("${k8s.client.rate-limit.burst:100}")
+    private int burst;
+
+    @Value("${k8s.client.concurrency.initial:16}")
+    private int initialConcurrency;
+
+    @Value("${k8s.client.concurrency.min:2}")
+    private int minConcurrency;
+
+    @Value("${k8s.client.concurrency.max:64}")
+    private int maxConcurrency;
+
+    @Value("${k8s.client.concurrency.backoff-ratio:0.7}")
+    private double backoffRatio;
+
+    @Value("${k8s.client.concurrency.acquire-timeout-seconds:30}")
+    private long acquireTimeoutSeconds;
+
+    @Value("${k8s.client.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${k8s.client.retry.base-backoff-ms:100}")
+    private long baseBackoffMs;
+
+    @Value("${k8s.client.retry.max-backoff-ms:2000}")
+    private long maxBackoffMs;
+
+    @Value("${k8s.client.retry.max-retry-after-ms:10000}")
+    private long maxRetryAfterMs;
+
+    private TokenBucket rateLimiter;
+    private AimdConcurrencyLimiter concurrencyLimiter;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retryCounters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new TokenBucket(qps, burst);
+        concurrencyLimiter = new AimdConcurrencyLimiter(initialConcurrency, minConcurrency, maxConcurrency, backoffRatio);
+
+        Gauge.builder("kaiburr.k8s.api.concurrency.limit", concurrencyLimiter, AimdConcurrencyLimiter::getLimit)
+            .description("Current adaptive concurrency limit for Kubernetes API calls")
+            .register(meterRegistry);
+        Gauge.builder("kaiburr.k8s.api.in.flight", concurrencyLimiter, AimdConcurrencyLimiter::getInFlight)
+            .register(meterRegistry);
+
+        log.info("Kubernetes API limits: qps={}, burst={}, concurrency={} [{}..{}]",
+            qps, burst, initialConcurrency, minConcurrency, maxConcurrency);
+    }
+
+    /**
+     * Invoke an idempotent (read-only) API call; retried on throttling, 5xx and I/O errors.
+     *
+     * @param operation Low-cardinality operation name, e.g. "read_job_status"
+     * @param call The API call
+     * @return The call's result
+     * @throws ApiException if the call still fails after retries
+     */
+    public <T> T read(String operation, KubernetesCall<T> call) throws ApiException {
+        return call(operation, true, call);
+    }
+
+    /**
+     * Invoke a mutating API call; retried only when the server throttled it (429),
+     * since the request was then not processed.
+     *
+     * @param operation Low-cardinality operation name, e.g. "create_job"
+     * @param call The API call
+     * @return The call's result
+     * @throws ApiException if the call fails
+     */
+    public <T> T write(String operation, KubernetesCall<T> call) throws ApiException {
+        return call(operation, false, call);
+    }
+
+    private <T> T call(String operation, boolean idempotent, KubernetesCall<T> call) throws ApiException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(operation, call);
+            } catch (ApiException e) {
+                long delayMs = retryDelay(e, idempotent, attempt);
+                if (delayMs < 0) {
+                    throw e;
+                }
+                retryCounter(operation, e.getCode() == 429 ? "throttled" : "error").increment();
+                log.warn("Kubernetes {} failed (code={}), retry {}/{} in {}ms",
+                    operation, e.getCode(), attempt, maxAttempts - 1, delayMs);
+                sleep(delayMs);
+            }
+        }
+    }
+
+    /**
+     * One rate-limited, concurrency-limited, timed attempt.
+     */
+    private <T> T attempt(String operation, KubernetesCall<T> call) throws ApiException {
+        try {
+            rateLimiter.acquire();
+            if (!concurrencyLimiter.acquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new ApiException("Timed out waiting for Kubernetes API concurrency slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(e);
+        }
+
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            T result = call.execute();
+            concurrencyLimiter.onSuccess();
+            return result;
+        } catch (ApiException e) {
+            outcome = outcomeOf(e);
+            if (isOverload(e)) {
+                concurrencyLimiter.onOverload();
+            } else {
+                concurrencyLimiter.onIgnore();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            concurrencyLimiter.onIgnore();
+            throw e;
+        } finally {
+            timer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Decide whether and when to retry.
+     *
+     * @return Delay in milliseconds, or -1 to give up
+     */
+    private long retryDelay(ApiException e, boolean idempotent, int attempt) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+
+        if (e.getCode() == 429) {
+            long retryAfter = retryAfterMs(e);
+            return retryAfter >= 0 ? Math.min(retryAfter, maxRetryAfterMs) : jitteredBackoff(attempt);
+        }
+
+        boolean transientError = e.getCode() == 0 || e.getCode() >= 500;
+        return idempotent && transientError ? jitteredBackoff(attempt) : -1;
+    }
+
+    /**
+     * Full-jitter exponential backoff.
+     */
+    private long jitteredBackoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    /**
+     * Parse the Retry-After header (delta-seconds form).
+     */
+    private static long retryAfterMs(ApiException e) {
+        Map<String, List<String>> headers = e.getResponseHeaders();
+        if (headers == null) {
+            return -1;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if ("Retry-After".equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                try {
+                    return TimeUnit.SECONDS.toMillis(Long.parseLong(header.getValue().get(0).trim()));
+                } catch (NumberFormatException ignored) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isOverload(ApiException e) {
+        return e.getCode() == 429 || e.getCode() == 0 || e.getCode() >= 500;
+    }
+
+    private static void sleep(long millis) throws ApiException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ie);
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + '|' + outcome, key -> Timer.builder("kaiburr.k8s.api.duration")
+            .description("Latency of Kubernetes API calls made by the command runner")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    private Counter retryCounter(String operation, String reason) {
+        return retryCounters.computeIfAbsent(operation + '|' + reason, key -> Counter.builder("kaiburr.k8s.api.retries")
+            .tag("operation", operation)
+            .tag("reason", reason)
+            .register(meterRegistry));
+    }
+
+    private static String outcomeOf(ApiException e) {
+        int code = e.getCode();
+        if (code == 0) {
+            return "io_error";
+        }
+        return code == 429 ? "throttled" : (code / 100) + "xx";
+    }
+
+    /**
+     * A Kubernetes API call that may throw ApiException.
+     */
+    @FunctionalInterface
+    public interface KubernetesCall<T> {
+        T execute() throws ApiException;
+    }
+}
@@ -1,21 +1,31 @@
 package dev.adityar.kaiburr.task2.service;
 
+import dev.adityar.kaiburr.task2.config.ExecutorSchedulingProperties;
 import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.util.Ids;
 import io.kubernetes.client.custom.Quantity;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.BatchV1Api;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.*;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Response;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Kubernetes Job-based command runner for production.
@@ -34,6 +44,14 @@ import java.util.*;
 public class KubernetesCommandRunner implements CommandRunner {
     
     private final ApiClient apiClient;
+    private final BatchV1Api batchApi;
+    private final CoreV1Api coreApi;
+    private final KubernetesApiGateway gateway;
+    private final CommandValidator commandValidator;
+    private final ExecutorSchedulingProperties scheduling;
+    private final ExecutionMetrics metrics;
+    private final ExecutionTracer tracer;
+    private final OutputSpillStore spillStore;
     
     @Value("${k8s.namespace:kaiburr}")
     private String namespace;
@@ -59,61 +77,83 @@ public class KubernetesCommandRunner implements CommandRunner {
     @Value("${k8s.max-stderr-bytes:65536}")
     private int maxStderrBytes;
     
+    @Value("${exec.output.spill.enabled:false}")
+    private boolean spillEnabled;
+    
+    // Keyed by class name, which the template writes into labels, and definition, so a
+    // policy reload that changes a class compiles a new template
+    private final Map<TemplateKey, JobTemplate> jobTemplates = new ConcurrentHashMap<>();
+    
+    /**
+     * Compile the default class's Job template once the configuration is bound.
+     */
+    @PostConstruct
+    public void compileJobTemplate() {
+        templateFor(commandValidator.getDefaultResourceClass());
+    }
+    
+    /**
+     * Job template for a resource class, compiled on first use.
+     * 
+     * @throws CommandExecutionException if the policy has no such class
+     */
+    JobTemplate templateFor(String resourceClass) {
+        CommandValidator.CommandPolicy.ResourceClass resources = commandValidator.getResourceClass(resourceClass);
+        if (resources == null) {
+            throw new CommandExecutionException("Unknown resource class: " + resourceClass);
+        }
+        String name = resourceClass != null ? resourceClass : commandValidator.getDefaultResourceClass();
+        return jobTemplates.computeIfAbsent(new TemplateKey(name, resources), key -> JobTemplate.compile(
+            buildJobSpec(JobTemplate.JOB_NAME, JobTemplate.TASK_ID, JobTemplate.EXEC_UUID,
+                JobTemplate.COMMAND, List.of(JobTemplate.ARGS), JobTemplate.DEADLINE, key.name, key.resources),
+            apiClient.getJSON()));
+    }
+    
+    /**
+     * Resource class a task runs with: its own, or the policy default.
+     */
+    String resourceClassOf(Task task) {
+        return task.getResourceClass() != null ? task.getResourceClass() : commandValidator.getDefaultResourceClass();
+    }
+    
     @Override
     public ExecutionResult execute(Task task) {
-        String jobName = generateJobName(task.getId());
-        String execUuid = UUID.randomUUID().toString();
+        return execute(task, (jobName, execUuid, batchIndex) -> { });
+    }
+    
+    @Override
+    public ExecutionResult execute(Task task, SubmissionListener listener) {
+        UUID id = Ids.next();
+        String jobName = generateJobName(task.getId(), id);
+        String execUuid = id.toString();
+        String resourceClass = resourceClassOf(task);
         Instant startTime = Instant.now();
+        JobTemplate template = templateFor(resourceClass);
+        // Outside the try: a listener failure (e.g. TaskNotFoundException) reaches the caller as thrown
+        listener.onSubmitted(jobName, execUuid, null);
         
         try {
             log.info("Creating Kubernetes Job: {} for task: {}", jobName, task.getId());
             
             // Create Job
-            V1Job job = buildJobSpec(jobName, task.getId(), execUuid, task.getCommand(), task.getArgs());
-            BatchV1Api batchApi = new BatchV1Api(apiClient);
-            batchApi.createNamespacedJob(namespace, job, null, null, null, null);
+            tracer.run("job_create", () -> createJob(template.render(jobName, task.getId(), execUuid,
+                task.getCommand(), task.getArgs() != null ? task.getArgs() : List.of(), activeDeadlineSeconds)));
             
             log.info("Job created: {}", jobName);
             
             // Wait for completion
-            boolean completed = waitForJobCompletion(jobName);
+            boolean completed = tracer.trace("job_wait", () -> waitForJobCompletion(jobName, activeDeadlineSeconds));
             
             if (!completed) {
                 log.warn("Job {} did not complete within timeout", jobName);
-                return ExecutionResult.builder()
-                    .jobName(jobName)
-                    .exitCode(-1)
-                    .stdout("")
-                    .stderr("Job timeout exceeded")
-                    .durationMs(Duration.between(startTime, Instant.now()).toMillis())
-                    .timeout(true)
-                    .build();
+                ExecutionResult timeout = timeoutResult(jobName, Duration.between(startTime, Instant.now()).toMillis());
+                timeout.setResourceClass(resourceClass);
+                return timeout;
             }
             
-            // Fetch logs
-            String podName = findPodForJob(jobName);
-            if (podName == null) {
-                throw new CommandExecutionException("Could not find pod for job: " + jobName);
-            }
-            
-            String stdout = fetchPodLogs(podName, false);
-            String stderr = fetchPodLogs(podName, true);
-            
-            // Get exit code from Pod status
-            int exitCode = getPodExitCode(podName);
-            
-            long durationMs = Duration.between(startTime, Instant.now()).toMillis();
-            
-            log.info("Job {} completed: exitCode={}, duration={}ms", jobName, exitCode, durationMs);
-            
-            return ExecutionResult.builder()
-                .jobName(jobName)
-                .exitCode(exitCode)
-                .stdout(truncateOutput(stdout, maxStdoutBytes))
-                .stderr(truncateOutput(stderr, maxStderrBytes))
-                .durationMs(durationMs)
-                .timeout(false)
-                .build();
+            ExecutionResult result = collectResult(jobName, startTime);
+            result.setResourceClass(resourceClass);
+            return result;
                 
         } catch (ApiException e) {
             log.error("Kubernetes API error creating job: code={}, body={}", e.getCode(), e.getResponseBody(), e);
@@ -124,10 +164,177 @@ public class KubernetesCommandRunner implements CommandRunner {
         }
     }
     
+    /**
+     * Fetch logs and exit code of a finished single-command Job.
+     */
+    ExecutionResult collectResult(String jobName, Instant startTime) throws ApiException {
+        return tracer.trace("log_fetch", () -> fetchResult(jobName, startTime));
+    }
+    
+    private ExecutionResult fetchResult(String jobName, Instant startTime) throws ApiException {
+        String podName = findPodForJob(jobName);
+        if (podName == null) {
+            throw new CommandExecutionException("Could not find pod for job: " + jobName);
+        }
+        
+        long maxSpillBytes = commandValidator.getMaxSpillBytes();
+        OutputSpillStore.SpilledOutput spilled = spillEnabled && maxSpillBytes > 0
+            ? spillPodLogs(podName, jobName + "-stdout", maxSpillBytes)
+            : null;
+        String stdout = spilled != null ? spilled.getPreview() : fetchPodLogs(podName, false);
+        String stderr = fetchPodLogs(podName, true);
+        
+        // Get exit code from Pod status
+        V1ContainerStateTerminated terminated = getTerminatedState(podName);
+        int exitCode = terminated != null ? terminated.getExitCode() : -1;
+        
+        long durationMs = Duration.between(startTime, Instant.now()).toMillis();
+        
+        log.info("Job {} completed: exitCode={}, duration={}ms", jobName, exitCode, durationMs);
+        
+        return ExecutionResult.builder()
+            .jobName(jobName)
+            .exitCode(exitCode)
+            .stdout(spilled != null && spilled.getFileId() != null
+                ? stdout + TRUNCATION_MARKER
+                : truncateOutput(stdout, maxStdoutBytes))
+            .stderr(truncateOutput(stderr, maxStderrBytes))
+            .durationMs(durationMs)
+            .timeout(false)
+            .terminationReason(terminated != null ? terminated.getReason() : null)
+            .stdoutFileId(spilled != null ? spilled.getFileId() : null)
+            .stdoutSize(spilled != null && spilled.getFileId() != null ? spilled.getSize() : null)
+            .build();
+    }
+    
+    ExecutionResult timeoutResult(String jobName, long durationMs) {
+        return ExecutionResult.builder()
+            .jobName(jobName)
+            .exitCode(-1)
+            .stdout("")
+            .stderr("Job timeout exceeded")
+            .durationMs(durationMs)
+            .timeout(true)
+            .build();
+    }
+    
+    /**
+     * Run an arbitrary executor command as one Job and return its raw pod log.
+     * 
+     * Used by BatchingCommandRunner to run the in-image batch driver; the
+     * caller is responsible for interpreting the log and truncating output.
+     */
+    JobRun runJob(String jobName, String taskLabel, String execUuid, String resourceClass, String command,
+                  List<String> args, int deadlineSeconds) {
+        Instant startTime = Instant.now();
+        
+        try {
+            JobTemplate template = templateFor(resourceClass);
+            tracer.run("job_create",
+                () -> createJob(template.render(jobName, taskLabel, execUuid, command, args, deadlineSeconds)));
+            log.info("Job created: {} (deadline={}s, resources={})", jobName, deadlineSeconds, resourceClass);
+            
+            if (!tracer.trace("job_wait", () -> waitForJobCompletion(jobName, deadlineSeconds))) {
+                return new JobRun(jobName, false, -1, "", Duration.between(startTime, Instant.now()).toMillis(),
+                    resourceClass, null);
+            }
+            
+            JobRun run = collectRun(jobName, startTime);
+            run.setResourceClass(resourceClass);
+            return run;
+            
+        } catch (ApiException e) {
+            log.error("Kubernetes API error running job {}: code={}, body={}", jobName, e.getCode(), e.getResponseBody(), e);
+            throw new CommandExecutionException("Failed to run Kubernetes job: " + e.getMessage(), e);
+        } catch (CommandExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error running job {}", jobName, e);
+            throw new CommandExecutionException("Kubernetes execution failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Fetch the raw pod log and exit code of a finished Job.
+     */
+    JobRun collectRun(String jobName, Instant startTime) throws ApiException {
+        return tracer.trace("log_fetch", () -> fetchRun(jobName, startTime));
+    }
+    
+    private JobRun fetchRun(String jobName, Instant startTime) throws ApiException {
+        String podName = findPodForJob(jobName);
+        if (podName == null) {
+            throw new CommandExecutionException("Could not find pod for job: " + jobName);
+        }
+        
+        String logs = fetchPodLogs(podName, false);
+        V1ContainerStateTerminated terminated = getTerminatedState(podName);
+        return new JobRun(jobName, true, terminated != null ? terminated.getExitCode() : -1, logs,
+            Duration.between(startTime, Instant.now()).toMillis(), null,
+            terminated != null ? terminated.getReason() : null);
+    }
+    
+    /**
+     * Turn one command's frames from a batched Job into its ExecutionResult.
+     */
+    ExecutionResult batchResult(JobRun run, BatchFrameParser.CommandFrames frames) {
+        if (!frames.isComplete()) {
+            // Job hit its deadline (or the driver died) before this command reported
+            return ExecutionResult.builder()
+                .jobName(run.getJobName())
+                .exitCode(-1)
+                .stdout(truncateOutput(frames.getStdout().toString(), maxStdoutBytes))
+                .stderr(run.isCompleted() ? "No result reported by batch driver" : "Job timeout exceeded")
+                .durationMs(run.getDurationMs())
+                .timeout(!run.isCompleted())
+                .resourceClass(run.getResourceClass())
+                .terminationReason(run.getTerminationReason())
+                .build();
+        }
+        
+        String stdout = truncateOutput(frames.getStdout().toString(), maxStdoutBytes);
+        String stderr = truncateOutput(frames.getStderr().toString(), maxStderrBytes);
+        
+        return ExecutionResult.builder()
+            .jobName(run.getJobName())
+            .exitCode(frames.getExitCode())
+            .stdout(frames.isStdoutTruncated() ? stdout + TRUNCATION_MARKER : stdout)
+            .stderr(frames.isStderrTruncated() ? stderr + TRUNCATION_MARKER : stderr)
+            .durationMs(frames.getDurationMs())
+            .timeout(frames.isTimedOut())
+            .resourceClass(run.getResourceClass())
+            .terminationReason(run.getTerminationReason())
+            .build();
+    }
+    
+    /**
+     * Submit a rendered Job body to the API server.
+     * 
+     * The body is already JSON, so it is posted as-is instead of going
+     * through createNamespacedJob and its Gson serialization.
+     */
+    private void createJob(byte[] body) throws ApiException {
+        gateway.write("create_job", () -> apiClient.execute(apiClient.buildCall(
+            "/apis/batch/v1/namespaces/" + namespace + "/jobs",
+            "POST",
+            List.of(),
+            List.of(),
+            body,
+            Map.of("Content-Type", "application/json", "Accept", "application/json"),
+            Map.of(),
+            Map.of(),
+            new String[] {"BearerToken"},
+            null)));
+    }
+    
     /**
      * Build Kubernetes Job specification with security hardening.
+     * 
+     * Only used to compile the JobTemplates; executions render from a template.
      */
-    private V1Job buildJobSpec(String jobName, String taskId, String execUuid, String command, List<String> args) {
+    V1Job buildJobSpec(String jobName, String taskId, String execUuid, String command, List<String> args,
+                       int deadlineSeconds, String resourceClass,
+                       CommandValidator.CommandPolicy.ResourceClass resources) {
         // Build command as full path
         List<String> containerCommand = List.of("/usr/bin/" + command);
         List<String> containerArgs = args != null ? args : List.of();
@@ -142,22 +349,28 @@ public class KubernetesCommandRunner implements CommandRunner {
                     "app", "kaiburr-exec",
                     "taskId", taskId,
                     "execUuid", execUuid,
+                    "resourceClass", resourceClass,
                     "owner", "aditya-r"
                 )))
             .spec(new V1JobSpec()
                 .ttlSecondsAfterFinished(ttlSeconds)
-                .activeDeadlineSeconds((long) activeDeadlineSeconds)  // Cast to Long
+                .activeDeadlineSeconds((long) deadlineSeconds)  // Cast to Long
                 .backoffLimit(backoffLimit)
                 .template(new V1PodTemplateSpec()
                     .metadata(new V1ObjectMeta()
                         .labels(Map.of(
                             "app", "kaiburr-exec",
                             "taskId", taskId,
-                            "execUuid", execUuid
+                            "execUuid", execUuid,
+                            "resourceClass", resourceClass
                         )))
                     .spec(new V1PodSpec()
                         .restartPolicy("Never")
                         .serviceAccountName("kaiburr-runner")
+                        .priorityClassName(scheduling.getPriorityClassName().isBlank()
+                            ? null : scheduling.getPriorityClassName())
+                        .affinity(buildAffinity())
+                        .tolerations(buildTolerations())
                         .securityContext(new V1PodSecurityContext()
                             .runAsNonRoot(true)
                             .runAsUser(65532L)
@@ -171,14 +384,8 @@ public class KubernetesCommandRunner implements CommandRunner {
                             .command(containerCommand)
                             .args(containerArgs)
                             .resources(new V1ResourceRequirements()
-                                .requests(Map.of(
-                                    "cpu", new Quantity("50m"),
-                                    "memory", new Quantity("64Mi")
-                                ))
-                                .limits(Map.of(
-                                    "cpu", new Quantity("200m"),
-                                    "memory", new Quantity("128Mi")
-                                )))
+                                .requests(toQuantities(resources.getRequests()))
+                                .limits(toQuantities(resources.getLimits())))
                             .securityContext(new V1SecurityContext()
                                 .runAsNonRoot(true)
                                 .runAsUser(65532L)
@@ -190,16 +397,68 @@ public class KubernetesCommandRunner implements CommandRunner {
                                 .seccompProfile(new V1SeccompProfile().type("RuntimeDefault"))))))));
     }
     
+    /**
+     * Node affinity from k8s.scheduling.node-affinity; null when nothing is configured.
+     */
+    private V1Affinity buildAffinity() {
+        ExecutorSchedulingProperties.NodeAffinity config = scheduling.getNodeAffinity();
+        if (config.getRequired().isEmpty() && config.getPreferred().isEmpty()) {
+            return null;
+        }
+        
+        V1NodeAffinity nodeAffinity = new V1NodeAffinity();
+        if (!config.getRequired().isEmpty()) {
+            nodeAffinity.requiredDuringSchedulingIgnoredDuringExecution(new V1NodeSelector()
+                .nodeSelectorTerms(List.of(labelTerm(config.getRequired()))));
+        }
+        if (!config.getPreferred().isEmpty()) {
+            nodeAffinity.preferredDuringSchedulingIgnoredDuringExecution(List.of(new V1PreferredSchedulingTerm()
+                .weight(config.getPreferredWeight())
+                .preference(labelTerm(config.getPreferred()))));
+        }
+        return new V1Affinity().nodeAffinity(nodeAffinity);
+    }
+    
+    private static V1NodeSelectorTerm labelTerm(Map<String, String> labels) {
+        List<V1NodeSelectorRequirement> requirements = new ArrayList<>();
+        labels.forEach((key, value) -> requirements.add(new V1NodeSelectorRequirement()
+            .key(key)
+            .operator("In")
+            .values(List.of(value))));
+        return new V1NodeSelectorTerm().matchExpressions(requirements);
+    }
+    
+    private List<V1Toleration> buildTolerations() {
+        if (scheduling.getTolerations().isEmpty()) {
+            return null;
+        }
+        return scheduling.getTolerations().stream()
+            .map(t -> new V1Toleration()
+                .key(t.getKey())
+                .operator(t.getOperator())
+                .value(t.getValue())
+                .effect(t.getEffect())
+                .tolerationSeconds(t.getTolerationSeconds()))
+            .toList();
+    }
+    
+    private static Map<String, Quantity> toQuantities(Map<String, String> values) {
+        Map<String, Quantity> quantities = new TreeMap<>();
+        if (values != null) {
+            values.forEach((name, value) -> quantities.put(name, new Quantity(value)));
+        }
+        return quantities;
+    }
+    
     /**
      * Wait for Job to complete (success or failure).
      */
-    private boolean waitForJobCompletion(String jobName) throws ApiException, InterruptedException {
-        BatchV1Api batchApi = new BatchV1Api(apiClient);
-        int maxAttempts = 60; // 60 attempts * 1s = 60s max wait (covers activeDeadlineSeconds + buffer)
+    private boolean waitForJobCompletion(String jobName, int deadlineSeconds) throws ApiException, InterruptedException {
+        int maxAttempts = deadlineSeconds + 45; // 1s per attempt: activeDeadlineSeconds + scheduling buffer
         int attempts = 0;
         
         while (attempts < maxAttempts) {
-            V1Job job = batchApi.readNamespacedJobStatus(jobName, namespace, null);
+            V1Job job = gateway.read("read_job_status", () -> batchApi.readNamespacedJobStatus(jobName, namespace, null));
             V1JobStatus status = job.getStatus();
             
             if (status != null) {
@@ -227,12 +486,10 @@ public class KubernetesCommandRunner implements CommandRunner {
      * Find Pod name for a Job using label selectors.
      */
     private String findPodForJob(String jobName) throws ApiException {
-        CoreV1Api coreApi = new CoreV1Api(apiClient);
-        
         // Extract execUuid from job name (format: exec-{taskId}-{uuid})
         String labelSelector = "app=kaiburr-exec";
         
-        V1PodList pods = coreApi.listNamespacedPod(
+        V1PodList pods = gateway.read("list_pods", () -> coreApi.listNamespacedPod(
             namespace,
             null,  // pretty
             null,  // allowWatchBookmarks
@@ -245,7 +502,7 @@ public class KubernetesCommandRunner implements CommandRunner {
             null,  // sendInitialEvents
             null,  // timeoutSeconds
             null   // watch
-        );
+        ));
         
         // Find pod with matching job name prefix
         return pods.getItems().stream()
@@ -265,10 +522,8 @@ public class KubernetesCommandRunner implements CommandRunner {
      * Fetch logs from Pod container.
      */
     private String fetchPodLogs(String podName, boolean previous) throws ApiException {
-        CoreV1Api coreApi = new CoreV1Api(apiClient);
-        
         try {
-            String logs = coreApi.readNamespacedPodLog(
+            String logs = gateway.read("read_pod_log", () -> coreApi.readNamespacedPodLog(
                 podName,
                 namespace,
                 "executor",  // container name
@@ -280,7 +535,7 @@ public class KubernetesCommandRunner implements CommandRunner {
                 null,        // sinceSeconds
                 null,        // tailLines
                 null         // timestamps
-            );
+            ));
             
             return logs != null ? logs : "";
         } catch (ApiException e) {
@@ -293,50 +548,177 @@ public class KubernetesCommandRunner implements CommandRunner {
     }
     
     /**
-     * Get exit code from Pod container status.
+     * Stream the executor's log into GridFS, keeping maxStdoutBytes inline.
+     * 
+     * The log is read from the response body as it arrives; limitBytes has
+     * the API server stop one byte past the cap so truncation is detected.
+     * The body is consumed inside the gateway call, so the stream holds its
+     * concurrency slot, and an error status is thrown there as an
+     * ApiException for the gateway to retry and back off on, as generated
+     * API methods do.
+     */
+    private OutputSpillStore.SpilledOutput spillPodLogs(String podName, String filename, long maxBytes)
+            throws ApiException {
+        int limitBytes = (int) Math.min(maxBytes + 1, Integer.MAX_VALUE);
+        try {
+            return gateway.read("read_pod_log", () -> {
+                try (Response response = coreApi.readNamespacedPodLogCall(podName, namespace, "executor",
+                        null, null, limitBytes, null, false, null, null, null, null).execute()) {
+                    if (!response.isSuccessful() || response.body() == null) {
+                        throw new ApiException(response.code(), response.headers().toMultimap(),
+                            response.body() != null ? response.body().string() : null);
+                    }
+                    return spillStore.spill(filename, response.body().byteStream(), maxStdoutBytes, maxBytes);
+                } catch (IOException e) {
+                    throw new ApiException(e);
+                }
+            });
+        } catch (ApiException e) {
+            if (e.getCode() == 404) {
+                log.warn("Pod {} not found for log fetch", podName);
+                return new OutputSpillStore.SpilledOutput(null, 0, "", false);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Get the terminated state (exit code and reason) from Pod container status.
+     * 
+     * @return The executor container's terminated state, or null if unknown
      */
-    private int getPodExitCode(String podName) throws ApiException {
-        CoreV1Api coreApi = new CoreV1Api(apiClient);
-        V1Pod pod = coreApi.readNamespacedPodStatus(podName, namespace, null);
+    private V1ContainerStateTerminated getTerminatedState(String podName) throws ApiException {
+        V1Pod pod = gateway.read("read_pod_status", () -> coreApi.readNamespacedPodStatus(podName, namespace, null));
+        recordStartupPhases(pod);
         
         if (pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null) {
             for (V1ContainerStatus status : pod.getStatus().getContainerStatuses()) {
                 if ("executor".equals(status.getName()) && status.getState() != null) {
                     V1ContainerStateTerminated terminated = status.getState().getTerminated();
                     if (terminated != null) {
-                        return terminated.getExitCode();
+                        return terminated;
                     }
                 }
             }
         }
         
-        return -1; // Unknown exit code
+        return null; // Unknown exit code
+    }
+    
+    /**
+     * Record where a finished pod spent its time, from its own timestamps:
+     * created to scheduled (scheduling), scheduled to container start
+     * (image pull and container creation), and container start to finish (run).
+     * Kubernetes timestamps have one-second resolution.
+     */
+    void recordStartupPhases(V1Pod pod) {
+        if (pod.getMetadata() == null || pod.getStatus() == null) {
+            return;
+        }
+        
+        OffsetDateTime created = pod.getMetadata().getCreationTimestamp();
+        OffsetDateTime scheduled = null;
+        if (pod.getStatus().getConditions() != null) {
+            for (V1PodCondition condition : pod.getStatus().getConditions()) {
+                if ("PodScheduled".equals(condition.getType()) && "True".equals(condition.getStatus())) {
+                    scheduled = condition.getLastTransitionTime();
+                }
+            }
+        }
+        
+        OffsetDateTime started = null;
+        OffsetDateTime finished = null;
+        if (pod.getStatus().getContainerStatuses() != null) {
+            for (V1ContainerStatus status : pod.getStatus().getContainerStatuses()) {
+                if ("executor".equals(status.getName()) && status.getState() != null
+                        && status.getState().getTerminated() != null) {
+                    started = status.getState().getTerminated().getStartedAt();
+                    finished = status.getState().getTerminated().getFinishedAt();
+                }
+            }
+        }
+        
+        Map<String, String> labels = pod.getMetadata().getLabels();
+        String resourceClass = labels != null ? labels.getOrDefault("resourceClass", "unknown") : "unknown";
+        recordPhase(ExecutionMetrics.PodPhase.SCHEDULING, created, scheduled, resourceClass);
+        recordPhase(ExecutionMetrics.PodPhase.STARTUP, scheduled, started, resourceClass);
+        recordPhase(ExecutionMetrics.PodPhase.RUN, started, finished, resourceClass);
+    }
+    
+    private void recordPhase(ExecutionMetrics.PodPhase phase, OffsetDateTime from, OffsetDateTime to,
+                             String resourceClass) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return;
+        }
+        metrics.recordPodPhase(phase, resourceClass, Duration.between(from, to));
     }
     
     /**
      * Truncate output to max bytes with marker.
      */
-    private String truncateOutput(String output, int maxBytes) {
+    String truncateOutput(String output, int maxBytes) {
         if (output == null) {
             return "";
         }
         
         if (output.length() > maxBytes) {
-            return output.substring(0, maxBytes) + "\n⟂TRUNCATED";
+            return output.substring(0, maxBytes) + TRUNCATION_MARKER;
         }
         
         return output;
     }
     
     /**
-     * Generate unique job name from task ID.
+     * Generate a unique, time-ordered job name from a task ID and the Job's id.
+     * 
+     * The task ID is lowercased, cut to 30 characters and anything outside
+     * [a-z0-9-] becomes '-', so the name stays a DNS-1123 label of at most
+     * 52 characters, leaving room for the pod name suffix.
      */
-    private String generateJobName(String taskId) {
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        String sanitized = taskId.replaceAll("[^a-z0-9-]", "-").toLowerCase();
-        if (sanitized.length() > 30) {
-            sanitized = sanitized.substring(0, 30);
+    String generateJobName(String taskId, UUID id) {
+        int length = Math.min(taskId.length(), 30);
+        char[] sanitized = new char[length];
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(taskId.charAt(i));
+            sanitized[i] = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' ? c : '-';
         }
-        return "exec-" + sanitized + "-" + uuid;
+        return "exec-" + new String(sanitized) + "-" + Ids.shortId(id);
+    }
+    
+    int getMaxStdoutBytes() {
+        return maxStdoutBytes;
+    }
+    
+    int getMaxStderrBytes() {
+        return maxStderrBytes;
+    }
+    
+    int getActiveDeadlineSeconds() {
+        return activeDeadlineSeconds;
+    }
+    
+    /**
+     * A resource class as compiled into a Job template.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class TemplateKey {
+        private final String name;
+        private final CommandValidator.CommandPolicy.ResourceClass resources;
+    }
+    
+    /**
+     * Raw outcome of a single Job run, before any output interpretation.
+     */
+    @Data
+    @AllArgsConstructor
+    static class JobRun {
+        private String jobName;
+        private boolean completed;
+        private int exitCode;
+        private String logs;
+        private long durationMs;
+        private String resourceClass;
+        private String terminationReason;
     }
 }
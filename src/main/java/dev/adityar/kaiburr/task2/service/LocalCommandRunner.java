@@ -1,6 +1,7 @@
 package dev.adityar.kaiburr.task2.service;
 
 import dev.adityar.kaiburr.task2.domain.Task;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Local command runner using fork/exec for development.
@@ -22,11 +24,14 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 @Service
 @Profile("local")
+@RequiredArgsConstructor
 public class LocalCommandRunner implements CommandRunner {
     
     private static final int TIMEOUT_SECONDS = 15;
     private static final int MAX_OUTPUT_BYTES = 131072; // 128 KiB
     
+    private final ExecutionTracer tracer;
+    
     @Override
     public ExecutionResult execute(Task task) {
         long startTime = System.currentTimeMillis();
@@ -44,11 +49,13 @@ public class LocalCommandRunner implements CommandRunner {
             ProcessBuilder pb = new ProcessBuilder(commandList);
             pb.redirectErrorStream(false);
             
-            Process process = pb.start();
+            Process process = tracer.trace("process_start", pb::start);
             
             // Read stdout and stderr
             StringBuilder stdout = new StringBuilder();
             StringBuilder stderr = new StringBuilder();
+            AtomicBoolean stdoutTruncated = new AtomicBoolean();
+            AtomicBoolean stderrTruncated = new AtomicBoolean();
             
             Thread stdoutReader = new Thread(() -> {
                 try (BufferedReader reader = new BufferedReader(
@@ -57,6 +64,8 @@ public class LocalCommandRunner implements CommandRunner {
                     while ((line = reader.readLine()) != null && stdout.length() < MAX_OUTPUT_BYTES) {
                         stdout.append(line).append("\n");
                     }
+                    // Stopped at the cap with a line still unread
+                    stdoutTruncated.set(line != null);
                 } catch (Exception e) {
                     log.error("Error reading stdout", e);
                 }
@@ -69,6 +78,8 @@ public class LocalCommandRunner implements CommandRunner {
                     while ((line = reader.readLine()) != null && stderr.length() < MAX_OUTPUT_BYTES) {
                         stderr.append(line).append("\n");
                     }
+                    // Stopped at the cap with a line still unread
+                    stderrTruncated.set(line != null);
                 } catch (Exception e) {
                     log.error("Error reading stderr", e);
                 }
@@ -78,7 +89,7 @@ public class LocalCommandRunner implements CommandRunner {
             stderrReader.start();
             
             // Wait for completion with timeout
-            boolean completed = process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            boolean completed = tracer.trace("process_run", () -> process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS));
             
             if (!completed) {
                 process.destroyForcibly();
@@ -98,8 +109,16 @@ public class LocalCommandRunner implements CommandRunner {
                     .build();
             }
             
-            stdoutReader.join();
-            stderrReader.join();
+            tracer.run("output_read", () -> {
+                stdoutReader.join();
+                stderrReader.join();
+            });
+            if (stdoutTruncated.get()) {
+                stdout.append(TRUNCATION_MARKER);
+            }
+            if (stderrTruncated.get()) {
+                stderr.append(TRUNCATION_MARKER);
+            }
             
             int exitCode = process.exitValue();
             long duration = System.currentTimeMillis() - startTime;
@@ -0,0 +1,165 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.OutputBlob;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.OutputBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stores execution output once per distinct content.
+ *
+ * Output of at least min-bytes is hashed with SHA-256 and kept in the
+ * output_blobs collection; the execution only records the hash. Repeated
+ * output (uname -a, a fixed script) adds a reference to the existing blob
+ * instead of another copy, so storage grows with distinct outputs rather
+ * than executions. References are released when executions are removed.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutputBlobStore {
+
+    private final OutputBlobRepository blobRepository;
+    private final OutputCompressor outputCompressor;
+    private final ExecutionMetrics metrics;
+
+    @Value("${exec.output.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${exec.output.dedup.min-bytes:64}")
+    private int minBytes;
+
+    /**
+     * Move an execution's output into blobs.
+     *
+     * @return Copy with stdoutRef/stderrRef set in place of the output, or the
+     *         same instance if no stream was large enough
+     */
+    public TaskExecution externalize(TaskExecution execution) {
+        if (!enabled) {
+            return execution;
+        }
+
+        String stdoutRef = store("stdout", execution.getStdout());
+        String stderrRef = store("stderr", execution.getStderr());
+        if (stdoutRef == null && stderrRef == null) {
+            return execution;
+        }
+
+        TaskExecution.TaskExecutionBuilder stored = execution.toBuilder();
+        if (stdoutRef != null) {
+            stored.stdout(null).stdoutDeflated(null).stdoutRef(stdoutRef);
+        }
+        if (stderrRef != null) {
+            stored.stderr(null).stderrDeflated(null).stderrRef(stderrRef);
+        }
+        return stored.build();
+    }
+
+    /**
+     * Fill in stdout/stderr of executions that reference blobs, with one query.
+     */
+    public void resolve(Collection<TaskExecution> executions) {
+        List<String> ids = refs(executions);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<String, OutputBlob> blobs = blobRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(OutputBlob::getId, Function.identity(), (a, b) -> a));
+        for (TaskExecution execution : executions) {
+            if (execution.getStdoutRef() != null) {
+                execution.setStdout(content(blobs, execution.getStdoutRef()));
+            }
+            if (execution.getStderrRef() != null) {
+                execution.setStderr(content(blobs, execution.getStderrRef()));
+            }
+        }
+    }
+
+    /**
+     * Release the blob references held by executions that are being removed.
+     */
+    public void release(Collection<TaskExecution> executions) {
+        List<String> ids = refs(executions);
+        if (!ids.isEmpty()) {
+            blobRepository.release(ids);
+        }
+    }
+
+    /**
+     * @return The blob id, or null if the output stays inline
+     */
+    private String store(String stream, String output) {
+        // Length in chars is a lower bound of the UTF-8 size, enough for the threshold check
+        if (output == null || output.length() < minBytes) {
+            return null;
+        }
+
+        byte[] utf8 = output.getBytes(StandardCharsets.UTF_8);
+        String id = sha256(utf8);
+        if (blobRepository.addReference(id)) {
+            metrics.recordBlob(true);
+            return id;
+        }
+
+        // Only new content pays for compression
+        byte[] deflated = outputCompressor.deflate(stream, output);
+        boolean inserted = blobRepository.acquire(OutputBlob.builder()
+            .id(id)
+            .content(deflated == null ? output : null)
+            .deflated(deflated)
+            .sizeBytes(utf8.length)
+            .createdAt(Instant.now())
+            .build());
+        metrics.recordBlob(!inserted);
+        return id;
+    }
+
+    private static String content(Map<String, OutputBlob> blobs, String id) {
+        OutputBlob blob = blobs.get(id);
+        if (blob == null) {
+            log.warn("Output blob {} is missing", id);
+            return null;
+        }
+        return blob.getContent();
+    }
+
+    private static List<String> refs(Collection<TaskExecution> executions) {
+        List<String> ids = new ArrayList<>();
+        for (TaskExecution execution : executions) {
+            if (execution.getStdoutRef() != null) {
+                ids.add(execution.getStdoutRef());
+            }
+            if (execution.getStderrRef() != null) {
+                ids.add(execution.getStderrRef());
+            }
+        }
+        return ids;
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
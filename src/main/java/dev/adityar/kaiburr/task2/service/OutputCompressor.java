@@ -0,0 +1,71 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.util.OutputDeflater;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compresses execution output before it is stored.
+ *
+ * Output longer than the threshold is deflated into stdoutDeflated /
+ * stderrDeflated. It is kept plain when deflating does not save at least
+ * an eighth, e.g. for random or already-compressed data.
+ *
+ * @author Aditya R
+ */
+@Component
+@RequiredArgsConstructor
+public class OutputCompressor {
+
+    private final ExecutionMetrics metrics;
+
+    @Value("${exec.output.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${exec.output.compression.threshold-bytes:4096}")
+    private int thresholdBytes;
+
+    /**
+     * Storage form of an execution; returns the same instance if nothing was compressed.
+     */
+    public TaskExecution compress(TaskExecution execution) {
+        byte[] stdout = deflate("stdout", execution.getStdout());
+        byte[] stderr = deflate("stderr", execution.getStderr());
+        if (stdout == null && stderr == null) {
+            return execution;
+        }
+
+        TaskExecution.TaskExecutionBuilder stored = execution.toBuilder();
+        if (stdout != null) {
+            stored.stdout(null).stdoutDeflated(stdout);
+        }
+        if (stderr != null) {
+            stored.stderr(null).stderrDeflated(stderr);
+        }
+        return stored.build();
+    }
+
+    /**
+     * Deflate one output stream if compression is enabled and worth it.
+     *
+     * @return The deflated output, or null if it should be stored plain
+     */
+    public byte[] deflate(String stream, String output) {
+        if (!enabled) {
+            return null;
+        }
+        // Length in chars is a lower bound of the UTF-8 size, enough for the threshold check
+        if (output == null || output.length() < thresholdBytes) {
+            return null;
+        }
+        long original = ExecutionMetrics.utf8Length(output);
+        byte[] deflated = OutputDeflater.deflate(output);
+        if (deflated.length > original - original / 8) {
+            return null;
+        }
+        metrics.recordCompression(stream, original, deflated.length);
+        return deflated;
+    }
+}
@@ -0,0 +1,200 @@
+package dev.adityar.kaiburr.task2.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Full execution output kept in GridFS, beyond the inline size limit.
+ *
+ * Output is streamed into GridFS chunk by chunk while it is read from the
+ * pod, so it never sits in heap as a whole; only the inline preview is
+ * buffered. Output that fits in the preview is not written to GridFS. Stored output is served as a Resource whose content length is
+ * known, so it supports HTTP Range requests without loading the file.
+ *
+ * @author Aditya R
+ */
+@Component
+@RequiredArgsConstructor
+public class OutputSpillStore {
+
+    private final GridFsTemplate gridFsTemplate;
+
+    /**
+     * Stream output into GridFS if it does not fit in the inline preview.
+     *
+     * @param filename GridFS filename, e.g. the Job name and stream
+     * @param in Output stream; read to the end or to maxBytes, not closed
+     * @param previewBytes Size of the inline copy
+     * @param maxBytes Largest output stored; anything beyond is dropped
+     * @return The preview and, if the output was longer, the stored file
+     */
+    public SpilledOutput spill(String filename, InputStream in, int previewBytes, long maxBytes) throws IOException {
+        byte[] head = in.readNBytes(previewBytes);
+        int next = in.read();
+        if (next == -1) {
+            return new SpilledOutput(null, head.length, new String(head, StandardCharsets.UTF_8), false);
+        }
+
+        InputStream rest = new SequenceInputStream(
+            new ByteArrayInputStream(head),
+            new SequenceInputStream(new ByteArrayInputStream(new byte[] {(byte) next}), in));
+        CappedInputStream capped = new CappedInputStream(rest, maxBytes);
+        ObjectId id = gridFsTemplate.store(capped, filename, "text/plain; charset=utf-8",
+            new Document("maxBytes", maxBytes));
+        return new SpilledOutput(id.toHexString(), capped.count, preview(head), capped.truncated);
+    }
+
+    /**
+     * Open stored output for reading.
+     *
+     * @return The output, or empty if the file no longer exists
+     */
+    public Optional<Resource> open(String fileId) {
+        GridFSFile file = gridFsTemplate.findOne(byId(fileId));
+        return Optional.ofNullable(file).map(found -> new SpilledResource(gridFsTemplate, found));
+    }
+
+    /**
+     * Delete stored output of removed executions.
+     */
+    public void delete(Collection<String> fileIds) {
+        if (!fileIds.isEmpty()) {
+            gridFsTemplate.delete(Query.query(Criteria.where("_id").in(fileIds.stream().map(ObjectId::new).toList())));
+        }
+    }
+
+    private static Query byId(String fileId) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(fileId)));
+    }
+
+    /**
+     * Result of a spill.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class SpilledOutput {
+        /** GridFS file id; null if the output fit in the preview. */
+        private String fileId;
+        /** Output size in bytes, up to maxBytes. */
+        private long size;
+        /** Leading part of the output, cut on a UTF-8 character boundary. */
+        private String preview;
+        /** Whether the output was longer than maxBytes. */
+        private boolean truncated;
+    }
+
+    /**
+     * Decode a preview, dropping a multi-byte character cut at its end.
+     */
+    static String preview(byte[] head) {
+        int end = head.length;
+        int lead = end - 1;
+        while (lead > 0 && (head[lead] & 0xc0) == 0x80) {
+            lead--;
+        }
+        if (lead >= 0 && (head[lead] & 0x80) != 0) {
+            int first = head[lead] & 0xff;
+            int width = first >= 0xf0 ? 4 : first >= 0xe0 ? 3 : 2;
+            if (end - lead < width) {
+                end = lead;
+            }
+        }
+        return new String(head, 0, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Passes through at most maxBytes and records whether more was available.
+     */
+    private static final class CappedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long count;
+        private boolean truncated;
+
+        CappedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (count >= maxBytes) {
+                // Probe once so output of exactly maxBytes is not reported as truncated
+                if (!truncated && in.read() != -1) {
+                    truncated = true;
+                }
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, maxBytes - count));
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // The caller owns the underlying stream
+        }
+    }
+
+    /**
+     * GridFS file as a Resource that can be opened more than once, so
+     * multi-range requests read each range from a fresh download stream.
+     */
+    private static final class SpilledResource extends AbstractResource {
+
+        private final GridFsTemplate gridFsTemplate;
+        private final GridFSFile file;
+
+        SpilledResource(GridFsTemplate gridFsTemplate, GridFSFile file) {
+            this.gridFsTemplate = gridFsTemplate;
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return gridFsTemplate.getResource(file).getInputStream();
+        }
+
+        @Override
+        public long contentLength() {
+            return file.getLength();
+        }
+
+        @Override
+        public String getFilename() {
+            return file.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return "GridFS file " + file.getObjectId().toHexString();
+        }
+    }
+}
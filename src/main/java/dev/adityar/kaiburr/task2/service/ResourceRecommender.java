@@ -0,0 +1,143 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Recommends a resource class for a task from its past executions.
+ *
+ * Looks at the most recent completed executions that ran with the task's
+ * current class: its own, or for a task without one (auto-sized) the class
+ * its latest execution ran with, so each recommendation builds on the
+ * previous one. Any OOMKilled container, or a high share of timeouts,
+ * moves the task one class up; consistently short runs (p95 well below
+ * the Job deadline) move it one class down. Otherwise the class is kept.
+ *
+ * @author Aditya R
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceRecommender {
+
+    private final CommandValidator commandValidator;
+
+    @Value("${k8s.active-deadline.seconds:15}")
+    private int activeDeadlineSeconds;
+
+    @Value("${k8s.resources.recommendation.window:20}")
+    private int window;
+
+    @Value("${k8s.resources.recommendation.min-samples:5}")
+    private int minSamples;
+
+    @Value("${k8s.resources.recommendation.upsize-timeout-ratio:0.2}")
+    private double upsizeTimeoutRatio;
+
+    @Value("${k8s.resources.recommendation.downsize-duration-ratio:0.25}")
+    private double downsizeDurationRatio;
+
+    /**
+     * Recommend a resource class for a task.
+     */
+    public Recommendation recommend(Task task) {
+        List<String> classes = commandValidator.getResourceClassNames();
+        String current = task.getResourceClass() != null
+            ? task.getResourceClass()
+            : lastUsedClass(task, classes);
+
+        List<TaskExecution> samples = task.getExecutions().stream()
+            .filter(e -> e.getCompletedAt() != null && e.getDurationMs() != null)
+            .filter(e -> current.equals(e.getResourceClass()))
+            .sorted(Comparator.comparing(TaskExecution::getCompletedAt).reversed())
+            .limit(window)
+            .toList();
+
+        long oomKills = samples.stream().filter(e -> "OOMKilled".equals(e.getTerminationReason())).count();
+        long timeouts = samples.stream().filter(e -> e.getStatus() == TaskExecution.ExecutionStatus.TIMEOUT).count();
+        long p95 = percentile95(samples);
+
+        Recommendation.RecommendationBuilder result = Recommendation.builder()
+            .taskId(task.getId())
+            .currentClass(current)
+            .recommendedClass(current)
+            .sampleSize(samples.size())
+            .oomKills(oomKills)
+            .timeouts(timeouts)
+            .p95DurationMs(p95);
+
+        int index = classes.indexOf(current);
+        if (index < 0) {
+            return result.reason("Current class is not defined in the policy").build();
+        }
+
+        if (oomKills > 0 || (!samples.isEmpty() && timeouts >= upsizeTimeoutRatio * samples.size())) {
+            if (index + 1 < classes.size()) {
+                return result.recommendedClass(classes.get(index + 1))
+                    .reason(oomKills > 0 ? "Executions were OOMKilled" : "Frequent timeouts")
+                    .build();
+            }
+            return result.reason("Already the largest class").build();
+        }
+
+        if (samples.size() < minSamples) {
+            return result.reason("Not enough executions with the current class").build();
+        }
+
+        if (index > 0 && p95 <= activeDeadlineSeconds * 1000L * downsizeDurationRatio) {
+            return result.recommendedClass(classes.get(index - 1))
+                .reason("Executions finish well within the deadline")
+                .build();
+        }
+
+        return result.reason("Current class fits").build();
+    }
+
+    /**
+     * Class of the latest completed execution, for auto-sized tasks that
+     * do not name one; the policy default before their first run.
+     */
+    private String lastUsedClass(Task task, List<String> classes) {
+        return task.getExecutions().stream()
+            .filter(e -> e.getCompletedAt() != null && classes.contains(e.getResourceClass()))
+            .max(Comparator.comparing(TaskExecution::getCompletedAt))
+            .map(TaskExecution::getResourceClass)
+            .orElse(commandValidator.getDefaultResourceClass());
+    }
+
+    private static long percentile95(List<TaskExecution> samples) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        long[] durations = samples.stream().mapToLong(TaskExecution::getDurationMs).sorted().toArray();
+        int rank = (int) Math.ceil(0.95 * durations.length) - 1;
+        return durations[Math.max(rank, 0)];
+    }
+
+    /**
+     * Resource class recommendation with the statistics behind it.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recommendation {
+        private String taskId;
+        private String currentClass;
+        private String recommendedClass;
+        private String reason;
+        private int sampleSize;
+        private long oomKills;
+        private long timeouts;
+        private long p95DurationMs;
+    }
+}
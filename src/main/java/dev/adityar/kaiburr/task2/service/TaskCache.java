@@ -0,0 +1,162 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.repo.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of task definitions.
+ *
+ * Entries are tasks without their execution history, loaded with a
+ * projection and evicted least-recently-used beyond max-size. TaskService
+ * invalidates an id on upsert and delete; TaskChangeListener does the same
+ * for writes made by other replicas when change streams are enabled, and
+ * ttl-seconds bounds staleness when they are not. Callers get a copy, so
+ * mutating a returned task never changes the cached one.
+ *
+ * Meters follow Micrometer's cache conventions (cache.gets, cache.puts,
+ * cache.evictions, cache.size) with cache=tasks, plus the
+ * kaiburr.task.cache.load timer for misses.
+ *
+ * @author Aditya R
+ */
+@Component
+public class TaskCache {
+
+    static final String CACHE_NAME = "tasks";
+
+    private final TaskRepository taskRepository;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Bumped on every invalidation, so a load that raced one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Timer loads;
+
+    @Value("${exec.task-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${exec.task-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${exec.task-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public TaskCache(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.hits = gets(meterRegistry, "hit");
+        this.misses = gets(meterRegistry, "miss");
+        this.puts = Counter.builder("cache.puts").tag("cache", CACHE_NAME).register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).register(meterRegistry);
+        this.loads = Timer.builder("kaiburr.task.cache.load")
+            .description("Time to load a task definition on a cache miss")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("cache.size", this, TaskCache::size).tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    /**
+     * Task definition (executions empty) by id.
+     */
+    public Optional<Task> get(String id) {
+        if (!enabled) {
+            return taskRepository.findDefinition(id);
+        }
+
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+        }
+        if (entry != null && now - entry.loadedAt < Duration.ofSeconds(ttlSeconds).toNanos()) {
+            hits.increment();
+            return Optional.of(copy(entry.task));
+        }
+
+        misses.increment();
+        long generation = invalidations.get();
+        Optional<Task> loaded = loads.record(() -> taskRepository.findDefinition(id));
+        loaded.ifPresent(task -> put(id, task, generation, now));
+        return loaded.map(TaskCache::copy);
+    }
+
+    /**
+     * Drop one task, e.g. after it was written.
+     */
+    public void invalidate(String id) {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(id);
+        }
+    }
+
+    /**
+     * Drop every task, e.g. when change events may have been missed.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void put(String id, Task task, long generation, long loadedAt) {
+        synchronized (entries) {
+            if (invalidations.get() != generation) {
+                return;
+            }
+            entries.put(id, new Entry(task, loadedAt));
+            puts.increment();
+            var eldest = entries.keySet().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static Task copy(Task task) {
+        return task.toBuilder()
+            .args(task.getArgs() != null ? new ArrayList<>(task.getArgs()) : new ArrayList<>())
+            .executions(new ArrayList<>())
+            .build();
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+            .tag("cache", CACHE_NAME)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        private final Task task;
+        private final long loadedAt;
+
+        Entry(Task task, long loadedAt) {
+            this.task = task;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
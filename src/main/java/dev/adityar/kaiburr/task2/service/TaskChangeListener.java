@@ -0,0 +1,101 @@
+package dev.adityar.kaiburr.task2.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates TaskCache entries from a change stream on the tasks
+ * collection, so a task written through another replica is not served
+ * stale until its TTL runs out.
+ *
+ * Updates that only touch executions (appends and completions, by far
+ * the most frequent writes) and the version they bump do not change the
+ * definition and are ignored.
+ * Requires a replica set; the cache falls back to its TTL without one.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "exec.task-cache.change-stream", name = "enabled", havingValue = "true")
+public class TaskChangeListener {
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskCache taskCache;
+
+    private MessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        ChangeStreamRequest<Document> request = ChangeStreamRequest.builder(this::onChange)
+            .collection("tasks")
+            .build();
+        container.register(request, Document.class, error -> {
+            log.warn("Task change stream failed; cache relies on its TTL: {}", error.getMessage());
+            taskCache.invalidateAll();
+        });
+        container.start();
+        log.info("Listening for task changes to invalidate the task cache");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null) {
+            return;
+        }
+        if (change.getOperationType() == OperationType.INVALIDATE
+                || change.getOperationType() == OperationType.DROP) {
+            taskCache.invalidateAll();
+            return;
+        }
+        if (change.getDocumentKey() == null || !changesDefinition(change)) {
+            return;
+        }
+        BsonValue id = change.getDocumentKey().get("_id");
+        if (id != null && id.isString()) {
+            taskCache.invalidate(id.asString().getValue());
+        }
+    }
+
+    private static boolean changesDefinition(ChangeStreamDocument<Document> change) {
+        if (change.getOperationType() != OperationType.UPDATE) {
+            return true;
+        }
+        UpdateDescription update = change.getUpdateDescription();
+        if (update == null) {
+            return true;
+        }
+        boolean fieldsChanged = update.getUpdatedFields() != null && update.getUpdatedFields().keySet().stream()
+            .anyMatch(TaskChangeListener::isDefinitionField);
+        boolean fieldsRemoved = update.getRemovedFields() != null && update.getRemovedFields().stream()
+            .anyMatch(TaskChangeListener::isDefinitionField);
+        return fieldsChanged || fieldsRemoved;
+    }
+
+    private static boolean isDefinitionField(String field) {
+        return !field.startsWith("executions") && !field.equals("version") && !field.equals("lastModified");
+    }
+}
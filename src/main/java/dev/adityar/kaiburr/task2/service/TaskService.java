@@ -1,19 +1,32 @@
 package dev.adityar.kaiburr.task2.service;
 
+import dev.adityar.kaiburr.task2.domain.ExecutionDailySummary;
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
 import dev.adityar.kaiburr.task2.domain.Task;
 import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.ExecutionRecordRepository;
+import dev.adityar.kaiburr.task2.repo.ExecutionStatsRepository;
+import dev.adityar.kaiburr.task2.repo.ExecutionSummaryRepository;
 import dev.adityar.kaiburr.task2.repo.TaskRepository;
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.MeterRegistry;
+import dev.adityar.kaiburr.task2.util.Ids;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Task operations including command execution.
@@ -28,12 +41,35 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final CommandRunner commandRunner;
     private final CommandValidator commandValidator;
-    private final MeterRegistry meterRegistry;
+    private final ExecutionMetrics metrics;
+    private final ResourceRecommender resourceRecommender;
+    private final ExecutionTracer tracer;
+    private final OutputCompressor outputCompressor;
+    private final OutputBlobStore outputBlobStore;
+    private final OutputSpillStore outputSpillStore;
+    private final ExecutionSummaryRepository summaryRepository;
+    private final ExecutionRecordRepository executionRecordRepository;
+    private final ExecutionStatsRepository statsRepository;
+    private final TaskCache taskCache;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${k8s.resources.auto-size:false}")
+    private boolean autoSize;
     
     /**
      * Create or update a task with validation.
      */
     public Task upsertTask(Task task) {
+        return upsertTask(task, null);
+    }
+    
+    /**
+     * Create or update a task with validation.
+     * 
+     * @param expectedVersion Version the client last saw (If-Match); null writes unconditionally
+     * @throws PreconditionFailedException If the task does not exist or was written since that version
+     */
+    public Task upsertTask(Task task, Long expectedVersion) {
         // Validate command before saving
         CommandValidator.ValidationResult validation = 
             commandValidator.validate(task.getCommand(), task.getArgs());
@@ -43,97 +79,239 @@ public class TaskService {
             throw new IllegalArgumentException("Command validation failed: " + reasons);
         }
         
+        if (task.getResourceClass() != null && commandValidator.getResourceClass(task.getResourceClass()) == null) {
+            throw new IllegalArgumentException("Unknown resource class: " + task.getResourceClass()
+                + " (available: " + String.join(", ", commandValidator.getResourceClassNames()) + ")");
+        }
+        
         log.info("Upserting task: id={}, command={}", task.getId(), task.getCommand());
-        return taskRepository.save(task);
+        // Saving replaces the document, so the previous executions' output, records and stats go with it
+        Optional<Task> previous = save(task, expectedVersion);
+        taskCache.invalidate(task.getId());
+        previous.ifPresent(existing -> {
+            statsRepository.deleteById(existing.getId());
+            // Only the replaced executions: one appended since the replace keeps its record
+            executionRecordRepository.deleteAllById(existing.getExecutions().stream().map(TaskExecution::getId).toList());
+            releaseOutput(existing.getExecutions());
+        });
+        return task;
     }
     
     /**
-     * Find all tasks.
+     * Insert or replace a task one version past the stored one. The replace is
+     * conditional, so a concurrent write (including an execution update) is
+     * never overwritten with a version it has already used.
+     * 
+     * @return The replaced document, or empty if the task was created
      */
-    public List<Task> findAll() {
-        return taskRepository.findAll();
+    private Optional<Task> save(Task task, Long expectedVersion) {
+        while (true) {
+            Optional<Long> current = task.getId() != null ? taskRepository.findVersion(task.getId()) : Optional.empty();
+            if (expectedVersion != null && !current.equals(Optional.of(expectedVersion))) {
+                throw new PreconditionFailedException("Task " + task.getId() + " is not at version " + expectedVersion);
+            }
+            task.setVersion(current.orElse(0L) + 1);
+            task.setLastModified(Instant.now());
+            
+            if (current.isEmpty()) {
+                try {
+                    taskRepository.insert(task);
+                    return Optional.empty();
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+            Optional<Task> replaced = taskRepository.replaceIfVersion(task, current.get());
+            if (replaced.isPresent()) {
+                return replaced;
+            }
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("Task " + task.getId() + " is not at version " + expectedVersion);
+            }
+        }
+    }
+    
+    /**
+     * Stream all tasks from a cursor; the caller closes the stream.
+     * 
+     * @param includeOutput Resolve execution output stored as shared blobs
+     */
+    public Stream<Task> streamAll(boolean includeOutput) {
+        return resolveOutput(taskRepository.streamAllBy(), includeOutput);
     }
     
     /**
      * Find task by ID.
+     * 
+     * @param includeOutput Resolve execution output stored as shared blobs
      */
-    public Optional<Task> findById(String id) {
-        return taskRepository.findById(id);
+    public Optional<Task> findById(String id, boolean includeOutput) {
+        return taskRepository.findById(id)
+            .map(task -> resolveOutput(List.of(task), includeOutput).get(0));
     }
     
     /**
-     * Search tasks by name substring.
+     * Find a task's definition, without executions, through the task cache.
      */
-    public List<Task> searchByName(String nameSubstring) {
-        return taskRepository.findByNameContaining(nameSubstring);
+    public Optional<Task> findDefinition(String id) {
+        return taskCache.get(id);
     }
     
     /**
-     * Delete task by ID.
+     * Current version of a task, read without loading its executions.
+     */
+    public Optional<Long> findVersion(String id) {
+        return taskRepository.findVersion(id);
+    }
+    
+    /**
+     * Stream tasks whose name contains a substring from a cursor; the caller closes the stream.
+     * 
+     * @param includeOutput Resolve execution output stored as shared blobs
+     */
+    public Stream<Task> streamByName(String nameSubstring, boolean includeOutput) {
+        return resolveOutput(taskRepository.streamByNameContaining(nameSubstring), includeOutput);
+    }
+    
+    /**
+     * Delete task by ID, releasing the output its executions reference.
      */
     public boolean deleteById(String id) {
-        if (taskRepository.existsById(id)) {
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isPresent()) {
             taskRepository.deleteById(id);
+            taskCache.invalidate(id);
+            releaseOutput(task.get().getExecutions());
+            executionRecordRepository.deleteByTaskId(id);
+            statsRepository.deleteById(id);
             log.info("Deleted task: {}", id);
             return true;
         }
         return false;
     }
     
+    /**
+     * Open the full stdout of one execution: the GridFS copy when it was
+     * spilled, otherwise the stored output.
+     * 
+     * @return The output, or empty if the execution does not exist
+     */
+    public Optional<Resource> openStdout(String taskId, String executionId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new TaskNotFoundException("Task not found: " + taskId));
+        return task.getExecutions().stream()
+            .filter(execution -> executionId.equals(execution.getId()))
+            .findFirst()
+            .flatMap(execution -> {
+                if (execution.getStdoutFileId() != null) {
+                    return outputSpillStore.open(execution.getStdoutFileId());
+                }
+                outputBlobStore.resolve(List.of(execution));
+                String stdout = execution.getStdout() != null ? execution.getStdout() : "";
+                return Optional.of(new ByteArrayResource(stdout.getBytes(StandardCharsets.UTF_8)));
+            });
+    }
+    
+    /**
+     * Daily summaries of a task's compacted executions for days in [from, to].
+     */
+    public List<ExecutionDailySummary> findSummaries(String taskId, LocalDate from, LocalDate to) {
+        if (taskCache.get(taskId).isEmpty()) {
+            throw new TaskNotFoundException("Task not found: " + taskId);
+        }
+        return summaryRepository.findByTaskIdAndDayBetweenOrderByDayAsc(taskId, from.toString(), to.toString());
+    }
+    
+    /**
+     * Release the shared blobs and GridFS files held by executions that were removed.
+     */
+    void releaseOutput(List<TaskExecution> executions) {
+        outputBlobStore.release(executions);
+        outputSpillStore.delete(executions.stream()
+            .map(TaskExecution::getStdoutFileId)
+            .filter(Objects::nonNull)
+            .toList());
+    }
+    
+    private List<Task> resolveOutput(List<Task> tasks, boolean includeOutput) {
+        if (includeOutput) {
+            outputBlobStore.resolve(tasks.stream().flatMap(task -> task.getExecutions().stream()).toList());
+        }
+        return tasks;
+    }
+    
+    private Stream<Task> resolveOutput(Stream<Task> tasks, boolean includeOutput) {
+        // One task at a time, so only the current task's output is held
+        return includeOutput ? tasks.map(task -> resolveOutput(List.of(task), true).get(0)) : tasks;
+    }
+    
     /**
      * Execute a task's command and append the execution result.
      */
     public TaskExecution executeTask(String taskId) {
-        Task task = taskRepository.findById(taskId)
+        // The definition is enough unless auto-sizing needs the execution history
+        Task task = tracer.trace("mongo_read", () -> taskCache.get(taskId)
+                .map(definition -> definition.getResourceClass() == null && autoSize
+                    ? taskRepository.findById(taskId).orElse(null)
+                    : definition))
             .orElseThrow(() -> new TaskNotFoundException("Task not found: " + taskId));
         
-        // Validate command again before execution (policy may have changed)
-        CommandValidator.ValidationResult validation = 
-            commandValidator.validate(task.getCommand(), task.getArgs());
+        CommandValidator.ValidationResult validation = tracer.trace("validation", () -> {
+            // Tasks without an explicit class run with the default, or the recommended one when auto-sizing
+            if (task.getResourceClass() == null) {
+                task.setResourceClass(autoSize
+                    ? resourceRecommender.recommend(task).getRecommendedClass()
+                    : commandValidator.getDefaultResourceClass());
+            }
+            // Validate command again before execution (policy may have changed)
+            return commandValidator.validate(task.getCommand(), task.getArgs());
+        });
+        String resourceClass = task.getResourceClass();
         
         if (!validation.isValid()) {
-            incrementCounter("validation_error");
+            metrics.count(resourceClass, ExecutionMetrics.Result.VALIDATION_ERROR);
             String reasons = String.join("; ", validation.getReasons());
             throw new IllegalArgumentException("Command validation failed: " + reasons);
         }
         
         // Execute with timing
-        Timer.Sample sample = Timer.start(meterRegistry);
-        TaskExecution execution = null;
+        Timer.Sample sample = Timer.start();
+        String executionId = Ids.uuid();
+        AtomicReference<TaskExecution> pending = new AtomicReference<>();
         
         try {
             log.info("Executing task: id={}, command={}", taskId, task.getCommand());
             
-            CommandRunner.ExecutionResult result = commandRunner.execute(task);
-            
-            // Build execution record
-            execution = TaskExecution.builder()
-                .id(UUID.randomUUID().toString())
-                .jobName(result.getJobName())
-                .status(result.isTimeout() ? TaskExecution.ExecutionStatus.TIMEOUT : 
-                       (result.getExitCode() == 0 ? TaskExecution.ExecutionStatus.SUCCEEDED : 
-                        TaskExecution.ExecutionStatus.FAILED))
-                .exitCode(result.getExitCode())
-                .stdout(result.getStdout())
-                .stderr(result.getStderr())
-                .durationMs(result.getDurationMs())
-                .startedAt(Instant.now().minusMillis(result.getDurationMs()))
-                .completedAt(Instant.now())
-                .build();
+            // Persist the execution before waiting on its Job so a restart can re-attach to it
+            CommandRunner.ExecutionResult result = commandRunner.execute(task, (jobName, execUuid, batchIndex) -> {
+                TaskExecution submitted = TaskExecution.builder()
+                    .id(executionId)
+                    .jobName(jobName)
+                    .execUuid(execUuid)
+                    .batchIndex(batchIndex)
+                    .resourceClass(resourceClass)
+                    .status(TaskExecution.ExecutionStatus.PENDING)
+                    .startedAt(Instant.now())
+                    .build();
+                if (!tracer.trace("persist_submit", () -> taskRepository.appendExecution(taskId, submitted))) {
+                    throw new TaskNotFoundException("Task not found: " + taskId);
+                }
+                pending.set(submitted);
+            });
             
-            // Append to task
-            task.getExecutions().add(execution);
-            taskRepository.save(task);
+            TaskExecution execution = tracer.trace("persist_result",
+                () -> recordResult(taskId, pending.get(), executionId, result));
             
             // Record metrics
-            sample.stop(meterRegistry.timer("kaiburr.executor.duration"));
+            sample.stop(metrics.executorDuration(resourceClass));
+            metrics.recordOutput(task.getCommand(), execution.getStdout(), execution.getStderr());
             
             if (result.isTimeout()) {
-                incrementCounter("timeout");
+                metrics.count(resourceClass, ExecutionMetrics.Result.TIMEOUT);
             } else if (result.getExitCode() == 0) {
-                incrementCounter("success");
+                metrics.count(resourceClass, ExecutionMetrics.Result.SUCCESS);
             } else {
-                incrementCounter("runtime_error");
+                metrics.count(resourceClass, ExecutionMetrics.Result.RUNTIME_ERROR);
             }
             
             log.info("Execution completed: taskId={}, execId={}, exitCode={}, duration={}ms",
@@ -142,20 +320,129 @@ public class TaskService {
             return execution;
             
         } catch (CommandRunner.CommandExecutionException e) {
-            incrementCounter("runtime_error");
-            sample.stop(meterRegistry.timer("kaiburr.executor.duration"));
+            metrics.count(resourceClass, ExecutionMetrics.Result.RUNTIME_ERROR);
+            sample.stop(metrics.executorDuration(resourceClass));
+            if (pending.get() != null) {
+                TaskExecution failed = pending.get().toBuilder()
+                    .status(TaskExecution.ExecutionStatus.FAILED)
+                    .stderr(e.getMessage())
+                    .completedAt(Instant.now())
+                    .build();
+                completeExecution(taskId, failed);
+            }
             throw e;
         }
     }
     
     /**
-     * Increment execution counter by result type.
+     * Store the final record of an execution.
+     * 
+     * Completes the PENDING record written at submission, or appends a new
+     * record for runners that never reported a Job. Output is stored as a
+     * shared blob when large enough, otherwise inline and compressed when large.
+     * A recorded completion is counted in the task and fleet statistics and
+     * published as an ExecutionCompletedEvent, like every other terminal write.
+     * 
+     * @param taskId Owning task
+     * @param pending PENDING record written at submission, or null
+     * @param executionId Id for the execution record
+     * @param result Runner result
+     * @return The stored execution, with output uncompressed
+     */
+    public TaskExecution recordResult(String taskId, TaskExecution pending, String executionId,
+                                      CommandRunner.ExecutionResult result) {
+        Instant completedAt = Instant.now();
+        TaskExecution execution = TaskExecution.builder()
+            .id(executionId)
+            .jobName(result.getJobName())
+            .execUuid(pending != null ? pending.getExecUuid() : null)
+            .batchIndex(pending != null ? pending.getBatchIndex() : null)
+            .resourceClass(result.getResourceClass() != null || pending == null
+                ? result.getResourceClass()
+                : pending.getResourceClass())
+            .terminationReason(result.getTerminationReason())
+            .status(result.isTimeout() ? TaskExecution.ExecutionStatus.TIMEOUT : 
+                   (result.getExitCode() == 0 ? TaskExecution.ExecutionStatus.SUCCEEDED : 
+                    TaskExecution.ExecutionStatus.FAILED))
+            .exitCode(result.getExitCode())
+            .stdout(result.getStdout())
+            .stderr(result.getStderr())
+            .stdoutFileId(result.getStdoutFileId())
+            .stdoutSize(result.getStdoutSize())
+            .durationMs(result.getDurationMs())
+            .startedAt(pending != null ? pending.getStartedAt() : completedAt.minusMillis(result.getDurationMs()))
+            .completedAt(completedAt)
+            .build();
+        
+        TaskExecution stored = outputCompressor.compress(outputBlobStore.externalize(execution));
+        boolean recorded;
+        if (pending == null) {
+            recorded = taskRepository.appendExecution(taskId, stored);
+            if (recorded) {
+                completed(ExecutionRecord.of(taskId, stored));
+            }
+        } else {
+            recorded = completeExecution(taskId, stored);
+        }
+        if (!recorded) {
+            log.info("Execution {} of task {} was not recorded: task deleted or completed elsewhere", executionId, taskId);
+            releaseOutput(List.of(stored));
+        }
+        return execution;
+    }
+    
+    /**
+     * Replace a PENDING/RUNNING execution with its final record, count it
+     * in the task and fleet statistics and publish it.
+     * 
+     * @return false if the execution is missing or already completed
+     */
+    public boolean completeExecution(String taskId, TaskExecution execution) {
+        if (!taskRepository.completeExecution(taskId, execution)) {
+            return false;
+        }
+        completed(ExecutionRecord.of(taskId, execution));
+        return true;
+    }
+    
+    /**
+     * Move every PENDING/RUNNING execution of a Job to a terminal status,
+     * count each in the statistics and publish it.
+     * 
+     * @return Records of the executions moved
+     */
+    public List<ExecutionRecord> completeStaleExecutions(String jobName, TaskExecution.ExecutionStatus status,
+                                                         String reason, Instant completedAt) {
+        List<ExecutionRecord> moved = taskRepository.completeStaleExecutions(jobName, status, reason, completedAt);
+        moved.forEach(this::completed);
+        return moved;
+    }
+    
+    /**
+     * Every terminal write ends here, so statistics and completion events
+     * see each execution exactly once.
+     */
+    private void completed(ExecutionRecord record) {
+        statsRepository.recordCompletion(record);
+        eventPublisher.publishEvent(new ExecutionCompletedEvent(record));
+    }
+    
+    /**
+     * Recommend a resource class for a task from its execution history.
+     */
+    public ResourceRecommender.Recommendation recommendResources(String taskId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new TaskNotFoundException("Task not found: " + taskId));
+        return resourceRecommender.recommend(task);
+    }
+    
+    /**
+     * Exception for a conditional write whose If-Match no longer holds.
      */
-    private void incrementCounter(String result) {
-        Counter.builder("kaiburr.executions.total")
-            .tag("result", result)
-            .register(meterRegistry)
-            .increment();
+    public static class PreconditionFailedException extends RuntimeException {
+        public PreconditionFailedException(String message) {
+            super(message);
+        }
     }
     
     /**
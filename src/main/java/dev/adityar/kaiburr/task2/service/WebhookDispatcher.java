@@ -0,0 +1,244 @@
+package dev.adityar.kaiburr.task2.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adityar.kaiburr.task2.domain.WebhookOutboxEntry;
+import dev.adityar.kaiburr.task2.domain.WebhookSubscription;
+import dev.adityar.kaiburr.task2.repo.WebhookOutboxRepository;
+import dev.adityar.kaiburr.task2.repo.WebhookSubscriptionRepository;
+import dev.adityar.kaiburr.task2.util.Ids;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued execution completions to webhook subscribers.
+ *
+ * Each run claims the due outbox entries, groups them by subscription and
+ * POSTs up to batchSize completions per request as
+ * {"subscriptionId": ..., "executions": [...]}. A 2xx response deletes the
+ * delivered entries. Any other outcome reschedules them with exponential
+ * backoff, starting at backoff-initial-ms and capped at backoff-max-ms.
+ * After max-attempts they are dropped. The remaining batches of a failing
+ * subscription wait for its next attempt instead of being sent one by one.
+ *
+ * Delivery is at least once: a crash after a POST but before the delete
+ * resends those completions when the claim lease ends. Receivers can
+ * deduplicate on the execution id.
+ *
+ * @author Aditya R
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "exec.webhooks", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WebhookDispatcher {
+
+    static final String SIGNATURE_HEADER = "X-Kaiburr-Signature";
+
+    private final WebhookOutboxRepository outboxRepository;
+    private final WebhookSubscriptionRepository subscriptionRepository;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter dropped;
+
+    @Value("${exec.webhooks.batch-size:100}")
+    private int batchSize;
+
+    @Value("${exec.webhooks.claim-limit:1000}")
+    private int claimLimit;
+
+    @Value("${exec.webhooks.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${exec.webhooks.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${exec.webhooks.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    @Value("${exec.webhooks.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${exec.webhooks.lease-seconds:60}")
+    private long leaseSeconds;
+
+    public WebhookDispatcher(WebhookOutboxRepository outboxRepository,
+                             WebhookSubscriptionRepository subscriptionRepository,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.delivered = deliveries(meterRegistry, "delivered");
+        this.failed = deliveries(meterRegistry, "failed");
+        this.dropped = deliveries(meterRegistry, "dropped");
+    }
+
+    @Scheduled(initialDelayString = "${exec.webhooks.initial-delay-ms:10000}",
+               fixedDelayString = "${exec.webhooks.interval-ms:1000}")
+    public void scheduledDispatch() {
+        try {
+            dispatch(Instant.now());
+        } catch (DataAccessException e) {
+            log.warn("Webhook dispatch run aborted: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Run one delivery pass.
+     *
+     * @return Number of completions delivered
+     */
+    int dispatch(Instant now) {
+        String claim = Ids.uuid();
+        List<WebhookOutboxEntry> entries = outboxRepository.claimDue(
+            now, claim, now.plusSeconds(leaseSeconds), claimLimit);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<WebhookOutboxEntry>> bySubscription = entries.stream()
+            .collect(Collectors.groupingBy(WebhookOutboxEntry::getSubscriptionId, LinkedHashMap::new, Collectors.toList()));
+        Map<String, WebhookSubscription> subscriptions = subscriptionRepository.findAllById(bySubscription.keySet())
+            .stream()
+            .collect(Collectors.toMap(WebhookSubscription::getId, Function.identity()));
+
+        int sent = 0;
+        for (Map.Entry<String, List<WebhookOutboxEntry>> group : bySubscription.entrySet()) {
+            WebhookSubscription subscription = subscriptions.get(group.getKey());
+            if (subscription == null) {
+                // Unsubscribed after these were queued
+                outboxRepository.deleteAllById(ids(group.getValue()));
+                continue;
+            }
+            sent += deliver(subscription, group.getValue(), now);
+        }
+        return sent;
+    }
+
+    private int deliver(WebhookSubscription subscription, List<WebhookOutboxEntry> entries, Instant now) {
+        int sent = 0;
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<WebhookOutboxEntry> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            String error = post(subscription, batch);
+            if (error != null) {
+                log.debug("Webhook {} delivery failed: {}", subscription.getId(), error);
+                retry(entries.subList(from, entries.size()), now, error);
+                break;
+            }
+            outboxRepository.deleteAllById(ids(batch));
+            delivered.increment(batch.size());
+            sent += batch.size();
+        }
+        return sent;
+    }
+
+    /**
+     * POST one batch.
+     *
+     * @return null if the subscriber acknowledged it, otherwise the failure
+     */
+    private String post(WebhookSubscription subscription, List<WebhookOutboxEntry> batch) {
+        try {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("subscriptionId", subscription.getId());
+            payload.put("executions", batch.stream().map(WebhookOutboxEntry::getExecution).toList());
+            byte[] body = objectMapper.writeValueAsBytes(payload);
+
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(subscription.getUrl()))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+            if (subscription.getSecret() != null) {
+                request.header(SIGNATURE_HEADER, "sha256=" + sign(subscription.getSecret(), body));
+            }
+
+            int status = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300 ? null : "HTTP " + status;
+        } catch (JsonProcessingException e) {
+            return "Unserializable payload: " + e.getMessage();
+        } catch (IOException | IllegalArgumentException e) {
+            return e.toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted";
+        }
+    }
+
+    private void retry(List<WebhookOutboxEntry> entries, Instant now, String error) {
+        Map<Integer, List<WebhookOutboxEntry>> byAttempts = entries.stream()
+            .collect(Collectors.groupingBy(entry -> entry.getAttempts() + 1));
+        byAttempts.forEach((attempt, group) -> {
+            if (attempt >= maxAttempts) {
+                outboxRepository.deleteAllById(ids(group));
+                dropped.increment(group.size());
+                log.warn("Dropped {} webhook deliveries to subscription {} after {} attempts: {}",
+                    group.size(), group.get(0).getSubscriptionId(), attempt, error);
+            } else {
+                outboxRepository.reschedule(ids(group),
+                    now.plusMillis(backoff(attempt, backoffInitialMs, backoffMaxMs)), error);
+                failed.increment(group.size());
+            }
+        });
+    }
+
+    /**
+     * Delay before attempt number attempt + 1: initialMs doubled per failed attempt, capped at maxMs.
+     */
+    static long backoff(int attempt, long initialMs, long maxMs) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 30);
+        return Math.min(initialMs << doublings, maxMs);
+    }
+
+    /**
+     * Lowercase hex HMAC-SHA256 of a body.
+     */
+    static String sign(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static List<String> ids(List<WebhookOutboxEntry> entries) {
+        return entries.stream().map(WebhookOutboxEntry::getId).toList();
+    }
+
+    private static Counter deliveries(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("kaiburr.webhook.deliveries")
+            .description("Execution completions handled by webhook delivery")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
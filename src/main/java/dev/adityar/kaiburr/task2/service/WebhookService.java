@@ -0,0 +1,118 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.WebhookOutboxEntry;
+import dev.adityar.kaiburr.task2.domain.WebhookSubscription;
+import dev.adityar.kaiburr.task2.repo.WebhookOutboxRepository;
+import dev.adityar.kaiburr.task2.repo.WebhookSubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Webhook subscriptions and the outbox they are fed through.
+ * 
+ * Every ExecutionCompletedEvent is written to the outbox once per
+ * matching subscription; WebhookDispatcher delivers it from there. The
+ * outbox is bounded by exec.webhooks.max-queue: completions beyond it are
+ * counted and dropped rather than letting an unreachable endpoint grow
+ * the collection without limit.
+ * 
+ * @author Aditya R
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookService {
+    
+    private final WebhookSubscriptionRepository subscriptionRepository;
+    private final WebhookOutboxRepository outboxRepository;
+    private final TaskCache taskCache;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${exec.webhooks.max-queue:100000}")
+    private long maxQueue;
+    
+    /**
+     * Subscribe a URL to one task's completions, or to all when taskId is null.
+     */
+    public WebhookSubscription subscribe(String url, String taskId, String secret) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid webhook URL: " + url);
+        }
+        if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme()) || uri.getHost() == null) {
+            throw new IllegalArgumentException("Webhook URL must be an absolute http(s) URL: " + url);
+        }
+        if (taskId != null && taskCache.get(taskId).isEmpty()) {
+            throw new TaskService.TaskNotFoundException("Task not found: " + taskId);
+        }
+        
+        WebhookSubscription subscription = subscriptionRepository.save(WebhookSubscription.builder()
+            .url(url)
+            .taskId(taskId)
+            .secret(secret)
+            .createdAt(Instant.now())
+            .build());
+        log.info("Added webhook {} for {}", subscription.getId(), taskId != null ? "task " + taskId : "all tasks");
+        return subscription;
+    }
+    
+    public List<WebhookSubscription> findAll() {
+        return subscriptionRepository.findAll();
+    }
+    
+    /**
+     * Remove a subscription and its undelivered completions.
+     */
+    public boolean unsubscribe(String id) {
+        if (!subscriptionRepository.existsById(id)) {
+            return false;
+        }
+        subscriptionRepository.deleteById(id);
+        outboxRepository.deleteBySubscriptionId(id);
+        return true;
+    }
+    
+    @EventListener
+    public void onCompleted(ExecutionCompletedEvent event) {
+        try {
+            enqueue(event);
+        } catch (DataAccessException e) {
+            // The completion itself is already stored; only its notification is lost
+            meterRegistry.counter("kaiburr.webhook.deliveries", "result", "dropped").increment();
+            log.warn("Could not queue webhooks for execution {}: {}", event.getExecution().getId(), e.getMessage());
+        }
+    }
+    
+    private void enqueue(ExecutionCompletedEvent event) {
+        List<WebhookSubscription> subscriptions = subscriptionRepository.findMatching(event.getExecution().getTaskId());
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        if (outboxRepository.estimatedSize() >= maxQueue) {
+            meterRegistry.counter("kaiburr.webhook.deliveries", "result", "dropped").increment(subscriptions.size());
+            log.warn("Webhook outbox full; dropped completion of execution {}", event.getExecution().getId());
+            return;
+        }
+        
+        Instant now = Instant.now();
+        outboxRepository.insert(subscriptions.stream()
+            .map(subscription -> WebhookOutboxEntry.builder()
+                .subscriptionId(subscription.getId())
+                .execution(event.getExecution())
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build())
+            .toList());
+    }
+}
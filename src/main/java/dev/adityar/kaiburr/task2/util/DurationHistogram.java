@@ -0,0 +1,82 @@
+package dev.adityar.kaiburr.task2.util;
+
+import java.util.Map;
+
+/**
+ * Log-linear histogram buckets for durations in milliseconds.
+ *
+ * Each power of two is split into 8 linear sub-buckets, so a bucket's
+ * bounds are within 12.5% of any value in it; durations up to a day need
+ * under 200 buckets. Buckets are plain counts keyed by index, so
+ * histograms merge by adding counts, e.g. with $inc on "buckets.{index}"
+ * in a Mongo document.
+ *
+ * @author Aditya R
+ */
+public final class DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private DurationHistogram() {
+    }
+
+    /**
+     * Bucket index of a duration; negative durations count as zero.
+     */
+    public static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(value, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Smallest duration in a bucket.
+     */
+    public static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Largest duration in a bucket.
+     */
+    public static long upperBound(int bucket) {
+        return lowerBound(bucket + 1) - 1;
+    }
+
+    /**
+     * Estimate a quantile as the midpoint of the bucket holding it.
+     *
+     * @param buckets Counts keyed by bucket index (as a string, the form stored in Mongo)
+     * @param quantile Quantile in [0, 1]
+     * @return The estimate, or null if the histogram is empty
+     */
+    public static Long quantile(Map<String, Long> buckets, double quantile) {
+        if (buckets == null || buckets.isEmpty()) {
+            return null;
+        }
+        long total = buckets.values().stream().mapToLong(Long::longValue).sum();
+        if (total <= 0) {
+            return null;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        int[] indexes = buckets.keySet().stream().mapToInt(Integer::parseInt).sorted().toArray();
+        for (int index : indexes) {
+            seen += buckets.get(String.valueOf(index));
+            if (seen >= rank) {
+                return (lowerBound(index) + upperBound(index)) / 2;
+            }
+        }
+        return upperBound(indexes[indexes.length - 1]);
+    }
+}
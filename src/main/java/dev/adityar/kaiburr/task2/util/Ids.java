@@ -0,0 +1,95 @@
+package dev.adityar.kaiburr.task2.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered identifiers for executions, Jobs and correlation IDs.
+ *
+ * IDs are UUIDv7 (RFC 9562): a 48-bit Unix millisecond timestamp, a 12-bit
+ * counter and 62 random bits. Each thread keeps its own timestamp and
+ * counter, so IDs from one thread are strictly increasing (the counter
+ * carries into the timestamp when it runs out within a millisecond, and a
+ * clock that steps back is ignored), and IDs from different threads are
+ * ordered to the millisecond. Random bits come from ThreadLocalRandom,
+ * with no shared lock and no SecureRandom, so the IDs are unique but not
+ * unguessable and must not be used as secrets.
+ *
+ * Their string form sorts by creation time, which keeps inserts into
+ * indexes on these IDs close to the right-hand end of the index.
+ *
+ * @author Aditya R
+ */
+public final class Ids {
+
+    /**
+     * Length of {@link #shortId(UUID)}.
+     */
+    public static final int SHORT_ID_LENGTH = 16;
+
+    private static final char[] BASE32 = "0123456789abcdefghijklmnopqrstuv".toCharArray();
+    private static final int COUNTER_BITS = 12;
+    private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private Ids() {
+    }
+
+    /**
+     * A new UUIDv7 in its canonical string form.
+     */
+    public static String uuid() {
+        return next().toString();
+    }
+
+    /**
+     * A new UUIDv7.
+     */
+    public static UUID next() {
+        State state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        if (now > state.millis) {
+            state.millis = now;
+            // Start low in the counter range, leaving room to count up within the millisecond
+            state.counter = random.nextInt(COUNTER_MAX >> 1);
+        } else if (++state.counter > COUNTER_MAX) {
+            state.millis++;
+            state.counter = 0;
+        }
+        long msb = state.millis << 16 | 0x7000L | state.counter;
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Unix millisecond timestamp of a UUIDv7.
+     */
+    public static long timestamp(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    /**
+     * A 16-character form of a UUIDv7 for names that must be DNS-1123
+     * labels: its timestamp followed by its low 32 random bits, in
+     * lowercase base32 (0-9, a-v). Sorts by time like the UUID.
+     */
+    public static String shortId(UUID id) {
+        char[] chars = new char[SHORT_ID_LENGTH];
+        // 48-bit timestamp and 32 bits of the random part: 80 bits, 5 per character
+        long high = timestamp(id);
+        long low = id.getLeastSignificantBits() & 0xFFFFFFFFL;
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = BASE32[(int) (low & 31)];
+            low = (low >>> 5) | ((high & 31) << 27);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static final class State {
+        private long millis;
+        private int counter;
+    }
+}
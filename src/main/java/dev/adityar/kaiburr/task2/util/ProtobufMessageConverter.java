@@ -0,0 +1,359 @@
+package dev.adityar.kaiburr.task2.util;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import dev.adityar.kaiburr.task2.domain.RetentionPolicy;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.dto.*;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes the API DTOs as protobuf (application/x-protobuf).
+ *
+ * The wire format is the one described by src/main/proto/kaiburr/task2/v1/tasks.proto,
+ * encoded field by field with protobuf-java's coded streams, so the same
+ * DTOs serve JSON and protobuf clients and no generated classes are needed.
+ * Null fields are not written; unknown fields are skipped when reading.
+ *
+ * @author Aditya R
+ */
+public class ProtobufMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType PROTOBUF = MediaType.parseMediaType(PROTOBUF_VALUE);
+
+    private static final Set<Class<?>> READABLE = Set.of(
+        TaskRequest.class, BulkExecutionRequest.class, TaskExecutionResponse.class, BulkExecutionResponse.class);
+
+    private static final Set<Class<?>> WRITABLE = Set.of(
+        TaskRequest.class, BulkExecutionRequest.class, TaskExecutionResponse.class, BulkExecutionResponse.class,
+        TaskResponse.class, ErrorResponse.class);
+
+    public ProtobufMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return WRITABLE.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return READABLE.contains(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage) throws IOException {
+        try {
+            return read(clazz, CodedInputStream.newInstance(inputMessage.getBody()));
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf message: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object message, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        write(message, outputMessage.getBody());
+    }
+
+    /**
+     * Encode a message.
+     */
+    public static byte[] toByteArray(Object message) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try {
+            write(message, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Encode a message preceded by its varint length, one frame of a streamed response.
+     */
+    public static byte[] toDelimitedByteArray(Object message) {
+        byte[] body = toByteArray(message);
+        byte[] frame = new byte[CodedOutputStream.computeUInt32SizeNoTag(body.length) + body.length];
+        CodedOutputStream out = CodedOutputStream.newInstance(frame);
+        try {
+            out.writeUInt32NoTag(body.length);
+            out.writeRawBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return frame;
+    }
+
+    /**
+     * Decode a message of one of the readable types.
+     */
+    public static <T> T parse(Class<T> clazz, byte[] bytes) throws IOException {
+        return clazz.cast(read(clazz, CodedInputStream.newInstance(bytes)));
+    }
+
+    private static void write(Object message, OutputStream stream) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(stream);
+        if (message instanceof TaskRequest request) {
+            writeTaskRequest(request, out);
+        } else if (message instanceof TaskResponse response) {
+            writeTaskResponse(response, out);
+        } else if (message instanceof TaskExecutionResponse execution) {
+            writeExecution(execution, out);
+        } else if (message instanceof BulkExecutionRequest request) {
+            writeStrings(out, 1, request.getTaskIds());
+        } else if (message instanceof BulkExecutionResponse response) {
+            if (response.getExecutions() != null) {
+                for (TaskExecutionResponse execution : response.getExecutions()) {
+                    out.writeByteArray(1, toByteArray(execution));
+                }
+            }
+        } else if (message instanceof ErrorResponse error) {
+            writeTimestamp(out, 1, error.getTimestamp());
+            out.writeInt32(2, error.getStatus());
+            writeString(out, 3, error.getError());
+            writeString(out, 4, error.getMessage());
+            writeString(out, 5, error.getPath());
+            writeString(out, 6, error.getCorrelationId());
+        } else {
+            throw new IllegalArgumentException("No protobuf mapping for " + message.getClass().getName());
+        }
+        out.flush();
+    }
+
+    private static void writeTaskRequest(TaskRequest request, CodedOutputStream out) throws IOException {
+        writeString(out, 1, request.getId());
+        writeString(out, 2, request.getName());
+        writeString(out, 3, request.getCommand());
+        writeStrings(out, 4, request.getArgs());
+        writeString(out, 5, request.getAssignee());
+        writeString(out, 6, request.getResourceClass());
+        writeRetention(out, 7, request.getRetention());
+    }
+
+    private static void writeTaskResponse(TaskResponse response, CodedOutputStream out) throws IOException {
+        writeString(out, 1, response.getId());
+        writeString(out, 2, response.getName());
+        writeString(out, 3, response.getCommand());
+        writeStrings(out, 4, response.getArgs());
+        writeString(out, 5, response.getAssignee());
+        writeString(out, 6, response.getResourceClass());
+        writeRetention(out, 7, response.getRetention());
+        if (response.getExecutions() != null) {
+            for (TaskExecution execution : response.getExecutions()) {
+                out.writeByteArray(8, toByteArray(TaskExecutionResponse.of(response.getId(), execution)));
+            }
+        }
+        if (response.getVersion() != null) {
+            out.writeInt64(9, response.getVersion());
+        }
+        writeTimestamp(out, 10, response.getLastModified());
+    }
+
+    private static void writeExecution(TaskExecutionResponse execution, CodedOutputStream out) throws IOException {
+        writeString(out, 1, execution.getTaskId());
+        writeString(out, 2, execution.getExecutionId());
+        writeString(out, 3, execution.getJobName());
+        writeString(out, 4, execution.getStatus());
+        if (execution.getExitCode() != null) {
+            out.writeInt32(5, execution.getExitCode());
+        }
+        writeString(out, 6, execution.getStdout());
+        writeString(out, 7, execution.getStderr());
+        if (execution.getDurationMs() != null) {
+            out.writeInt64(8, execution.getDurationMs());
+        }
+        writeTimestamp(out, 9, execution.getStartedAt());
+        writeTimestamp(out, 10, execution.getCompletedAt());
+        writeString(out, 11, execution.getError());
+    }
+
+    private static void writeRetention(CodedOutputStream out, int field, RetentionPolicy retention) throws IOException {
+        if (retention == null) {
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(16);
+        CodedOutputStream nested = CodedOutputStream.newInstance(buffer);
+        writeInt32(nested, 1, retention.getKeepLast());
+        writeInt32(nested, 2, retention.getMaxAgeDays());
+        writeInt32(nested, 3, retention.getFailureMaxAgeDays());
+        nested.flush();
+        out.writeByteArray(field, buffer.toByteArray());
+    }
+
+    private static void writeTimestamp(CodedOutputStream out, int field, Instant instant) throws IOException {
+        if (instant == null) {
+            return;
+        }
+        // google.protobuf.Timestamp: seconds = 1, nanos = 2
+        int size = CodedOutputStream.computeInt64Size(1, instant.getEpochSecond())
+            + (instant.getNano() != 0 ? CodedOutputStream.computeInt32Size(2, instant.getNano()) : 0);
+        out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(size);
+        out.writeInt64(1, instant.getEpochSecond());
+        if (instant.getNano() != 0) {
+            out.writeInt32(2, instant.getNano());
+        }
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static void writeStrings(CodedOutputStream out, int field, List<String> values) throws IOException {
+        if (values != null) {
+            for (String value : values) {
+                out.writeString(field, value);
+            }
+        }
+    }
+
+    private static void writeInt32(CodedOutputStream out, int field, Integer value) throws IOException {
+        if (value != null) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    private static Object read(Class<?> clazz, CodedInputStream in) throws IOException {
+        if (clazz == TaskRequest.class) {
+            return readTaskRequest(in);
+        } else if (clazz == TaskExecutionResponse.class) {
+            return readExecution(in);
+        } else if (clazz == BulkExecutionRequest.class) {
+            List<String> taskIds = new ArrayList<>();
+            for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+                if (is(tag, 1, WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+                    taskIds.add(in.readStringRequireUtf8());
+                } else {
+                    in.skipField(tag);
+                }
+            }
+            return new BulkExecutionRequest(taskIds);
+        } else if (clazz == BulkExecutionResponse.class) {
+            List<TaskExecutionResponse> executions = new ArrayList<>();
+            for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+                if (is(tag, 1, WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    executions.add(readExecution(in));
+                    in.popLimit(limit);
+                } else {
+                    in.skipField(tag);
+                }
+            }
+            return new BulkExecutionResponse(executions);
+        }
+        throw new IllegalArgumentException("No protobuf mapping for " + clazz.getName());
+    }
+
+    private static TaskRequest readTaskRequest(CodedInputStream in) throws IOException {
+        TaskRequest request = new TaskRequest();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            if (WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                in.skipField(tag);
+                continue;
+            }
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> request.setId(in.readStringRequireUtf8());
+                case 2 -> request.setName(in.readStringRequireUtf8());
+                case 3 -> request.setCommand(in.readStringRequireUtf8());
+                case 4 -> {
+                    if (request.getArgs() == null) {
+                        request.setArgs(new ArrayList<>());
+                    }
+                    request.getArgs().add(in.readStringRequireUtf8());
+                }
+                case 5 -> request.setAssignee(in.readStringRequireUtf8());
+                case 6 -> request.setResourceClass(in.readStringRequireUtf8());
+                case 7 -> request.setRetention(readRetention(in));
+                default -> in.skipField(tag);
+            }
+        }
+        return request;
+    }
+
+    private static RetentionPolicy readRetention(CodedInputStream in) throws IOException {
+        RetentionPolicy retention = new RetentionPolicy();
+        int limit = in.pushLimit(in.readRawVarint32());
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            if (WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_VARINT) {
+                in.skipField(tag);
+                continue;
+            }
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> retention.setKeepLast(in.readInt32());
+                case 2 -> retention.setMaxAgeDays(in.readInt32());
+                case 3 -> retention.setFailureMaxAgeDays(in.readInt32());
+                default -> in.skipField(tag);
+            }
+        }
+        in.popLimit(limit);
+        return retention;
+    }
+
+    private static TaskExecutionResponse readExecution(CodedInputStream in) throws IOException {
+        TaskExecutionResponse execution = new TaskExecutionResponse();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            int field = WireFormat.getTagFieldNumber(tag);
+            boolean varint = WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_VARINT;
+            if (varint != (field == 5 || field == 8)) {
+                in.skipField(tag);
+                continue;
+            }
+            switch (field) {
+                case 1 -> execution.setTaskId(in.readStringRequireUtf8());
+                case 2 -> execution.setExecutionId(in.readStringRequireUtf8());
+                case 3 -> execution.setJobName(in.readStringRequireUtf8());
+                case 4 -> execution.setStatus(in.readStringRequireUtf8());
+                case 5 -> execution.setExitCode(in.readInt32());
+                case 6 -> execution.setStdout(in.readStringRequireUtf8());
+                case 7 -> execution.setStderr(in.readStringRequireUtf8());
+                case 8 -> execution.setDurationMs(in.readInt64());
+                case 9 -> execution.setStartedAt(readTimestamp(in));
+                case 10 -> execution.setCompletedAt(readTimestamp(in));
+                case 11 -> execution.setError(in.readStringRequireUtf8());
+                default -> in.skipField(tag);
+            }
+        }
+        return execution;
+    }
+
+    private static Instant readTimestamp(CodedInputStream in) throws IOException {
+        long seconds = 0;
+        int nanos = 0;
+        int limit = in.pushLimit(in.readRawVarint32());
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            if (is(tag, 1, WireFormat.WIRETYPE_VARINT)) {
+                seconds = in.readInt64();
+            } else if (is(tag, 2, WireFormat.WIRETYPE_VARINT)) {
+                nanos = in.readInt32();
+            } else {
+                in.skipField(tag);
+            }
+        }
+        in.popLimit(limit);
+        return Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    private static boolean is(int tag, int field, int wireType) {
+        return tag == (field << 3 | wireType);
+    }
+}
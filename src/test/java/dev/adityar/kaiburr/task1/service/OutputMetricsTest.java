@@ -0,0 +1,67 @@
+package dev.adityar.kaiburr.task1.service;
+
+import dev.adityar.kaiburr.task1.domain.TaskExecution;
+import dev.adityar.kaiburr.task1.util.SafeProcessIO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for OutputMetrics
+ * Author: Aditya R.
+ */
+@DisplayName("OutputMetrics Tests")
+class OutputMetricsTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private OutputMetrics outputMetrics;
+    
+    @BeforeEach
+    void setUp() {
+        CommandValidator.Allowlist allowlist = new CommandValidator.Allowlist();
+        allowlist.setBinaries(List.of("echo", "date"));
+        CommandValidator.SecurityPolicy policy = new CommandValidator.SecurityPolicy();
+        policy.setAllowlist(allowlist);
+        CommandValidator validator = mock(CommandValidator.class);
+        when(validator.getPolicy()).thenReturn(policy);
+        
+        meterRegistry = new SimpleMeterRegistry();
+        outputMetrics = new OutputMetrics(meterRegistry, validator);
+        outputMetrics.preRegister();
+    }
+    
+    @Test
+    @DisplayName("Should record output size and truncation by binary")
+    void shouldRecordOutputByBinary() {
+        outputMetrics.record("echo hello", TaskExecution.builder()
+                .stdout("hello\n")
+                .stderr("x" + SafeProcessIO.TRUNCATION_MARKER)
+                .build());
+        
+        assertThat(meterRegistry.get("kaiburr.execution.output.bytes")
+                .tags("binary", "echo", "stream", "stdout").summary().totalAmount()).isEqualTo(6.0);
+        assertThat(meterRegistry.get("kaiburr.execution.output.truncated")
+                .tags("binary", "echo", "stream", "stderr").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("kaiburr.execution.output.truncated")
+                .tags("binary", "echo", "stream", "stdout").counter().count()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should tag binaries off the allowlist as other")
+    void shouldBoundBinaryTag() {
+        outputMetrics.record("/tmp/evil-123 --flag", TaskExecution.builder().stdout("out").build());
+        
+        assertThat(outputMetrics.binaryTag("date")).isEqualTo("date");
+        assertThat(meterRegistry.get("kaiburr.execution.output.bytes")
+                .tags("binary", "other", "stream", "stdout").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("kaiburr.execution.output.bytes").tag("binary", "/tmp/evil-123").summary())
+                .isNull();
+    }
+}
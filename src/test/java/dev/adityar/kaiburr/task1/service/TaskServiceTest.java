@@ -50,6 +50,9 @@ class TaskServiceTest {
     @Mock
     private ObjectMapper objectMapper;
     
+    @Mock
+    private OutputMetrics outputMetrics;
+    
     @InjectMocks
     private TaskService taskService;
     
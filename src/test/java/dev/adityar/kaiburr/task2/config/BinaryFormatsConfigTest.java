@@ -0,0 +1,60 @@
+package dev.adityar.kaiburr.task2.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.adityar.kaiburr.task2.dto.TaskExecutionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+/**
+ * Unit tests for BinaryFormatsConfig.
+ *
+ * The CBOR and Smile modules are only on the classpath with the
+ * binary-formats profile, so these tests cover the mapper copy and
+ * the behaviour without them.
+ *
+ * @author Aditya R
+ */
+class BinaryFormatsConfigTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @Test
+    @DisplayName("Should copy the application's mapper settings onto the new factory")
+    void testCopyKeepsSettings() throws Exception {
+        ObjectMapper copy = BinaryFormatsConfig.copyFor(objectMapper, "com.fasterxml.jackson.core.JsonFactory")
+            .orElseThrow();
+        TaskExecutionResponse execution = TaskExecutionResponse.builder()
+            .taskId("task-1")
+            .startedAt(Instant.parse("2024-06-30T12:00:00Z"))
+            .build();
+
+        assertThat(copy).isNotSameAs(objectMapper);
+        assertThat(copy.writeValueAsString(execution))
+            .isEqualTo("{\"taskId\":\"task-1\",\"startedAt\":\"2024-06-30T12:00:00Z\"}");
+    }
+
+    @Test
+    @DisplayName("Should leave the converters alone when the format modules are absent")
+    void testWithoutModules() {
+        assumeThat(BinaryFormatsConfig.copyFor(objectMapper, BinaryFormatsConfig.CBOR_FACTORY)).isEmpty();
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(objectMapper);
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(json));
+
+        new BinaryFormatsConfig(objectMapper).extendMessageConverters(converters);
+
+        assertThat(converters).containsExactly(json);
+    }
+}
@@ -0,0 +1,47 @@
+package dev.adityar.kaiburr.task2.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ExecutorSchedulingProperties.
+ *
+ * Binds the shipped application.yml, so label keys containing '.' and '/'
+ * are checked against relaxed binding.
+ *
+ * @author Aditya R
+ */
+class ExecutorSchedulingPropertiesTest {
+
+    @Test
+    @DisplayName("Should bind the preferred affinity label with its '/' intact")
+    void testPreferredLabelKey() throws IOException {
+        MutablePropertySources sources = new MutablePropertySources();
+        for (PropertySource<?> source : new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml"))) {
+            sources.addLast(source);
+        }
+        Binder binder = new Binder(ConfigurationPropertySources.from(sources),
+            new PropertySourcesPlaceholdersResolver(sources));
+
+        ExecutorSchedulingProperties properties = binder
+            .bind("k8s.scheduling", ExecutorSchedulingProperties.class)
+            .get();
+
+        assertThat(properties.getNodeAffinity().getPreferred())
+            .containsExactlyEntriesOf(Map.of("kaiburr.dev/executor", "true"));
+        assertThat(properties.getNodeAffinity().getPreferredWeight()).isEqualTo(50);
+    }
+}
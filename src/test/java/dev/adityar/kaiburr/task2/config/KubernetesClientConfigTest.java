@@ -0,0 +1,144 @@
+package dev.adityar.kaiburr.task2.config;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Stress test for the tuned Kubernetes HTTP client against a local mock API server.
+ *
+ * Fires bursts of concurrent job status reads and counts how many TCP
+ * connections the server had to accept.
+ *
+ * @author Aditya R
+ */
+class KubernetesClientConfigTest {
+
+    private static final int CONCURRENCY = 32;
+    private static final int BURSTS = 4;
+    private static final String JOB_JSON =
+        "{\"apiVersion\":\"batch/v1\",\"kind\":\"Job\",\"metadata\":{\"name\":\"exec-test\"},"
+            + "\"status\":{\"succeeded\":1}}";
+
+    private MockWebServer server;
+    private final AtomicInteger newConnections = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getSequenceNumber() == 0) {
+                    newConnections.incrementAndGet();
+                }
+                return new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(JOB_JSON)
+                    .setBodyDelay(2, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Tuned client should keep connections alive across bursts")
+    void testTunedClientReusesConnections() throws Exception {
+        ApiClient defaults = new ApiClient().setBasePath(baseUrl());
+        List<Long> defaultLatencies = runBursts(new BatchV1Api(defaults));
+        int defaultConnections = newConnections.getAndSet(0);
+
+        ApiClient tuned = tunedConfig().tune(new ApiClient().setBasePath(baseUrl()));
+        List<Long> tunedLatencies = runBursts(new BatchV1Api(tuned));
+        int tunedConnections = newConnections.get();
+
+        assertThat(tunedConnections)
+            .as("tuned connections (default client opened %d, p99 %dus vs %dus)",
+                defaultConnections, p99(defaultLatencies), p99(tunedLatencies))
+            .isLessThan(defaultConnections)
+            .isLessThanOrEqualTo(CONCURRENCY);
+        assertThat(tuned.getHttpClient().connectionPool().idleConnectionCount()).isGreaterThan(5);
+    }
+
+    @Test
+    @DisplayName("Should apply timeout settings")
+    void testTuningSettings() {
+        ApiClient tuned = tunedConfig().tune(new ApiClient().setBasePath(baseUrl()));
+
+        assertThat(tuned.getHttpClient().connectTimeoutMillis()).isEqualTo(10_000);
+        assertThat(tuned.getHttpClient().readTimeoutMillis()).isEqualTo(30_000);
+    }
+
+    private KubernetesClientConfig tunedConfig() {
+        KubernetesClientConfig config = new KubernetesClientConfig();
+        ReflectionTestUtils.setField(config, "maxIdleConnections", CONCURRENCY);
+        ReflectionTestUtils.setField(config, "keepAliveSeconds", 300L);
+        ReflectionTestUtils.setField(config, "http2", true);
+        ReflectionTestUtils.setField(config, "connectTimeoutSeconds", 10);
+        ReflectionTestUtils.setField(config, "readTimeoutSeconds", 30);
+        return config;
+    }
+
+    private List<Long> runBursts(BatchV1Api api) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            for (int burst = 0; burst < BURSTS; burst++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    calls.add(pool.submit(() -> {
+                        start.await();
+                        long begin = System.nanoTime();
+                        api.readNamespacedJobStatus("exec-test", "kaiburr", null);
+                        latencies.add((System.nanoTime() - begin) / 1_000);
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> call : calls) {
+                    call.get(10, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return latencies;
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private String baseUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+}
@@ -0,0 +1,198 @@
+package dev.adityar.kaiburr.task2.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.dto.TaskRequest;
+import dev.adityar.kaiburr.task2.service.TaskService;
+import dev.adityar.kaiburr.task2.util.ETags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for TaskController.
+ *
+ * Tests conditional requests, streamed lists and ranged output against a standalone MockMvc with a mocked TaskService.
+ *
+ * @author Aditya R
+ */
+class TaskControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TaskService taskService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService, objectMapper))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should return the task with its version as a strong ETag")
+    void testETagHeader() throws Exception {
+        when(taskService.findById("t1", true)).thenReturn(Optional.of(task("t1", 3L)));
+
+        mockMvc.perform(get("/api/tasks/t1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(jsonPath("$.id").value("t1"));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without loading executions when If-None-Match hits")
+    void testIfNoneMatchNotModified() throws Exception {
+        when(taskService.findVersion("t1")).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/tasks/t1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETags.of(3L)))
+            .andExpect(content().string(""));
+
+        verify(taskService, never()).findById(anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should return the task when If-None-Match names an older version")
+    void testIfNoneMatchChanged() throws Exception {
+        when(taskService.findVersion("t1")).thenReturn(Optional.of(4L));
+        when(taskService.findById("t1", true)).thenReturn(Optional.of(task("t1", 4L)));
+
+        mockMvc.perform(get("/api/tasks/t1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Should answer 412 and not save when If-Match does not match")
+    void testIfMatchPreconditionFailed() throws Exception {
+        when(taskService.findVersion("t1")).thenReturn(Optional.of(4L));
+
+        mockMvc.perform(put("/api/tasks")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskRequest("t1"))))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.status").value(412));
+
+        verify(taskService, never()).upsertTask(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should save with the matched version and return the new ETag")
+    void testIfMatchSaved() throws Exception {
+        when(taskService.findVersion("t1")).thenReturn(Optional.of(3L));
+        when(taskService.upsertTask(any(), eq(3L))).thenReturn(task("t1", 4L));
+
+        mockMvc.perform(put("/api/tasks")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskRequest("t1"))))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Should stream the task cursor as a JSON array and close it")
+    void testStreamedList() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskService.streamAll(true))
+            .thenReturn(Stream.of(task("t1", 1L), task("t2", 2L)).onClose(() -> closed.set(true)));
+
+        MvcResult started = mockMvc.perform(get("/api/tasks"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value("t1"))
+            .andExpect(jsonPath("$[1].version").value(2));
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stream search results as NDJSON when the client accepts it")
+    void testStreamedSearchNdjson() throws Exception {
+        when(taskService.streamByName("Task", false)).thenReturn(Stream.of(task("t1", 1L), task("t2", 2L)));
+
+        MvcResult started = mockMvc.perform(get("/api/tasks/search")
+                .param("name", "Task")
+                .param("includeOutput", "false")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n"))
+            .extracting(line -> objectMapper.readTree(line).get("id").asText())
+            .containsExactly("t1", "t2");
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for an empty search and close its cursor")
+    void testEmptySearch() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskService.streamByName("none", true)).thenReturn(Stream.<Task>empty().onClose(() -> closed.set(true)));
+
+        mockMvc.perform(get("/api/tasks/search").param("name", "none"))
+            .andExpect(status().isNotFound());
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer a byte range of stdout with 206 and that slice")
+    void testStdoutRange() throws Exception {
+        when(taskService.openStdout("t1", "e1"))
+            .thenReturn(Optional.of(new ByteArrayResource("0123456789".getBytes(StandardCharsets.UTF_8))));
+
+        mockMvc.perform(get("/api/tasks/t1/executions/e1/stdout").header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().string("2345"));
+    }
+
+    @Test
+    @DisplayName("Should answer 416 for a range past the end of stdout")
+    void testStdoutRangeNotSatisfiable() throws Exception {
+        when(taskService.openStdout("t1", "e1"))
+            .thenReturn(Optional.of(new ByteArrayResource("0123456789".getBytes(StandardCharsets.UTF_8))));
+
+        mockMvc.perform(get("/api/tasks/t1/executions/e1/stdout").header(HttpHeaders.RANGE, "bytes=20-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    private static Task task(String id, Long version) {
+        return Task.builder().id(id).name("Task " + id).command("echo").version(version).build();
+    }
+
+    private static TaskRequest taskRequest(String id) {
+        return TaskRequest.builder().id(id).name("Task " + id).command("echo").build();
+    }
+}
@@ -0,0 +1,85 @@
+package dev.adityar.kaiburr.task2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BatchFrameParser.
+ *
+ * Tests splitting of kaiburr-batch driver output into per-command results.
+ *
+ * @author Aditya R
+ */
+class BatchFrameParserTest {
+
+    @Test
+    @DisplayName("Should split interleaved frames by command index")
+    void testInterleavedFrames() {
+        String logs = String.join("\n",
+            "@kb 1 O world",
+            "@kb 0 O hello",
+            "@kb 0 X 0 12 0",
+            "@kb 1 E warning",
+            "@kb 1 X 3 40 0",
+            "");
+
+        List<BatchFrameParser.CommandFrames> frames = BatchFrameParser.parse(logs, 2);
+
+        assertThat(frames.get(0).getStdout().toString()).isEqualTo("hello\n");
+        assertThat(frames.get(0).getExitCode()).isZero();
+        assertThat(frames.get(0).getDurationMs()).isEqualTo(12);
+        assertThat(frames.get(1).getStdout().toString()).isEqualTo("world\n");
+        assertThat(frames.get(1).getStderr().toString()).isEqualTo("warning\n");
+        assertThat(frames.get(1).getExitCode()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should join fragments without adding newlines")
+    void testFragments() {
+        String logs = "@kb 0 o abc\n@kb 0 o def\n@kb 0 O \n@kb 0 X 0 1 0\n";
+
+        BatchFrameParser.CommandFrames frames = BatchFrameParser.parse(logs, 1).get(0);
+
+        assertThat(frames.getStdout().toString()).isEqualTo("abcdef\n");
+    }
+
+    @Test
+    @DisplayName("Should report truncation and timeout flags")
+    void testTruncationAndTimeout() {
+        String logs = "@kb 0 T O\n@kb 0 T E\n@kb 0 X 137 15000 1\n";
+
+        BatchFrameParser.CommandFrames frames = BatchFrameParser.parse(logs, 1).get(0);
+
+        assertThat(frames.isStdoutTruncated()).isTrue();
+        assertThat(frames.isStderrTruncated()).isTrue();
+        assertThat(frames.isTimedOut()).isTrue();
+        assertThat(frames.getExitCode()).isEqualTo(137);
+    }
+
+    @Test
+    @DisplayName("Should leave commands without exit frame incomplete")
+    void testMissingExitFrame() {
+        String logs = "@kb 0 X 0 5 0\n@kb 1 O partial\n";
+
+        List<BatchFrameParser.CommandFrames> frames = BatchFrameParser.parse(logs, 2);
+
+        assertThat(frames.get(0).isComplete()).isTrue();
+        assertThat(frames.get(1).isComplete()).isFalse();
+        assertThat(frames.get(1).getStdout().toString()).isEqualTo("partial\n");
+    }
+
+    @Test
+    @DisplayName("Should ignore non-frame lines and out-of-range indexes")
+    void testIgnoresNoise() {
+        String logs = "some kubelet noise\n@kb 7 O stray\n@kb x O bad\n@kb 0 X 0 1 0";
+
+        List<BatchFrameParser.CommandFrames> frames = BatchFrameParser.parse(logs, 1);
+
+        assertThat(frames.get(0).getStdout().toString()).isEmpty();
+        assertThat(frames.get(0).isComplete()).isTrue();
+    }
+}
@@ -0,0 +1,161 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchingCommandRunner.
+ *
+ * Tests windowing, flushing on size and on window timeout, and the
+ * kaiburr-batch driver limits, with a stubbed Job runner.
+ *
+ * @author Aditya R
+ */
+class BatchingCommandRunnerTest {
+
+    private KubernetesCommandRunner jobRunner;
+    private CommandValidator commandValidator;
+    private BatchingCommandRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        jobRunner = mock(KubernetesCommandRunner.class);
+        commandValidator = mock(CommandValidator.class);
+        when(commandValidator.getMaxArgs()).thenReturn(4);
+        when(jobRunner.generateJobName(eq("batch"), any())).thenReturn("exec-batch-1");
+        when(jobRunner.resourceClassOf(any())).thenReturn("small");
+        when(jobRunner.batchResult(any(), any())).thenAnswer(invocation -> {
+            BatchFrameParser.CommandFrames frames = invocation.getArgument(1);
+            return CommandRunner.ExecutionResult.builder()
+                .jobName("exec-batch-1")
+                .exitCode(frames.getExitCode())
+                .stdout(frames.getStdout().toString())
+                .build();
+        });
+
+        runner = new BatchingCommandRunner(jobRunner, commandValidator, mock(ExecutionMetrics.class), 1);
+        ReflectionTestUtils.setField(runner, "windowMs", 50L);
+        ReflectionTestUtils.setField(runner, "maxBatchSize", 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run executions arriving within one window as one batch Job")
+    void testWindowing() throws Exception {
+        stubBatchJob("@kb 0 O first\n@kb 0 X 0 5 0\n@kb 1 O second\n@kb 1 X 3 7 0\n");
+        ReflectionTestUtils.setField(runner, "windowMs", 1000L);
+
+        CompletableFuture<CommandRunner.ExecutionResult> first = executeAsync(task("t1", List.of()));
+        CompletableFuture<CommandRunner.ExecutionResult> second = executeAsync(task("t2", List.of()));
+
+        List<CommandRunner.ExecutionResult> results = List.of(
+            first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertThat(results).extracting(CommandRunner.ExecutionResult::getExitCode).containsExactlyInAnyOrder(0, 3);
+        assertThat(results).extracting(CommandRunner.ExecutionResult::getJobName).containsOnly("exec-batch-1");
+        verify(jobRunner, times(1)).runJob(eq("exec-batch-1"), eq("batch"), any(), eq("small"),
+            eq("kaiburr-batch"), argThat(args -> args.get(4).equals("2")), anyInt());
+        verify(jobRunner, never()).execute(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should flush a full batch without waiting for the window")
+    void testFlushOnSize() throws Exception {
+        stubBatchJob("@kb 0 X 0 5 0\n@kb 1 X 0 5 0\n");
+        ReflectionTestUtils.setField(runner, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(runner, "maxBatchSize", 2);
+
+        CompletableFuture<CommandRunner.ExecutionResult> first = executeAsync(task("t1", List.of()));
+        CompletableFuture<CommandRunner.ExecutionResult> second = executeAsync(task("t2", List.of()));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getExitCode()).isZero();
+        assertThat(second.get(5, TimeUnit.SECONDS).getExitCode()).isZero();
+        verify(jobRunner, times(1)).runJob(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should run a lone execution as a one-command Job when the window closes")
+    void testFlushOnTimeout() throws Exception {
+        Task task = task("t1", List.of());
+        CommandRunner.ExecutionResult result = CommandRunner.ExecutionResult.builder().jobName("exec-t1").exitCode(0).build();
+        when(jobRunner.execute(eq(task), any())).thenReturn(result);
+
+        assertThat(executeAsync(task).get(5, TimeUnit.SECONDS)).isSameAs(result);
+        verify(jobRunner, never()).runJob(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a listener's TaskNotFoundException and run the rest of the batch")
+    void testListenerTaskNotFound() throws Exception {
+        stubBatchJob("@kb 0 X 0 5 0\n");
+        ReflectionTestUtils.setField(runner, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(runner, "maxBatchSize", 2);
+
+        CompletableFuture<CommandRunner.ExecutionResult> deleted = CompletableFuture.supplyAsync(() ->
+            runner.execute(task("gone", List.of()), (jobName, execUuid, batchIndex) -> {
+                throw new TaskService.TaskNotFoundException("Task not found: gone");
+            }));
+        CompletableFuture<CommandRunner.ExecutionResult> kept = executeAsync(task("t2", List.of()));
+
+        assertThatThrownBy(() -> deleted.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(TaskService.TaskNotFoundException.class);
+        assertThat(kept.get(5, TimeUnit.SECONDS).getExitCode()).isZero();
+        verify(jobRunner).runJob(any(), any(), any(), any(), any(), argThat(args -> args.get(4).equals("1")), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should fail at startup when the batch size or argument limit exceeds the driver's")
+    void testDriverLimits() {
+        assertThatCode(runner::checkDriverLimits).doesNotThrowAnyException();
+
+        ReflectionTestUtils.setField(runner, "maxBatchSize", BatchingCommandRunner.DRIVER_MAX_COMMANDS + 1);
+        assertThatThrownBy(runner::checkDriverLimits)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("k8s.batch.max-size");
+
+        ReflectionTestUtils.setField(runner, "maxBatchSize", 16);
+        when(commandValidator.getMaxArgs()).thenReturn(BatchingCommandRunner.DRIVER_MAX_ARGS + 1);
+        assertThatThrownBy(runner::checkDriverLimits)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("maxArgs");
+    }
+
+    @Test
+    @DisplayName("Should run a task with more arguments than the driver accepts in its own Job")
+    void testOversizedTaskBypassesBatch() {
+        Task task = task("t1", List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l", "m", "n", "o", "p", "q"));
+        CommandRunner.ExecutionResult result = CommandRunner.ExecutionResult.builder().exitCode(0).build();
+        when(jobRunner.execute(eq(task), any())).thenReturn(result);
+
+        assertThat(runner.execute(task)).isSameAs(result);
+        verify(jobRunner, never()).runJob(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    private void stubBatchJob(String logs) {
+        when(jobRunner.runJob(any(), any(), any(), any(), any(), any(), anyInt()))
+            .thenReturn(new KubernetesCommandRunner.JobRun("exec-batch-1", true, 0, logs, 20, "small", null));
+    }
+
+    private CompletableFuture<CommandRunner.ExecutionResult> executeAsync(Task task) {
+        return CompletableFuture.supplyAsync(() -> runner.execute(task));
+    }
+
+    private static Task task(String id, List<String> args) {
+        return Task.builder().id(id).name(id).command("echo").args(args).build();
+    }
+}
@@ -0,0 +1,80 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.dto.TaskExecutionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkExecutionService.
+ *
+ * Tests result order and how failures of single tasks are reported.
+ *
+ * @author Aditya R
+ */
+class BulkExecutionServiceTest {
+
+    private TaskService taskService;
+    private BulkExecutionService service;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        service = new BulkExecutionService(taskService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "concurrency", 4);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Should return one result per task in request order")
+    void testOrder() {
+        for (String taskId : List.of("t1", "t2", "t3")) {
+            when(taskService.executeTask(taskId)).thenReturn(execution(taskId));
+        }
+
+        List<TaskExecutionResponse> results = service.executeAll(List.of("t3", "t1", "t2", "t1"));
+
+        assertThat(results).extracting(TaskExecutionResponse::getTaskId).containsExactly("t3", "t1", "t2", "t1");
+        assertThat(results).extracting(TaskExecutionResponse::getExecutionId)
+            .containsExactly("e-t3", "e-t1", "e-t2", "e-t1");
+        verify(taskService, times(2)).executeTask("t1");
+    }
+
+    @Test
+    @DisplayName("Should report unknown tasks, rejected commands and runner errors per task")
+    void testFailures() {
+        when(taskService.executeTask("ok")).thenReturn(execution("ok"));
+        when(taskService.executeTask("missing")).thenThrow(new TaskService.TaskNotFoundException("Task not found: missing"));
+        when(taskService.executeTask("denied")).thenThrow(new IllegalArgumentException("Command validation failed: rm"));
+        when(taskService.executeTask("broken")).thenThrow(new CommandRunner.CommandExecutionException("Job failed"));
+
+        List<TaskExecutionResponse> results = service.executeAll(List.of("ok", "missing", "denied", "broken"));
+
+        assertThat(results).extracting(TaskExecutionResponse::getStatus)
+            .containsExactly("SUCCEEDED", "REJECTED", "REJECTED", "FAILED");
+        assertThat(results).extracting(TaskExecutionResponse::getError)
+            .containsExactly(null, "Task not found: missing", "Command validation failed: rm", "Job failed");
+    }
+
+    private static TaskExecution execution(String taskId) {
+        return TaskExecution.builder()
+            .id("e-" + taskId)
+            .status(TaskExecution.ExecutionStatus.SUCCEEDED)
+            .exitCode(0)
+            .build();
+    }
+}
@@ -0,0 +1,110 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionDailySummary;
+import dev.adityar.kaiburr.task2.domain.RetentionPolicy;
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.domain.TaskExecution.ExecutionStatus;
+import dev.adityar.kaiburr.task2.repo.ExecutionSummaryRepository;
+import dev.adityar.kaiburr.task2.repo.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExecutionCompactor.
+ *
+ * Tests which executions each retention rule removes and how they are summarized.
+ *
+ * @author Aditya R
+ */
+class ExecutionCompactorTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-30T12:00:00Z");
+
+    private TaskRepository taskRepository;
+    private ExecutionSummaryRepository summaryRepository;
+    private TaskService taskService;
+    private ExecutionCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        summaryRepository = mock(ExecutionSummaryRepository.class);
+        taskService = mock(TaskService.class);
+        compactor = new ExecutionCompactor(taskRepository, summaryRepository, taskService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(compactor, "keepLast", 3);
+        ReflectionTestUtils.setField(compactor, "maxAgeDays", 7);
+        ReflectionTestUtils.setField(compactor, "failureMaxAgeDays", 30);
+        ReflectionTestUtils.setField(compactor, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should expire past keepLast and past age, keep failures longer and never touch in-flight executions")
+    void testExpired() {
+        List<TaskExecution> executions = List.of(
+            execution("new-ok", ExecutionStatus.SUCCEEDED, 0, 100L),
+            execution("running", ExecutionStatus.RUNNING, 20, null),
+            execution("old-ok", ExecutionStatus.SUCCEEDED, 10, 100L),
+            execution("old-failed", ExecutionStatus.FAILED, 10, 100L),
+            execution("ancient-timeout", ExecutionStatus.TIMEOUT, 40, 15000L));
+
+        RetentionPolicy global = compactor.effective(null);
+        assertThat(ExecutionCompactor.expired(executions, global, NOW))
+            .extracting(TaskExecution::getId)
+            .containsExactly("old-ok", "ancient-timeout");
+
+        RetentionPolicy keepOne = compactor.effective(RetentionPolicy.builder().keepLast(1).maxAgeDays(0).build());
+        assertThat(ExecutionCompactor.expired(executions, keepOne, NOW))
+            .extracting(TaskExecution::getId)
+            .containsExactly("old-ok", "old-failed", "ancient-timeout");
+    }
+
+    @Test
+    @DisplayName("Should page through tasks, remove expired executions and merge them into daily summaries")
+    void testCompact() {
+        List<TaskExecution> executions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            executions.add(execution("e" + i, i == 4 ? ExecutionStatus.FAILED : ExecutionStatus.SUCCEEDED, i, 100L * (i + 1)));
+        }
+        Task busy = Task.builder().id("a").executions(executions).build();
+        Task quiet = Task.builder().id("b").executions(List.of(execution("q", ExecutionStatus.SUCCEEDED, 1, 50L))).build();
+        when(taskRepository.findForCompaction(isNull(), eq(3), any(), eq(2))).thenReturn(List.of(busy, quiet));
+        when(taskRepository.findForCompaction(eq("b"), eq(3), any(), eq(2))).thenReturn(List.of());
+        when(taskRepository.removeExecutions(eq("a"), any())).thenReturn(true);
+
+        assertThat(compactor.compact(NOW)).isEqualTo(2);
+
+        verify(taskRepository).removeExecutions("a", List.of("e3", "e4"));
+        verify(taskRepository, never()).removeExecutions(eq("b"), any());
+        verify(taskService).releaseOutput(argThat(removed -> removed.size() == 2));
+        ArgumentCaptor<ExecutionDailySummary> captor = ArgumentCaptor.forClass(ExecutionDailySummary.class);
+        verify(summaryRepository, times(2)).merge(captor.capture());
+        ExecutionDailySummary failedDay = captor.getAllValues().get(1);
+        assertThat(failedDay.getId()).isEqualTo("a:2024-06-26");
+        assertThat(failedDay.getTotal()).isEqualTo(1);
+        assertThat(failedDay.getSuccessRate()).isZero();
+        assertThat(failedDay.getP50DurationMs()).isBetween(450L, 550L);
+    }
+
+    private static TaskExecution execution(String id, ExecutionStatus status, int daysAgo, Long durationMs) {
+        return TaskExecution.builder()
+            .id(id)
+            .status(status)
+            .startedAt(NOW.minus(Duration.ofDays(daysAgo)))
+            .durationMs(durationMs)
+            .build();
+    }
+}
@@ -0,0 +1,119 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.ExecutionStats;
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution.ExecutionStatus;
+import dev.adityar.kaiburr.task2.dto.ExecutionPage;
+import dev.adityar.kaiburr.task2.repo.ExecutionRecordRepository;
+import dev.adityar.kaiburr.task2.repo.ExecutionStatsRepository;
+import dev.adityar.kaiburr.task2.util.DurationHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExecutionHistoryService.
+ *
+ * Tests keyset cursors, request validation and derived statistics.
+ *
+ * @author Aditya R
+ */
+class ExecutionHistoryServiceTest {
+
+    private static final Instant T0 = Instant.parse("2024-06-30T12:00:00Z");
+
+    private ExecutionRecordRepository recordRepository;
+    private ExecutionStatsRepository statsRepository;
+    private ExecutionHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        recordRepository = mock(ExecutionRecordRepository.class);
+        TaskCache taskCache = mock(TaskCache.class);
+        when(taskCache.get("t1")).thenReturn(Optional.of(Task.builder().id("t1").build()));
+        statsRepository = mock(ExecutionStatsRepository.class);
+        service = new ExecutionHistoryService(recordRepository, taskCache, statsRepository);
+        ReflectionTestUtils.setField(service, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(service, "maxPageSize", 500);
+    }
+
+    @Test
+    @DisplayName("Should return a cursor that resumes after the last record of the page")
+    void testKeysetCursor() {
+        when(recordRepository.search(any(), any(), any(), any(), any(), isNull(), isNull(), eq(3)))
+            .thenReturn(List.of(record("e3", 3), record("e2", 2), record("e1", 1)));
+        when(recordRepository.search(any(), any(), any(), any(), any(), eq(T0.minusSeconds(3)), eq("e2"), eq(3)))
+            .thenReturn(List.of(record("e1", 1)));
+
+        ExecutionPage first = service.search("t1", List.of(ExecutionStatus.TIMEOUT), null, null, null, null, null);
+        ExecutionPage second = service.search("t1", List.of(ExecutionStatus.TIMEOUT), null, null, null,
+            first.getNextCursor(), null);
+
+        assertThat(first.getItems()).extracting(ExecutionRecord::getId).containsExactly("e3", "e2");
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getItems()).extracting(ExecutionRecord::getId).containsExactly("e1");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject bad cursors, limits and ranges, and unknown tasks")
+    void testValidation() {
+        assertThatThrownBy(() -> service.search(null, List.of(), null, null, null, "not-a-cursor!", null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(null, List.of(), null, null, null, null, 501))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(null, List.of(), null, T0, T0, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search("missing", List.of(), null, null, null, null, null))
+            .isInstanceOf(TaskService.TaskNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should derive success rate and percentiles from stored counts, and zeros for a task without any")
+    void testStats() {
+        Map<String, Long> buckets = new HashMap<>();
+        long sum = 0;
+        for (long ms = 100; ms <= 10_000; ms += 100) {
+            buckets.merge(String.valueOf(DurationHistogram.bucketOf(ms)), 1L, Long::sum);
+            sum += ms;
+        }
+        when(statsRepository.findById(ExecutionStats.FLEET_ID)).thenReturn(Optional.of(ExecutionStats.builder()
+            .id(ExecutionStats.FLEET_ID)
+            .total(100)
+            .statusCounts(Map.of("SUCCEEDED", 90L, "TIMEOUT", 10L))
+            .durationBuckets(buckets)
+            .durationSumMs(sum)
+            .build()));
+
+        ExecutionStats fleet = service.fleetStats();
+        ExecutionStats task = service.taskStats("t1");
+
+        assertThat(fleet.getSuccessRate()).isEqualTo(0.9);
+        assertThat(fleet.getMeanDurationMs()).isEqualTo(5050);
+        assertThat(fleet.getP50DurationMs()).isBetween(4500L, 5600L);
+        assertThat(fleet.getP95DurationMs()).isBetween(9000L, 10_500L);
+        assertThat(task.getTotal()).isZero();
+        assertThat(task.getSuccessRate()).isNull();
+    }
+
+    private static ExecutionRecord record(String id, int secondsAfterStart) {
+        return ExecutionRecord.builder()
+            .id(id)
+            .taskId("t1")
+            .status(ExecutionStatus.TIMEOUT)
+            .startedAt(T0.minusSeconds(5 - secondsAfterStart))
+            .build();
+    }
+}
@@ -0,0 +1,73 @@
+package dev.adityar.kaiburr.task2.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of recording one execution's result counter and duration.
+ *
+ * Compares the builder-and-register lookup TaskService used per execution
+ * against the meters pre-registered by ExecutionMetrics, on the Prometheus
+ * registry the service exports through.
+ *
+ * Run with (JMH forks a JVM, so use exec:exec rather than exec:java):
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath dev.adityar.kaiburr.task2.service.ExecutionMetricsBenchmark"
+ *
+ * @author Aditya R
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionMetricsBenchmark {
+
+    private MeterRegistry registry;
+    private ExecutionMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        CommandValidator validator = new CommandValidator();
+        validator.init();
+        metrics = new ExecutionMetrics(registry, validator);
+        metrics.preRegister();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void registerPerCall() {
+        Counter.builder("kaiburr.executions.total")
+            .tag("result", "success")
+            .tag("resource_class", "small")
+            .register(registry)
+            .increment();
+        registry.timer("kaiburr.executor.duration", "resource_class", "small")
+            .record(1_000_000, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void preRegistered() {
+        metrics.count("small", ExecutionMetrics.Result.SUCCESS);
+        Timer timer = metrics.executorDuration("small");
+        timer.record(1_000_000, TimeUnit.NANOSECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ExecutionMetricsBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
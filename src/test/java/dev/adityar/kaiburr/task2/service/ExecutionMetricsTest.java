@@ -0,0 +1,89 @@
+package dev.adityar.kaiburr.task2.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ExecutionMetrics.
+ *
+ * Tests pre-registration and recording of execution meters.
+ *
+ * @author Aditya R
+ */
+class ExecutionMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutionMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        CommandValidator validator = new CommandValidator();
+        validator.init();
+        metrics = new ExecutionMetrics(meterRegistry, validator);
+        metrics.preRegister();
+    }
+
+    @Test
+    @DisplayName("Should pre-register result counters for every policy resource class")
+    void testPreRegistered() {
+        for (String resourceClass : new String[] {"small", "medium", "large"}) {
+            assertThat(meterRegistry.get("kaiburr.executions.total")
+                .tags("resource_class", resourceClass).counters()).hasSize(4);
+            assertThat(meterRegistry.get("kaiburr.executor.duration")
+                .tag("resource_class", resourceClass).timer().count()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should record to the same meters and register unknown classes on first use")
+    void testRecording() {
+        metrics.count("small", ExecutionMetrics.Result.SUCCESS);
+        metrics.count("small", ExecutionMetrics.Result.SUCCESS);
+        metrics.executorDuration("small").record(2, TimeUnit.SECONDS);
+        metrics.count("custom", ExecutionMetrics.Result.TIMEOUT);
+
+        assertThat(meterRegistry.get("kaiburr.executions.total")
+            .tags("result", "success", "resource_class", "small").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("kaiburr.executor.duration")
+            .tag("resource_class", "small").timer().totalTime(TimeUnit.SECONDS)).isEqualTo(2.0);
+        assertThat(meterRegistry.get("kaiburr.executions.total")
+            .tags("result", "timeout", "resource_class", "custom").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should record output size and truncation by allowlisted binary")
+    void testOutputMetrics() {
+        metrics.recordOutput("echo", "héllo\n", "");
+        metrics.recordOutput("echo", "x" + CommandRunner.TRUNCATION_MARKER, "");
+        metrics.recordOutput("not-allowed", "out", "err");
+
+        assertThat(meterRegistry.get("kaiburr.execution.output.bytes")
+            .tags("binary", "echo", "stream", "stdout").summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("kaiburr.execution.output.bytes")
+            .tags("binary", "echo", "stream", "stdout").summary().totalAmount())
+            .isEqualTo(7.0 + ExecutionMetrics.utf8Length("x" + CommandRunner.TRUNCATION_MARKER));
+        assertThat(meterRegistry.get("kaiburr.execution.output.truncated")
+            .tags("binary", "echo", "stream", "stdout").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("kaiburr.execution.output.bytes")
+            .tags("binary", "other", "stream", "stderr").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.find("kaiburr.execution.output.bytes").tag("binary", "not-allowed").meters())
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should compute UTF-8 length without encoding")
+    void testUtf8Length() {
+        assertThat(ExecutionMetrics.utf8Length(null)).isZero();
+        String mixed = "aé€😀";
+        assertThat(ExecutionMetrics.utf8Length(mixed))
+            .isEqualTo(mixed.getBytes(StandardCharsets.UTF_8).length);
+    }
+}
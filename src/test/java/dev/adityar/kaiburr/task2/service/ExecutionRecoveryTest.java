@@ -0,0 +1,154 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.TaskRepository;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobStatus;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExecutionRecovery.
+ *
+ * Tests grouping of persisted in-flight executions and completion of
+ * executions whose Job finished or disappeared while the service was down.
+ *
+ * @author Aditya R
+ */
+class ExecutionRecoveryTest {
+
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+    private KubernetesCommandRunner jobRunner;
+    private BatchV1Api batchApi;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutionRecovery recovery;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskService = mock(TaskService.class);
+        jobRunner = mock(KubernetesCommandRunner.class);
+        batchApi = mock(BatchV1Api.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        KubernetesApiGateway gateway = new KubernetesApiGateway(meterRegistry);
+        ReflectionTestUtils.setField(gateway, "qps", 1000.0);
+        ReflectionTestUtils.setField(gateway, "burst", 100);
+        ReflectionTestUtils.setField(gateway, "initialConcurrency", 8);
+        ReflectionTestUtils.setField(gateway, "minConcurrency", 1);
+        ReflectionTestUtils.setField(gateway, "maxConcurrency", 16);
+        ReflectionTestUtils.setField(gateway, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(gateway, "acquireTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(gateway, "maxAttempts", 1);
+        gateway.init();
+
+        recovery = new ExecutionRecovery(taskRepository, taskService, jobRunner, batchApi,
+            mock(ApiClient.class), gateway, meterRegistry);
+        ReflectionTestUtils.setField(recovery, "namespace", "kaiburr");
+        ReflectionTestUtils.setField(recovery, "watchTimeoutSeconds", 1);
+        ReflectionTestUtils.setField(recovery, "createPollMs", 10L);
+    }
+
+    @Test
+    @DisplayName("Should group in-flight executions by Job and skip completed ones")
+    void testFindInFlight() {
+        Task first = task("t1",
+            execution("e1", "exec-batch-1", TaskExecution.ExecutionStatus.PENDING, 0),
+            execution("e2", "exec-old", TaskExecution.ExecutionStatus.SUCCEEDED, null));
+        Task second = task("t2", execution("e3", "exec-batch-1", TaskExecution.ExecutionStatus.PENDING, 1));
+        when(taskRepository.findWithInFlightExecutions()).thenReturn(List.of(first, second));
+
+        Map<String, List<ExecutionRecovery.InFlight>> byJob = recovery.findInFlight();
+
+        assertThat(byJob).containsOnlyKeys("exec-batch-1");
+        assertThat(byJob.get("exec-batch-1")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should mark executions FAILED when their Job no longer exists")
+    void testMissingJobMarkedFailed() throws Exception {
+        TaskExecution pending = execution("e1", "exec-gone", TaskExecution.ExecutionStatus.PENDING, null);
+        pending.setStartedAt(Instant.now().minusSeconds(3600));
+        when(batchApi.readNamespacedJobStatus(eq("exec-gone"), eq("kaiburr"), any()))
+            .thenThrow(new ApiException(404, "Not Found"));
+
+        recovery.recoverJob("exec-gone", List.of(new ExecutionRecovery.InFlight("t1", pending)));
+
+        ArgumentCaptor<TaskExecution> captor = ArgumentCaptor.forClass(TaskExecution.class);
+        verify(taskService).completeExecution(eq("t1"), captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo("e1");
+        assertThat(captor.getValue().getStatus()).isEqualTo(TaskExecution.ExecutionStatus.FAILED);
+        assertThat(meterRegistry.get("kaiburr.recovery.executions").tag("outcome", "lost").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should collect the result of a Job that finished while the service was down")
+    void testFinishedJobCollected() throws Exception {
+        TaskExecution pending = execution("e1", "exec-done", TaskExecution.ExecutionStatus.PENDING, null);
+        when(batchApi.readNamespacedJobStatus(eq("exec-done"), eq("kaiburr"), any()))
+            .thenReturn(new V1Job().metadata(new V1ObjectMeta().name("exec-done").resourceVersion("7"))
+                .status(new V1JobStatus().succeeded(1)));
+        CommandRunner.ExecutionResult result = CommandRunner.ExecutionResult.builder()
+            .jobName("exec-done").exitCode(0).stdout("hello").stderr("").durationMs(42).build();
+        when(jobRunner.collectResult(eq("exec-done"), any())).thenReturn(result);
+
+        recovery.recoverJob("exec-done", List.of(new ExecutionRecovery.InFlight("t1", pending)));
+
+        verify(taskService).recordResult("t1", pending, "e1", result);
+        verify(taskService, never()).completeExecution(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should wait for the Job of a young execution instead of marking it lost")
+    void testYoungExecutionJobNotCreatedYet() throws Exception {
+        TaskExecution pending = execution("e1", "exec-late", TaskExecution.ExecutionStatus.PENDING, null);
+        when(batchApi.readNamespacedJobStatus(eq("exec-late"), eq("kaiburr"), any()))
+            .thenThrow(new ApiException(404, "Not Found"))
+            .thenReturn(new V1Job().metadata(new V1ObjectMeta().name("exec-late").resourceVersion("3"))
+                .status(new V1JobStatus().succeeded(1)));
+        CommandRunner.ExecutionResult result = CommandRunner.ExecutionResult.builder()
+            .jobName("exec-late").exitCode(0).stdout("late").stderr("").durationMs(42).build();
+        when(jobRunner.collectResult(eq("exec-late"), any())).thenReturn(result);
+
+        recovery.recoverJob("exec-late", List.of(new ExecutionRecovery.InFlight("t1", pending)));
+
+        verify(taskService).recordResult("t1", pending, "e1", result);
+        verify(taskService, never()).completeExecution(any(), any());
+    }
+
+    private static Task task(String id, TaskExecution... executions) {
+        return Task.builder().id(id).executions(new ArrayList<>(List.of(executions))).build();
+    }
+
+    private static TaskExecution execution(String id, String jobName, TaskExecution.ExecutionStatus status,
+                                           Integer batchIndex) {
+        return TaskExecution.builder()
+            .id(id)
+            .jobName(jobName)
+            .execUuid("uuid-" + id)
+            .batchIndex(batchIndex)
+            .status(status)
+            .startedAt(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,56 @@
+package dev.adityar.kaiburr.task2.service;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ExecutionTracer.
+ *
+ * Tests that phases are recorded as kaiburr.execution.phase timers.
+ *
+ * @author Aditya R
+ */
+class ExecutionTracerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutionTracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        tracer = new ExecutionTracer(observationRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time a phase and return its result")
+    void testTracePhase() {
+        String result = tracer.trace("validation", () -> "ok");
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(meterRegistry.get(ExecutionTracer.PHASE_OBSERVATION)
+            .tags("phase", "validation", "error", "none")
+            .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rethrow checked exceptions and tag the phase with the error")
+    void testTracePhaseError() {
+        assertThatThrownBy(() -> tracer.run("job_create", () -> {
+            throw new IOException("connection reset");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(meterRegistry.get(ExecutionTracer.PHASE_OBSERVATION)
+            .tags("phase", "job_create", "error", "IOException")
+            .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution.ExecutionStatus;
+import dev.adityar.kaiburr.task2.repo.ExecutionRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExecutionWaiter.
+ *
+ * Tests immediate answers, release on completion events and the waiter limit.
+ *
+ * @author Aditya R
+ */
+class ExecutionWaiterTest {
+
+    private ExecutionRecordRepository recordRepository;
+    private ExecutionWaiter waiter;
+
+    @BeforeEach
+    void setUp() {
+        recordRepository = mock(ExecutionRecordRepository.class);
+        waiter = new ExecutionWaiter(recordRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(waiter, "maxWaitSeconds", 60);
+        ReflectionTestUtils.setField(waiter, "maxWaiters", 2);
+    }
+
+    @Test
+    @DisplayName("Should answer at once for finished executions and zero waits")
+    void testImmediate() {
+        when(recordRepository.findById("e1")).thenReturn(Optional.of(record("e1", ExecutionStatus.SUCCEEDED)));
+        when(recordRepository.findById("e2")).thenReturn(Optional.of(record("e2", ExecutionStatus.RUNNING)));
+
+        assertThat(waiter.await("t1", "e1", 30).getResult()).extracting("status").isEqualTo(ExecutionStatus.SUCCEEDED);
+        assertThat(waiter.await("t1", "e2", 0).getResult()).extracting("status").isEqualTo(ExecutionStatus.RUNNING);
+        assertThat(waiter.waiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold a running execution until its completion event")
+    void testReleasedByEvent() {
+        when(recordRepository.findById("e1")).thenReturn(Optional.of(record("e1", ExecutionStatus.RUNNING)));
+
+        DeferredResult<ExecutionRecord> first = waiter.await("t1", "e1", 30);
+        DeferredResult<ExecutionRecord> second = waiter.await("t1", "e1", 30);
+        assertThat(first.hasResult()).isFalse();
+        assertThat(waiter.waiting()).isEqualTo(2);
+
+        waiter.onCompleted(new ExecutionCompletedEvent(record("e1", ExecutionStatus.FAILED)));
+
+        assertThat(first.getResult()).extracting("status").isEqualTo(ExecutionStatus.FAILED);
+        assertThat(second.getResult()).extracting("status").isEqualTo(ExecutionStatus.FAILED);
+        assertThat(waiter.waiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not park a wait whose execution finished while it registered")
+    void testCompletedDuringRegistration() {
+        when(recordRepository.findById("e1"))
+            .thenReturn(Optional.of(record("e1", ExecutionStatus.PENDING)))
+            .thenReturn(Optional.of(record("e1", ExecutionStatus.SUCCEEDED)));
+
+        assertThat(waiter.await("t1", "e1", 30).getResult()).extracting("status").isEqualTo(ExecutionStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should answer immediately once the waiter limit is reached")
+    void testLimit() {
+        when(recordRepository.findById("e1")).thenReturn(Optional.of(record("e1", ExecutionStatus.RUNNING)));
+
+        waiter.await("t1", "e1", 30);
+        waiter.await("t1", "e1", 30);
+
+        assertThat(waiter.await("t1", "e1", 30).hasResult()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown executions, executions of other tasks and negative waits")
+    void testInvalid() {
+        when(recordRepository.findById("e1")).thenReturn(Optional.of(record("e1", ExecutionStatus.RUNNING)));
+
+        assertThatThrownBy(() -> waiter.await("t2", "e1", 30)).isInstanceOf(TaskService.TaskNotFoundException.class);
+        assertThatThrownBy(() -> waiter.await("t1", "missing", 30)).isInstanceOf(TaskService.TaskNotFoundException.class);
+        assertThatThrownBy(() -> waiter.await("t1", "e1", -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ExecutionRecord record(String id, ExecutionStatus status) {
+        return ExecutionRecord.builder().id(id).taskId("t1").status(status).build();
+    }
+}
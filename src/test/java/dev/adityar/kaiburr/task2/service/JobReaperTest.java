@@ -0,0 +1,153 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.models.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobReaper.
+ *
+ * Tests paginated listing, staleness rules and execution reconciliation.
+ *
+ * @author Aditya R
+ */
+class JobReaperTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private BatchV1Api batchApi;
+    private TaskService taskService;
+    private SimpleMeterRegistry meterRegistry;
+    private JobReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        batchApi = mock(BatchV1Api.class);
+        taskService = mock(TaskService.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        KubernetesApiGateway gateway = new KubernetesApiGateway(meterRegistry);
+        ReflectionTestUtils.setField(gateway, "qps", 1000.0);
+        ReflectionTestUtils.setField(gateway, "burst", 100);
+        ReflectionTestUtils.setField(gateway, "initialConcurrency", 8);
+        ReflectionTestUtils.setField(gateway, "minConcurrency", 1);
+        ReflectionTestUtils.setField(gateway, "maxConcurrency", 16);
+        ReflectionTestUtils.setField(gateway, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(gateway, "acquireTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(gateway, "maxAttempts", 1);
+        gateway.init();
+
+        reaper = new JobReaper(batchApi, gateway, taskService, meterRegistry);
+        ReflectionTestUtils.setField(reaper, "namespace", "kaiburr");
+        ReflectionTestUtils.setField(reaper, "ttlSeconds", 120);
+        ReflectionTestUtils.setField(reaper, "activeDeadlineSeconds", 15);
+        ReflectionTestUtils.setField(reaper, "graceSeconds", 60);
+        ReflectionTestUtils.setField(reaper, "pageSize", 2);
+        ReflectionTestUtils.setField(reaper, "maxDeletesPerRun", 10);
+    }
+
+    @Test
+    @DisplayName("Should follow continue tokens and delete only stale Jobs")
+    void testReapAcrossPages() throws Exception {
+        V1Job expired = finishedJob("exec-expired", NOW.minusSeconds(600), null);
+        V1Job fresh = finishedJob("exec-fresh", NOW.minusSeconds(30), null);
+        V1Job orphaned = activeJob("exec-orphaned", NOW.minusSeconds(3600));
+
+        when(batchApi.listNamespacedJob(eq("kaiburr"), any(), any(), isNull(), any(), eq(JobReaper.LABEL_SELECTOR),
+                eq(2), any(), any(), any(), any(), any()))
+            .thenReturn(page("token-1", expired, fresh));
+        when(batchApi.listNamespacedJob(eq("kaiburr"), any(), any(), eq("token-1"), any(), eq(JobReaper.LABEL_SELECTOR),
+                eq(2), any(), any(), any(), any(), any()))
+            .thenReturn(page(null, orphaned));
+
+        int reaped = reaper.reap(NOW);
+
+        assertThat(reaped).isEqualTo(2);
+        verify(batchApi).deleteNamespacedJob(eq("exec-expired"), eq("kaiburr"), any(), any(), any(), any(),
+            eq("Background"), any());
+        verify(batchApi).deleteNamespacedJob(eq("exec-orphaned"), eq("kaiburr"), any(), any(), any(), any(),
+            eq("Background"), any());
+        verify(batchApi, never()).deleteNamespacedJob(eq("exec-fresh"), any(), any(), any(), any(), any(), any(), any());
+        assertThat(meterRegistry.get("kaiburr.reaper.jobs").tag("reason", "expired").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("kaiburr.reaper.jobs").tag("reason", "orphaned").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reconcile executions of reaped Jobs to TIMEOUT or FAILED")
+    void testReconcileStatuses() throws Exception {
+        V1Job deadline = finishedJob("exec-deadline", NOW.minusSeconds(600), "DeadlineExceeded");
+        V1Job failed = finishedJob("exec-lost", NOW.minusSeconds(600), null);
+
+        when(batchApi.listNamespacedJob(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(page(null, deadline, failed));
+        when(taskService.completeStaleExecutions(any(), any(), any(), any())).thenReturn(List.of());
+        when(taskService.completeStaleExecutions(eq("exec-deadline"), any(), any(), any()))
+            .thenReturn(List.of(record("exec-1", "exec-deadline"), record("exec-2", "exec-deadline")));
+
+        reaper.reap(NOW);
+
+        verify(taskService).completeStaleExecutions(eq("exec-deadline"),
+            eq(TaskExecution.ExecutionStatus.TIMEOUT), anyString(), eq(NOW));
+        verify(taskService).completeStaleExecutions(eq("exec-lost"),
+            eq(TaskExecution.ExecutionStatus.FAILED), anyString(), eq(NOW));
+        assertThat(meterRegistry.get("kaiburr.reaper.executions").tag("status", "TIMEOUT").counter().count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should use the Job's own activeDeadlineSeconds for active Jobs")
+    void testActiveJobDeadline() {
+        V1Job batchJob = activeJob("exec-batch", NOW.minusSeconds(200));
+        batchJob.getSpec().setActiveDeadlineSeconds(300L);
+
+        assertThat(reaper.staleReason(batchJob, NOW)).isNull();
+        assertThat(reaper.staleReason(batchJob, NOW.plusSeconds(200))).isEqualTo("orphaned");
+    }
+
+    private static ExecutionRecord record(String id, String jobName) {
+        return ExecutionRecord.builder()
+            .id(id)
+            .taskId("task-1")
+            .jobName(jobName)
+            .status(TaskExecution.ExecutionStatus.TIMEOUT)
+            .completedAt(NOW)
+            .build();
+    }
+
+    private static V1JobList page(String continueToken, V1Job... jobs) {
+        return new V1JobList().metadata(new V1ListMeta()._continue(continueToken)).items(List.of(jobs));
+    }
+
+    private static V1Job finishedJob(String name, Instant finishedAt, String failureReason) {
+        V1Job job = activeJob(name, finishedAt.minusSeconds(10));
+        V1JobCondition condition = new V1JobCondition()
+            .type(failureReason != null ? "Failed" : "Complete")
+            .status("True")
+            .reason(failureReason)
+            .lastTransitionTime(OffsetDateTime.ofInstant(finishedAt, ZoneOffset.UTC));
+        job.setStatus(new V1JobStatus().conditions(List.of(condition)));
+        return job;
+    }
+
+    private static V1Job activeJob(String name, Instant createdAt) {
+        return new V1Job()
+            .metadata(new V1ObjectMeta().name(name).creationTimestamp(OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC)))
+            .spec(new V1JobSpec())
+            .status(new V1JobStatus().active(1));
+    }
+}
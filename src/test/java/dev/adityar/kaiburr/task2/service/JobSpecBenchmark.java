@@ -0,0 +1,82 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.config.ExecutorSchedulingProperties;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.JSON;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of per-execution Job creation overhead (request body only).
+ *
+ * Compares building the V1Job graph and serializing it with Gson against
+ * rendering the pre-serialized JobTemplate.
+ *
+ * Run with (JMH forks a JVM, so use exec:exec rather than exec:java):
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath dev.adityar.kaiburr.task2.service.JobSpecBenchmark"
+ *
+ * @author Aditya R
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobSpecBenchmark {
+
+    private static final List<String> ARGS = List.of("-la", "/tmp", "--color=never");
+
+    private KubernetesCommandRunner runner;
+    private JSON json;
+    private JobTemplate template;
+    private CommandValidator.CommandPolicy.ResourceClass resources;
+
+    @Setup
+    public void setUp() {
+        ApiClient apiClient = new ApiClient();
+        json = apiClient.getJSON();
+        CommandValidator validator = new CommandValidator();
+        validator.init();
+        runner = new KubernetesCommandRunner(apiClient, null, null, null, validator,
+            new ExecutorSchedulingProperties(), new ExecutionMetrics(new SimpleMeterRegistry(), validator),
+            new ExecutionTracer(ObservationRegistry.NOOP), null);
+        ReflectionTestUtils.setField(runner, "namespace", "kaiburr");
+        ReflectionTestUtils.setField(runner, "executorImage", "kaiburr-executor:dev");
+        ReflectionTestUtils.setField(runner, "ttlSeconds", 120);
+        ReflectionTestUtils.setField(runner, "activeDeadlineSeconds", 15);
+        ReflectionTestUtils.setField(runner, "backoffLimit", 0);
+        ReflectionTestUtils.setField(runner, "imagePullPolicy", "IfNotPresent");
+        runner.compileJobTemplate();
+        template = runner.templateFor("small");
+        resources = validator.getResourceClass("small");
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() {
+        return json.serialize(runner.buildJobSpec("exec-task-42-1a2b3c4d", "task-42",
+            "0f8fad5b-d9cb-469f-a165-70867728950e", "ls", ARGS, 15, "small", resources)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] renderTemplate() {
+        return template.render("exec-task-42-1a2b3c4d", "task-42",
+            "0f8fad5b-d9cb-469f-a165-70867728950e", "ls", ARGS, 15);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(JobSpecBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,169 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.config.ExecutorSchedulingProperties;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.*;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JobTemplate.
+ *
+ * Tests that rendered Job bodies match the Job built by buildJobSpec.
+ *
+ * @author Aditya R
+ */
+class JobTemplateTest {
+
+    private JSON json;
+    private CommandValidator validator;
+    private KubernetesCommandRunner runner;
+    private JobTemplate template;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ApiClient apiClient = new ApiClient();
+        json = apiClient.getJSON();
+        validator = new CommandValidator();
+        validator.init();
+        meterRegistry = new SimpleMeterRegistry();
+        ExecutorSchedulingProperties scheduling = new ExecutorSchedulingProperties();
+        scheduling.setPriorityClassName("kaiburr-executor");
+        scheduling.getNodeAffinity().getPreferred().put("kaiburr.dev/executor", "true");
+        ExecutorSchedulingProperties.Toleration toleration = new ExecutorSchedulingProperties.Toleration();
+        toleration.setKey("kaiburr.dev/executor");
+        toleration.setValue("true");
+        toleration.setEffect("NoSchedule");
+        scheduling.getTolerations().add(toleration);
+        runner = new KubernetesCommandRunner(apiClient, null, null, null, validator, scheduling,
+            new ExecutionMetrics(meterRegistry, validator),
+            new ExecutionTracer(ObservationRegistry.NOOP), null);
+        ReflectionTestUtils.setField(runner, "namespace", "kaiburr");
+        ReflectionTestUtils.setField(runner, "executorImage", "kaiburr-executor:dev");
+        ReflectionTestUtils.setField(runner, "ttlSeconds", 120);
+        ReflectionTestUtils.setField(runner, "activeDeadlineSeconds", 15);
+        ReflectionTestUtils.setField(runner, "backoffLimit", 0);
+        ReflectionTestUtils.setField(runner, "imagePullPolicy", "IfNotPresent");
+        runner.compileJobTemplate();
+        template = runner.templateFor("small");
+    }
+
+    @Test
+    @DisplayName("Should render the same Job as buildJobSpec")
+    void testRenderMatchesBuiltJob() {
+        List<String> args = List.of("-la", "/tmp");
+
+        V1Job rendered = parse(template.render("exec-abc-1234", "abc", "uuid-1", "ls", args, 15));
+        V1Job built = runner.buildJobSpec("exec-abc-1234", "abc", "uuid-1", "ls", args, 15,
+            "small", validator.getResourceClass("small"));
+
+        assertThat(rendered).isEqualTo(built);
+    }
+
+    @Test
+    @DisplayName("Should escape arguments and handle empty argument lists")
+    void testEscapingAndEmptyArgs() {
+        List<String> args = List.of("say \"hi\"", "back\\slash", "line\nbreak\u0001");
+
+        V1Job rendered = parse(template.render("exec-x", "x", "u", "echo", args, 40));
+        V1Job empty = parse(template.render("exec-y", "y", "u", "date", List.of(), 15));
+
+        assertThat(rendered.getSpec().getTemplate().getSpec().getContainers().get(0).getArgs()).isEqualTo(args);
+        assertThat(rendered.getSpec().getActiveDeadlineSeconds()).isEqualTo(40L);
+        assertThat(empty.getSpec().getTemplate().getSpec().getContainers().get(0).getArgs()).isEmpty();
+        assertThat(empty.getSpec().getTemplate().getSpec().getContainers().get(0).getCommand())
+            .containsExactly("/usr/bin/date");
+    }
+
+    @Test
+    @DisplayName("Should compile one template per resource class")
+    void testResourceClassTemplates() {
+        V1Job large = parse(runner.templateFor("large").render("exec-z", "z", "u", "date", List.of(), 15));
+
+        assertThat(large.getMetadata().getLabels()).containsEntry("resourceClass", "large");
+        assertThat(large.getSpec().getTemplate().getSpec().getContainers().get(0).getResources().getLimits()
+            .get("memory").toSuffixedString()).isEqualTo("512Mi");
+        assertThat(runner.templateFor("small")).isSameAs(template);
+        assertThatThrownBy(() -> runner.templateFor("huge"))
+            .isInstanceOf(CommandRunner.CommandExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("Should label each class's Jobs with its own name when definitions are equal")
+    void testEqualClassDefinitions() {
+        CommandValidator.CommandPolicy policy =
+            (CommandValidator.CommandPolicy) ReflectionTestUtils.getField(validator, "policy");
+        policy.getResources().getClasses().put("tiny", validator.getResourceClass("small"));
+
+        V1Job tiny = parse(runner.templateFor("tiny").render("exec-t", "t", "u", "date", List.of(), 15));
+
+        assertThat(tiny.getMetadata().getLabels()).containsEntry("resourceClass", "tiny");
+        assertThat(tiny.getSpec().getTemplate().getMetadata().getLabels()).containsEntry("resourceClass", "tiny");
+        assertThat(runner.templateFor("small")).isSameAs(template);
+    }
+
+    @Test
+    @DisplayName("Should bake priority class, node affinity and tolerations into the template")
+    void testSchedulingInTemplate() {
+        V1PodSpec pod = parse(template.render("exec-s", "s", "u", "date", List.of(), 15))
+            .getSpec().getTemplate().getSpec();
+
+        assertThat(pod.getPriorityClassName()).isEqualTo("kaiburr-executor");
+        V1PreferredSchedulingTerm preferred = pod.getAffinity().getNodeAffinity()
+            .getPreferredDuringSchedulingIgnoredDuringExecution().get(0);
+        assertThat(preferred.getWeight()).isEqualTo(50);
+        assertThat(preferred.getPreference().getMatchExpressions().get(0).getKey()).isEqualTo("kaiburr.dev/executor");
+        assertThat(pod.getAffinity().getNodeAffinity().getRequiredDuringSchedulingIgnoredDuringExecution()).isNull();
+        assertThat(pod.getTolerations()).extracting(V1Toleration::getEffect).containsExactly("NoSchedule");
+    }
+
+    @Test
+    @DisplayName("Should record pod scheduling, startup and run phases from pod timestamps")
+    void testStartupPhases() {
+        OffsetDateTime created = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        V1Pod pod = new V1Pod()
+            .metadata(new V1ObjectMeta()
+                .creationTimestamp(created)
+                .labels(Map.of("resourceClass", "medium")))
+            .status(new V1PodStatus()
+                .conditions(List.of(new V1PodCondition()
+                    .type("PodScheduled").status("True").lastTransitionTime(created.plusSeconds(2))))
+                .containerStatuses(List.of(new V1ContainerStatus()
+                    .name("executor")
+                    .state(new V1ContainerState().terminated(new V1ContainerStateTerminated()
+                        .startedAt(created.plusSeconds(5))
+                        .finishedAt(created.plusSeconds(9)))))));
+
+        runner.recordStartupPhases(pod);
+
+        assertThat(phase("scheduling").totalTime(TimeUnit.SECONDS)).isEqualTo(2.0);
+        assertThat(phase("startup").totalTime(TimeUnit.SECONDS)).isEqualTo(3.0);
+        assertThat(phase("run").totalTime(TimeUnit.SECONDS)).isEqualTo(4.0);
+    }
+
+    private Timer phase(String phase) {
+        return meterRegistry.get("kaiburr.executor.pod.phase")
+            .tags("phase", phase, "resource_class", "medium")
+            .timer();
+    }
+
+    private V1Job parse(byte[] body) {
+        return json.deserialize(new String(body, StandardCharsets.UTF_8), V1Job.class);
+    }
+}
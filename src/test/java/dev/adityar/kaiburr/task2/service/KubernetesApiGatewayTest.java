@@ -0,0 +1,118 @@
+package dev.adityar.kaiburr.task2.service;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for KubernetesApiGateway.
+ *
+ * Tests retry policy for throttled, failing and non-idempotent calls.
+ *
+ * @author Aditya R
+ */
+class KubernetesApiGatewayTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private KubernetesApiGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gateway = new KubernetesApiGateway(meterRegistry);
+        ReflectionTestUtils.setField(gateway, "qps", 1000.0);
+        ReflectionTestUtils.setField(gateway, "burst", 100);
+        ReflectionTestUtils.setField(gateway, "initialConcurrency", 8);
+        ReflectionTestUtils.setField(gateway, "minConcurrency", 1);
+        ReflectionTestUtils.setField(gateway, "maxConcurrency", 16);
+        ReflectionTestUtils.setField(gateway, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(gateway, "acquireTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(gateway, "maxAttempts", 3);
+        ReflectionTestUtils.setField(gateway, "baseBackoffMs", 1L);
+        ReflectionTestUtils.setField(gateway, "maxBackoffMs", 5L);
+        ReflectionTestUtils.setField(gateway, "maxRetryAfterMs", 20L);
+        gateway.init();
+    }
+
+    @Test
+    @DisplayName("Should retry throttled writes honouring Retry-After")
+    void testThrottledWriteIsRetried() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = gateway.write("create_job", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ApiException(429, Map.of("Retry-After", List.of("1")), "Too Many Requests");
+            }
+            return "created";
+        });
+
+        assertThat(result).isEqualTo("created");
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("kaiburr.k8s.api.retries").tag("reason", "throttled").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should retry reads on server errors until attempts run out")
+    void testReadRetriesOnServerError() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> gateway.read("read_job_status", () -> {
+            calls.incrementAndGet();
+            throw new ApiException(503, "Service Unavailable");
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should not retry writes on server errors")
+    void testWriteNotRetriedOnServerError() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> gateway.write("create_job", () -> {
+            calls.incrementAndGet();
+            throw new ApiException(500, "Internal Server Error");
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not retry client errors")
+    void testClientErrorNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> gateway.read("read_pod_log", () -> {
+            calls.incrementAndGet();
+            throw new ApiException(404, "Not Found");
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should shrink concurrency limit on overload and record latency per operation")
+    void testAdaptiveLimitAndMetrics() throws Exception {
+        assertThatThrownBy(() -> gateway.write("create_job", () -> {
+            throw new ApiException(500, "Internal Server Error");
+        })).isInstanceOf(ApiException.class);
+
+        gateway.read("list_pods", () -> "ok");
+
+        assertThat(meterRegistry.get("kaiburr.k8s.api.concurrency.limit").gauge().value()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("kaiburr.k8s.api.duration")
+            .tag("operation", "create_job").tag("outcome", "5xx").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kaiburr.k8s.api.duration")
+            .tag("operation", "list_pods").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+}
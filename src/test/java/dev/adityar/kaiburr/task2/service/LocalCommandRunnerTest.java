@@ -0,0 +1,51 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LocalCommandRunner.
+ *
+ * Tests output truncation at the 128 KiB cap.
+ *
+ * @author Aditya R
+ */
+@EnabledOnOs(OS.LINUX)
+class LocalCommandRunnerTest {
+
+    private LocalCommandRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new LocalCommandRunner(new ExecutionTracer(ObservationRegistry.NOOP));
+    }
+
+    @Test
+    @DisplayName("Should not mark output that reaches the cap exactly as truncated")
+    void testOutputAtCap() {
+        CommandRunner.ExecutionResult result = runner.execute(task("head", "-c", "131071", "/dev/zero"));
+
+        assertThat(result.getStdout()).hasSize(131072).doesNotEndWith(CommandRunner.TRUNCATION_MARKER);
+    }
+
+    @Test
+    @DisplayName("Should mark output that continues past the cap as truncated")
+    void testOutputPastCap() {
+        CommandRunner.ExecutionResult result = runner.execute(task("seq", "1", "100000"));
+
+        assertThat(result.getStdout()).endsWith(CommandRunner.TRUNCATION_MARKER);
+    }
+
+    private static Task task(String command, String... args) {
+        return Task.builder().id("t1").name("t1").command(command).args(List.of(args)).build();
+    }
+}
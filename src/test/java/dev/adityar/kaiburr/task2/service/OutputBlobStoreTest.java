@@ -0,0 +1,89 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.OutputBlob;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.OutputBlobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutputBlobStore.
+ *
+ * Tests that repeated output shares one blob and that refs resolve and release.
+ *
+ * @author Aditya R
+ */
+class OutputBlobStoreTest {
+
+    private static final String UNAME = "Linux executor-7f9c 6.1.0-18-amd64 #1 SMP PREEMPT_DYNAMIC x86_64 GNU/Linux\n";
+
+    private OutputBlobRepository blobRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private OutputBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        blobRepository = mock(OutputBlobRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        CommandValidator validator = new CommandValidator();
+        validator.init();
+        ExecutionMetrics metrics = new ExecutionMetrics(meterRegistry, validator);
+        OutputCompressor compressor = new OutputCompressor(metrics);
+        ReflectionTestUtils.setField(compressor, "enabled", true);
+        ReflectionTestUtils.setField(compressor, "thresholdBytes", 4096);
+        store = new OutputBlobStore(blobRepository, compressor, metrics);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "minBytes", 64);
+    }
+
+    @Test
+    @DisplayName("Should store identical output once and reference it from each execution")
+    void testExternalizeDeduplicates() {
+        when(blobRepository.addReference(any())).thenReturn(false, true);
+        when(blobRepository.acquire(any())).thenReturn(true);
+
+        TaskExecution first = store.externalize(TaskExecution.builder().id("e1").stdout(UNAME).stderr("").build());
+        TaskExecution second = store.externalize(TaskExecution.builder().id("e2").stdout(UNAME).stderr("").build());
+
+        ArgumentCaptor<OutputBlob> captor = ArgumentCaptor.forClass(OutputBlob.class);
+        verify(blobRepository, times(1)).acquire(captor.capture());
+        assertThat(captor.getValue().getId()).hasSize(64).isEqualTo(first.getStdoutRef());
+        assertThat(captor.getValue().getContent()).isEqualTo(UNAME);
+        assertThat(second.getStdoutRef()).isEqualTo(first.getStdoutRef());
+        assertThat(second.getStdout()).isNull();
+        // Short output stays inline
+        assertThat(second.getStderrRef()).isNull();
+        assertThat(second.getStderr()).isEmpty();
+        assertThat(meterRegistry.get("kaiburr.execution.output.blobs").tag("result", "reused").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should resolve refs with one lookup and release each reference")
+    void testResolveAndRelease() {
+        String id = OutputBlobStore.sha256(UNAME.getBytes());
+        when(blobRepository.findAllById(any())).thenReturn(List.of(
+            OutputBlob.builder().id(id).content(UNAME).refCount(2).build()));
+        List<TaskExecution> executions = List.of(
+            TaskExecution.builder().id("e1").stdoutRef(id).build(),
+            TaskExecution.builder().id("e2").stdoutRef(id).stderr("inline").build());
+
+        store.resolve(executions);
+        store.release(executions);
+
+        assertThat(executions).extracting(TaskExecution::getStdout).containsOnly(UNAME);
+        assertThat(executions.get(1).getStderr()).isEqualTo("inline");
+        verify(blobRepository, times(1)).findAllById(any());
+        verify(blobRepository).release(List.of(id, id));
+    }
+}
@@ -0,0 +1,65 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for OutputCompressor.
+ *
+ * Tests which outputs are stored deflated and that they read back unchanged.
+ *
+ * @author Aditya R
+ */
+class OutputCompressorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutputCompressor compressor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        CommandValidator validator = new CommandValidator();
+        validator.init();
+        compressor = new OutputCompressor(new ExecutionMetrics(meterRegistry, validator));
+        ReflectionTestUtils.setField(compressor, "enabled", true);
+        ReflectionTestUtils.setField(compressor, "thresholdBytes", 1024);
+    }
+
+    @Test
+    @DisplayName("Should deflate large output and inflate it on read")
+    void testCompressLargeOutput() {
+        String env = "PATH=/usr/local/sbin:/usr/local/bin:/usr/sbin:/usr/bin\nHOME=/home/nonroot\n".repeat(200)
+            + "LANG=C.UTF-8 ⟂\n";
+        TaskExecution execution = TaskExecution.builder().id("e1").stdout(env).stderr("warn\n").build();
+
+        TaskExecution stored = compressor.compress(execution);
+
+        assertThat(stored.getStdoutDeflated()).isNotNull();
+        assertThat(stored.getStdoutDeflated().length).isLessThan(env.length() / 10);
+        assertThat(ReflectionTestUtils.getField(stored, "stdout")).isNull();
+        assertThat(stored.getStdout()).isEqualTo(env);
+        assertThat(stored.getStderr()).isEqualTo("warn\n");
+        assertThat(stored.getStderrDeflated()).isNull();
+        assertThat(stored.withoutOutput().getStdout()).isNull();
+        assertThat(meterRegistry.get("kaiburr.execution.output.compression.ratio")
+            .tag("stream", "stdout").summary().max()).isGreaterThan(10.0);
+    }
+
+    @Test
+    @DisplayName("Should keep small output plain, and everything plain when disabled")
+    void testKeepPlain() {
+        TaskExecution small = TaskExecution.builder().stdout("hello\n").build();
+        TaskExecution large = TaskExecution.builder().stdout("x".repeat(8192)).build();
+
+        assertThat(compressor.compress(small)).isSameAs(small);
+
+        ReflectionTestUtils.setField(compressor, "enabled", false);
+        assertThat(compressor.compress(large)).isSameAs(large);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.adityar.kaiburr.task2.service;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutputSpillStore.
+ *
+ * Tests the inline preview, the bytes streamed to GridFS and the size cap.
+ *
+ * @author Aditya R
+ */
+class OutputSpillStoreTest {
+
+    private GridFsTemplate gridFsTemplate;
+    private OutputSpillStore store;
+    private AtomicReference<byte[]> stored;
+
+    @BeforeEach
+    void setUp() {
+        gridFsTemplate = mock(GridFsTemplate.class);
+        store = new OutputSpillStore(gridFsTemplate);
+        stored = new AtomicReference<>();
+        when(gridFsTemplate.store(any(InputStream.class), anyString(), anyString(), any(Document.class)))
+            .thenAnswer(invocation -> {
+                stored.set(invocation.<InputStream>getArgument(0).readAllBytes());
+                return new ObjectId();
+            });
+    }
+
+    @Test
+    @DisplayName("Should keep output that fits the preview out of GridFS")
+    void testSmallOutputStaysInline() throws Exception {
+        OutputSpillStore.SpilledOutput spilled = store.spill("exec-1-stdout", stream("hello\n"), 16, 1024);
+
+        assertThat(spilled.getFileId()).isNull();
+        assertThat(spilled.getPreview()).isEqualTo("hello\n");
+        verifyNoInteractions(gridFsTemplate);
+    }
+
+    @Test
+    @DisplayName("Should stream full output to GridFS up to the cap and cut the preview on a character boundary")
+    void testSpillLargeOutput() throws Exception {
+        String output = "abcdefg€" + "x".repeat(100);
+
+        OutputSpillStore.SpilledOutput full = store.spill("exec-1-stdout", stream(output), 9, 1024);
+
+        assertThat(full.getFileId()).isNotNull();
+        assertThat(new String(stored.get(), StandardCharsets.UTF_8)).isEqualTo(output);
+        assertThat(full.getSize()).isEqualTo(output.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(full.getPreview()).isEqualTo("abcdefg");
+        assertThat(full.isTruncated()).isFalse();
+
+        OutputSpillStore.SpilledOutput capped = store.spill("exec-2-stdout", stream(output), 9, 50);
+
+        assertThat(stored.get()).hasSize(50);
+        assertThat(capped.getSize()).isEqualTo(50);
+        assertThat(capped.isTruncated()).isTrue();
+    }
+
+    private static InputStream stream(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
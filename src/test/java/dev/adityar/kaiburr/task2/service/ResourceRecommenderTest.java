@@ -0,0 +1,104 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ResourceRecommender.
+ *
+ * Tests upsizing on OOM kills and timeouts, downsizing on short runs, and
+ * the starting class of auto-sized tasks.
+ *
+ * @author Aditya R
+ */
+class ResourceRecommenderTest {
+
+    private ResourceRecommender recommender;
+
+    @BeforeEach
+    void setUp() {
+        CommandValidator validator = new CommandValidator();
+        validator.init();
+        recommender = new ResourceRecommender(validator);
+        ReflectionTestUtils.setField(recommender, "activeDeadlineSeconds", 15);
+        ReflectionTestUtils.setField(recommender, "window", 20);
+        ReflectionTestUtils.setField(recommender, "minSamples", 5);
+        ReflectionTestUtils.setField(recommender, "upsizeTimeoutRatio", 0.2);
+        ReflectionTestUtils.setField(recommender, "downsizeDurationRatio", 0.25);
+    }
+
+    @Test
+    @DisplayName("Should recommend a larger class after an OOM kill")
+    void testUpsizeOnOomKill() {
+        List<TaskExecution> executions = executions("small", 6, 8000);
+        executions.get(0).setTerminationReason("OOMKilled");
+        Task task = Task.builder().id("t1").executions(executions).build();
+
+        ResourceRecommender.Recommendation recommendation = recommender.recommend(task);
+
+        assertThat(recommendation.getCurrentClass()).isEqualTo("small");
+        assertThat(recommendation.getRecommendedClass()).isEqualTo("medium");
+        assertThat(recommendation.getOomKills()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should recommend a smaller class when runs finish well within the deadline")
+    void testDownsizeOnShortRuns() {
+        Task task = Task.builder().id("t1").resourceClass("large").executions(executions("large", 10, 300)).build();
+
+        ResourceRecommender.Recommendation recommendation = recommender.recommend(task);
+
+        assertThat(recommendation.getRecommendedClass()).isEqualTo("medium");
+        assertThat(recommendation.getSampleSize()).isEqualTo(10);
+        assertThat(recommendation.getP95DurationMs()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Should keep the class without enough samples")
+    void testKeepWithoutSamples() {
+        Task task = Task.builder().id("t1").resourceClass("medium").executions(executions("small", 10, 300)).build();
+
+        ResourceRecommender.Recommendation recommendation = recommender.recommend(task);
+
+        assertThat(recommendation.getRecommendedClass()).isEqualTo("medium");
+        assertThat(recommendation.getSampleSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should start from the latest execution's class for a task without one")
+    void testAutoSizedTaskUsesLatestClass() {
+        List<TaskExecution> executions = executions("medium", 6, 8000);
+        executions.get(0).setTerminationReason("OOMKilled");
+        Task task = Task.builder().id("t1").executions(executions).build();
+
+        ResourceRecommender.Recommendation recommendation = recommender.recommend(task);
+
+        assertThat(recommendation.getCurrentClass()).isEqualTo("medium");
+        assertThat(recommendation.getRecommendedClass()).isEqualTo("large");
+        assertThat(recommendation.getSampleSize()).isEqualTo(6);
+    }
+
+    private static List<TaskExecution> executions(String resourceClass, int count, long durationMs) {
+        List<TaskExecution> executions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            executions.add(TaskExecution.builder()
+                .id("e" + i)
+                .status(TaskExecution.ExecutionStatus.SUCCEEDED)
+                .resourceClass(resourceClass)
+                .durationMs(durationMs)
+                .completedAt(Instant.now().minusSeconds(i))
+                .build());
+        }
+        return executions;
+    }
+}
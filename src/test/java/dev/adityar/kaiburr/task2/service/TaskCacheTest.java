@@ -0,0 +1,159 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.repo.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskCache.
+ *
+ * Tests read-through loading, invalidation, the size bound and copy semantics.
+ *
+ * @author Aditya R
+ */
+class TaskCacheTest {
+
+    private TaskRepository taskRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCache cache;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskCache(taskRepository, meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+    }
+
+    @Test
+    @DisplayName("Should load a task once and serve later reads from the cache")
+    void testReadThrough() {
+        when(taskRepository.findDefinition("t1")).thenReturn(Optional.of(task("t1")));
+
+        assertThat(cache.get("t1")).map(Task::getCommand).contains("echo");
+        assertThat(cache.get("t1")).map(Task::getCommand).contains("echo");
+
+        verify(taskRepository, times(1)).findDefinition("t1");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing tasks")
+    void testMissing() {
+        assertThat(cache.get("missing")).isEmpty();
+        assertThat(cache.get("missing")).isEmpty();
+
+        verify(taskRepository, times(2)).findDefinition("missing");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload a task after it is invalidated")
+    void testInvalidate() {
+        when(taskRepository.findDefinition("t1"))
+            .thenReturn(Optional.of(task("t1")))
+            .thenReturn(Optional.of(task("t1").toBuilder().command("date").build()));
+
+        cache.get("t1");
+        cache.invalidate("t1");
+
+        assertThat(cache.get("t1")).map(Task::getCommand).contains("date");
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that raced an invalidation")
+    void testInvalidationDuringLoad() {
+        when(taskRepository.findDefinition("t1")).thenAnswer(invocation -> {
+            cache.invalidate("t1");
+            return Optional.of(task("t1"));
+        });
+
+        assertThat(cache.get("t1")).isPresent();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used task beyond the size bound")
+    void testEviction() {
+        for (String id : List.of("t1", "t2", "t3")) {
+            when(taskRepository.findDefinition(id)).thenReturn(Optional.of(task(id)));
+        }
+
+        cache.get("t1");
+        cache.get("t2");
+        cache.get("t1");
+        cache.get("t3");
+        cache.get("t1");
+        cache.get("t2");
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(taskRepository, times(1)).findDefinition("t1");
+        verify(taskRepository, times(2)).findDefinition("t2");
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload a task once its TTL has passed")
+    void testTtl() {
+        when(taskRepository.findDefinition("t1")).thenReturn(Optional.of(task("t1")));
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+
+        cache.get("t1");
+        cache.get("t1");
+
+        verify(taskRepository, times(2)).findDefinition("t1");
+    }
+
+    @Test
+    @DisplayName("Should hand out copies that do not change the cached task")
+    void testCopies() {
+        when(taskRepository.findDefinition("t1")).thenReturn(Optional.of(task("t1")));
+
+        Task first = cache.get("t1").orElseThrow();
+        first.setResourceClass("large");
+        first.getArgs().add("extra");
+        first.getExecutions().add(null);
+
+        Task second = cache.get("t1").orElseThrow();
+        assertThat(second.getResourceClass()).isNull();
+        assertThat(second.getArgs()).containsExactly("hello");
+        assertThat(second.getExecutions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should go to the repository on every read when disabled")
+    void testDisabled() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        when(taskRepository.findDefinition("t1")).thenReturn(Optional.of(task("t1")));
+
+        cache.get("t1");
+        cache.get("t1");
+
+        verify(taskRepository, times(2)).findDefinition("t1");
+    }
+
+    private static Task task(String id) {
+        return Task.builder()
+            .id(id)
+            .name("Task " + id)
+            .command("echo")
+            .args(new ArrayList<>(List.of("hello")))
+            .executions(new ArrayList<>())
+            .build();
+    }
+}
@@ -0,0 +1,81 @@
+package dev.adityar.kaiburr.task2.service;
+
+import dev.adityar.kaiburr.task2.domain.Task;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.repo.ExecutionRecordRepository;
+import dev.adityar.kaiburr.task2.repo.ExecutionStatsRepository;
+import dev.adityar.kaiburr.task2.repo.ExecutionSummaryRepository;
+import dev.adityar.kaiburr.task2.repo.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskService.
+ *
+ * Tests what replacing a task does to its execution records and stats.
+ *
+ * @author Aditya R
+ */
+class TaskServiceTest {
+
+    private TaskRepository taskRepository;
+    private ExecutionRecordRepository recordRepository;
+    private ExecutionStatsRepository statsRepository;
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        recordRepository = mock(ExecutionRecordRepository.class);
+        statsRepository = mock(ExecutionStatsRepository.class);
+        CommandValidator validator = mock(CommandValidator.class);
+        when(validator.validate(any(), any())).thenReturn(new CommandValidator.ValidationResult(true, List.of()));
+        service = new TaskService(taskRepository, mock(CommandRunner.class), validator,
+            mock(ExecutionMetrics.class), mock(ResourceRecommender.class), mock(ExecutionTracer.class),
+            mock(OutputCompressor.class), mock(OutputBlobStore.class), mock(OutputSpillStore.class),
+            mock(ExecutionSummaryRepository.class), recordRepository, statsRepository,
+            mock(TaskCache.class), mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    @DisplayName("Should drop only the replaced executions' records and reset stats on replace")
+    void testReplaceCleansUpReplacedExecutions() {
+        Task existing = task(2L);
+        existing.getExecutions().add(TaskExecution.builder().id("e1").build());
+        existing.getExecutions().add(TaskExecution.builder().id("e2").build());
+        when(taskRepository.findVersion("t1")).thenReturn(Optional.of(2L));
+        when(taskRepository.replaceIfVersion(any(), eq(2L))).thenReturn(Optional.of(existing));
+
+        Task saved = service.upsertTask(task(null));
+
+        assertThat(saved.getVersion()).isEqualTo(3L);
+        verify(recordRepository).deleteAllById(List.of("e1", "e2"));
+        verify(recordRepository, never()).deleteByTaskId(any());
+        verify(statsRepository).deleteById("t1");
+    }
+
+    @Test
+    @DisplayName("Should leave records and stats alone when a task is created")
+    void testCreateKeepsStats() {
+        when(taskRepository.findVersion("t1")).thenReturn(Optional.empty());
+
+        service.upsertTask(task(null));
+
+        verify(taskRepository).insert(any(Task.class));
+        verifyNoInteractions(recordRepository, statsRepository);
+    }
+
+    private static Task task(Long version) {
+        return Task.builder().id("t1").name("t1").command("echo").version(version).executions(new ArrayList<>()).build();
+    }
+}
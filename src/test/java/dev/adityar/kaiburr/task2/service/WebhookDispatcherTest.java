@@ -0,0 +1,174 @@
+package dev.adityar.kaiburr.task2.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import dev.adityar.kaiburr.task2.domain.ExecutionRecord;
+import dev.adityar.kaiburr.task2.domain.TaskExecution.ExecutionStatus;
+import dev.adityar.kaiburr.task2.domain.WebhookOutboxEntry;
+import dev.adityar.kaiburr.task2.domain.WebhookSubscription;
+import dev.adityar.kaiburr.task2.repo.WebhookOutboxRepository;
+import dev.adityar.kaiburr.task2.repo.WebhookSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WebhookDispatcher.
+ *
+ * Tests batching, acknowledgement, backoff and signatures against a local HTTP stub.
+ *
+ * @author Aditya R
+ */
+class WebhookDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-30T12:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+
+    private HttpServer server;
+    private WebhookOutboxRepository outboxRepository;
+    private WebhookSubscriptionRepository subscriptionRepository;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            requests.add(new Request(exchange.getRequestBody().readAllBytes(),
+                exchange.getRequestHeaders().getFirst(WebhookDispatcher.SIGNATURE_HEADER)));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        server.start();
+
+        outboxRepository = mock(WebhookOutboxRepository.class);
+        subscriptionRepository = mock(WebhookSubscriptionRepository.class);
+        dispatcher = new WebhookDispatcher(outboxRepository, subscriptionRepository, objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "claimLimit", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoffInitialMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMs", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should POST completions in batches and delete acknowledged entries")
+    void testBatchedDelivery() throws IOException {
+        subscribe("s1", null);
+        when(outboxRepository.claimDue(eq(NOW), anyString(), eq(NOW.plusSeconds(60)), eq(100)))
+            .thenReturn(entries("s1", 3, 0));
+
+        assertThat(dispatcher.dispatch(NOW)).isEqualTo(3);
+
+        assertThat(requests).hasSize(2);
+        JsonNode first = objectMapper.readTree(requests.get(0).body);
+        assertThat(first.get("subscriptionId").asText()).isEqualTo("s1");
+        assertThat(first.get("executions")).hasSize(2);
+        assertThat(first.get("executions").get(0).get("status").asText()).isEqualTo("SUCCEEDED");
+        assertThat(requests.get(0).signature).isNull();
+        verify(outboxRepository).deleteAllById(List.of("s1-0", "s1-1"));
+        verify(outboxRepository).deleteAllById(List.of("s1-2"));
+    }
+
+    @Test
+    @DisplayName("Should reschedule with backoff on failure and stop sending to that subscriber")
+    void testRetry() {
+        subscribe("s1", null);
+        responseStatus.set(503);
+        when(outboxRepository.claimDue(any(), anyString(), any(), anyInt())).thenReturn(entries("s1", 3, 1));
+
+        assertThat(dispatcher.dispatch(NOW)).isZero();
+
+        assertThat(requests).hasSize(1);
+        verify(outboxRepository).reschedule(List.of("s1-0", "s1-1", "s1-2"), NOW.plusMillis(2000), "HTTP 503");
+        verify(outboxRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should drop entries that used up their attempts")
+    void testDrop() {
+        subscribe("s1", null);
+        responseStatus.set(500);
+        when(outboxRepository.claimDue(any(), anyString(), any(), anyInt())).thenReturn(entries("s1", 1, 2));
+
+        dispatcher.dispatch(NOW);
+
+        verify(outboxRepository).deleteAllById(List.of("s1-0"));
+        verify(outboxRepository, never()).reschedule(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should sign the body when the subscription has a secret")
+    void testSignature() {
+        subscribe("s1", "topsecret");
+        when(outboxRepository.claimDue(any(), anyString(), any(), anyInt())).thenReturn(entries("s1", 1, 0));
+
+        dispatcher.dispatch(NOW);
+
+        assertThat(requests.get(0).signature)
+            .isEqualTo("sha256=" + WebhookDispatcher.sign("topsecret", requests.get(0).body));
+    }
+
+    @Test
+    @DisplayName("Should double the delay per attempt up to the cap")
+    void testBackoff() {
+        assertThat(WebhookDispatcher.backoff(1, 1000, 60000)).isEqualTo(1000);
+        assertThat(WebhookDispatcher.backoff(2, 1000, 60000)).isEqualTo(2000);
+        assertThat(WebhookDispatcher.backoff(5, 1000, 60000)).isEqualTo(16000);
+        assertThat(WebhookDispatcher.backoff(40, 1000, 60000)).isEqualTo(60000);
+    }
+
+    private void subscribe(String id, String secret) {
+        WebhookSubscription subscription = WebhookSubscription.builder()
+            .id(id)
+            .url("http://127.0.0.1:" + server.getAddress().getPort() + "/hook")
+            .secret(secret)
+            .build();
+        when(subscriptionRepository.findAllById(any())).thenReturn(List.of(subscription));
+    }
+
+    private static List<WebhookOutboxEntry> entries(String subscriptionId, int count, int attempts) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> WebhookOutboxEntry.builder()
+                .id(subscriptionId + "-" + i)
+                .subscriptionId(subscriptionId)
+                .attempts(attempts)
+                .execution(ExecutionRecord.builder()
+                    .id("e" + i)
+                    .taskId("t1")
+                    .status(ExecutionStatus.SUCCEEDED)
+                    .exitCode(0)
+                    .completedAt(NOW)
+                    .build())
+                .build())
+            .toList();
+    }
+
+    private record Request(byte[] body, String signature) {
+    }
+}
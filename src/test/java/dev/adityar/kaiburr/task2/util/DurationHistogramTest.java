@@ -0,0 +1,45 @@
+package dev.adityar.kaiburr.task2.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for DurationHistogram.
+ *
+ * Tests bucket bounds and quantile estimates.
+ *
+ * @author Aditya R
+ */
+class DurationHistogramTest {
+
+    @Test
+    @DisplayName("Should place every duration in a bucket whose bounds are within 12.5%")
+    void testBuckets() {
+        for (long value : new long[] {0, 1, 7, 8, 15, 16, 17, 100, 999, 1000, 65_535, 86_400_000L}) {
+            int bucket = DurationHistogram.bucketOf(value);
+            assertThat(DurationHistogram.lowerBound(bucket)).isLessThanOrEqualTo(value);
+            assertThat(DurationHistogram.upperBound(bucket)).isGreaterThanOrEqualTo(value);
+            assertThat(DurationHistogram.upperBound(bucket) - DurationHistogram.lowerBound(bucket))
+                .isLessThanOrEqualTo(Math.max(value / 8, 0));
+        }
+        assertThat(DurationHistogram.bucketOf(86_400_000L)).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("Should estimate p50 and p95 from merged counts")
+    void testQuantile() {
+        Map<String, Long> buckets = new HashMap<>();
+        for (long ms = 1; ms <= 1000; ms++) {
+            buckets.merge(String.valueOf(DurationHistogram.bucketOf(ms)), 1L, Long::sum);
+        }
+
+        assertThat(DurationHistogram.quantile(buckets, 0.50)).isBetween(450L, 560L);
+        assertThat(DurationHistogram.quantile(buckets, 0.95)).isBetween(890L, 1010L);
+        assertThat(DurationHistogram.quantile(Map.of(), 0.5)).isNull();
+    }
+}
@@ -0,0 +1,43 @@
+package dev.adityar.kaiburr.task2.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ETags.
+ *
+ * Tests tag formatting and If-Match / If-None-Match comparison.
+ *
+ * @author Aditya R
+ */
+class ETagsTest {
+
+    @Test
+    @DisplayName("Should quote the version and treat unversioned tasks as version 0")
+    void testOf() {
+        assertThat(ETags.of(7L)).isEqualTo("\"7\"");
+        assertThat(ETags.of(null)).isEqualTo("\"0\"");
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, wildcards and weak tags")
+    void testNoneMatch() {
+        assertThat(ETags.noneMatchHits("\"7\"", "\"7\"")).isTrue();
+        assertThat(ETags.noneMatchHits("\"5\", \"7\"", "\"7\"")).isTrue();
+        assertThat(ETags.noneMatchHits("W/\"7\"", "\"7\"")).isTrue();
+        assertThat(ETags.noneMatchHits("*", "\"7\"")).isTrue();
+        assertThat(ETags.noneMatchHits("\"6\"", "\"7\"")).isFalse();
+        assertThat(ETags.noneMatchHits(null, "\"7\"")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should compare If-Match strongly")
+    void testMatch() {
+        assertThat(ETags.matchHits("\"7\"", "\"7\"")).isTrue();
+        assertThat(ETags.matchHits("*", "\"7\"")).isTrue();
+        assertThat(ETags.matchHits("W/\"7\"", "\"7\"")).isFalse();
+        assertThat(ETags.matchHits("\"70\"", "\"7\"")).isFalse();
+    }
+}
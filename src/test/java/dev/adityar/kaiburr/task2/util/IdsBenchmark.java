@@ -0,0 +1,70 @@
+package dev.adityar.kaiburr.task2.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of ID generation under concurrent callers.
+ *
+ * Compares UUID.randomUUID(), which draws from one shared SecureRandom,
+ * against Ids, for a plain ID and for the execUuid plus job name pair
+ * that each Job needs (previously two random UUIDs and a regex).
+ *
+ * Run with (JMH forks a JVM, so use exec:exec rather than exec:java):
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath dev.adityar.kaiburr.task2.util.IdsBenchmark"
+ *
+ * @author Aditya R
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdsBenchmark {
+
+    private static final String TASK_ID = "Nightly-Report_42";
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrderedUuid() {
+        return Ids.uuid();
+    }
+
+    @Benchmark
+    public String jobNameRandom() {
+        String execUuid = UUID.randomUUID().toString();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String sanitized = TASK_ID.replaceAll("[^a-z0-9-]", "-").toLowerCase();
+        return "exec-" + sanitized + "-" + suffix + execUuid.length();
+    }
+
+    @Benchmark
+    public String jobNameTimeOrdered() {
+        UUID id = Ids.next();
+        String execUuid = id.toString();
+        char[] sanitized = new char[TASK_ID.length()];
+        for (int i = 0; i < sanitized.length; i++) {
+            char c = Character.toLowerCase(TASK_ID.charAt(i));
+            sanitized[i] = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' ? c : '-';
+        }
+        return "exec-" + new String(sanitized) + "-" + Ids.shortId(id) + execUuid.length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(IdsBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
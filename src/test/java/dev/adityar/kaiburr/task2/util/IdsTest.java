@@ -0,0 +1,75 @@
+package dev.adityar.kaiburr.task2.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Ids.
+ *
+ * Tests the UUIDv7 layout, per-thread ordering, uniqueness across threads
+ * and the DNS-1123 short form.
+ *
+ * @author Aditya R
+ */
+class IdsTest {
+
+    @Test
+    @DisplayName("Should produce version 7, IETF variant UUIDs stamped with the current time")
+    void testLayout() {
+        long before = System.currentTimeMillis();
+        UUID id = Ids.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(Ids.timestamp(id)).isBetween(before, after + 1);
+        assertThat(UUID.fromString(Ids.uuid()).version()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should increase strictly within a thread, also as strings")
+    void testMonotonic() {
+        List<String> ids = IntStream.range(0, 20_000).mapToObj(i -> Ids.uuid()).toList();
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not collide across threads")
+    void testUniqueAcrossThreads() throws InterruptedException {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> IntStream.range(0, 10_000).forEach(i -> ids.add(Ids.uuid()))));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    @DisplayName("Should shorten to a time-ordered DNS-1123 label")
+    void testShortId() {
+        UUID earlier = new UUID(1_700_000_000_000L << 16 | 0x7000L, 0x8000000000000000L | 0xFFFFFFFFL);
+        UUID later = new UUID(1_700_000_000_001L << 16 | 0x7000L, 0x8000000000000000L);
+
+        assertThat(Ids.shortId(earlier)).hasSize(Ids.SHORT_ID_LENGTH).matches("[a-z0-9]+");
+        assertThat(Ids.shortId(later)).isGreaterThan(Ids.shortId(earlier));
+        assertThat(Ids.shortId(new UUID(0x7000L, 0x8000000000000000L | 33))).isEqualTo("0000000000000011");
+        assertThat(Ids.shortId(Ids.next())).matches("[a-z0-9]{16}");
+    }
+}
@@ -0,0 +1,68 @@
+package dev.adityar.kaiburr.task2.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JsonStreaming.
+ *
+ * Tests array and NDJSON output, Accept negotiation and stream closing.
+ *
+ * @author Aditya R
+ */
+class JsonStreamingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should write a JSON array and close the stream")
+    void testArray() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Map<String, Integer>> items = Stream.of(Map.of("a", 1), Map.of("a", 2)).onClose(() -> closed.set(true));
+
+        assertThat(write(items, false)).isEqualTo("[{\"a\":1},{\"a\":2}]");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should write one value per line as NDJSON")
+    void testNdjson() throws Exception {
+        assertThat(write(Stream.of(Map.of("a", 1), Map.of("a", 2)), true)).isEqualTo("{\"a\":1}\n{\"a\":2}\n");
+        assertThat(write(Stream.empty(), false)).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Should choose NDJSON only when it is explicitly accepted")
+    void testWantsNdjson() {
+        assertThat(JsonStreaming.wantsNdjson("application/x-ndjson")).isTrue();
+        assertThat(JsonStreaming.wantsNdjson("application/json, application/x-ndjson;q=0.5")).isTrue();
+        assertThat(JsonStreaming.wantsNdjson("*/*")).isFalse();
+        assertThat(JsonStreaming.wantsNdjson(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report empty streams and keep every element of non-empty ones")
+    void testNonEmpty() {
+        AtomicBoolean closed = new AtomicBoolean();
+        assertThat(JsonStreaming.nonEmpty(Stream.empty().onClose(() -> closed.set(true)))).isEmpty();
+        assertThat(closed).isTrue();
+
+        Stream<Integer> items = JsonStreaming.nonEmpty(Stream.of(1, 2, 3)).orElseThrow();
+        assertThat(items).containsExactly(1, 2, 3);
+    }
+
+    private String write(Stream<?> items, boolean ndjson) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonStreaming.write(objectMapper, items, ndjson).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
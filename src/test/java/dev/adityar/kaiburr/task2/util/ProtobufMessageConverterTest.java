@@ -0,0 +1,129 @@
+package dev.adityar.kaiburr.task2.util;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.UnknownFieldSet;
+import dev.adityar.kaiburr.task2.domain.RetentionPolicy;
+import dev.adityar.kaiburr.task2.dto.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ProtobufMessageConverter.
+ *
+ * Tests round trips of the API DTOs and that the encoding matches the
+ * field numbers and types of tasks.proto.
+ *
+ * @author Aditya R
+ */
+class ProtobufMessageConverterTest {
+
+    private static final Instant STARTED = Instant.parse("2024-06-30T12:00:00.123456789Z");
+
+    @Test
+    @DisplayName("Should round-trip a task request with args and retention")
+    void testTaskRequest() throws Exception {
+        TaskRequest request = TaskRequest.builder()
+            .id("task-1")
+            .name("Nightly")
+            .command("ls")
+            .args(List.of("-la", "/tmp"))
+            .resourceClass("small")
+            .retention(RetentionPolicy.builder().keepLast(10).failureMaxAgeDays(0).build())
+            .build();
+
+        TaskRequest parsed = ProtobufMessageConverter.parse(TaskRequest.class,
+            ProtobufMessageConverter.toByteArray(request));
+
+        assertThat(parsed).isEqualTo(request);
+        assertThat(parsed.getAssignee()).isNull();
+        assertThat(parsed.getRetention().getMaxAgeDays()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should round-trip a bulk response, keeping unset fields null")
+    void testBulkResponse() throws Exception {
+        BulkExecutionResponse response = new BulkExecutionResponse(List.of(
+            TaskExecutionResponse.builder()
+                .taskId("task-1")
+                .executionId("e1")
+                .jobName("exec-task-1-abc")
+                .status("SUCCEEDED")
+                .exitCode(0)
+                .stdout("héllo\n")
+                .durationMs(42L)
+                .startedAt(STARTED)
+                .completedAt(STARTED.plusSeconds(1))
+                .build(),
+            TaskExecutionResponse.rejected("missing", "Task not found: missing")));
+
+        BulkExecutionResponse parsed = ProtobufMessageConverter.parse(BulkExecutionResponse.class,
+            ProtobufMessageConverter.toByteArray(response));
+
+        assertThat(parsed).isEqualTo(response);
+        assertThat(parsed.getExecutions().get(1).getExitCode()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should use the field numbers and wire types of tasks.proto")
+    void testWireFormat() throws Exception {
+        TaskExecutionResponse execution = TaskExecutionResponse.builder()
+            .taskId("task-1")
+            .exitCode(-1)
+            .durationMs(42L)
+            .startedAt(STARTED)
+            .build();
+
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(ProtobufMessageConverter.toByteArray(execution));
+
+        assertThat(fields.asMap()).containsOnlyKeys(1, 5, 8, 9);
+        assertThat(fields.getField(1).getLengthDelimitedList().get(0).toStringUtf8()).isEqualTo("task-1");
+        assertThat((int) (long) fields.getField(5).getVarintList().get(0)).isEqualTo(-1);
+        assertThat(fields.getField(8).getVarintList()).containsExactly(42L);
+        UnknownFieldSet timestamp = UnknownFieldSet.parseFrom(fields.getField(9).getLengthDelimitedList().get(0));
+        assertThat(timestamp.getField(1).getVarintList()).containsExactly(STARTED.getEpochSecond());
+        assertThat(timestamp.getField(2).getVarintList()).containsExactly((long) STARTED.getNano());
+    }
+
+    @Test
+    @DisplayName("Should skip fields it does not know")
+    void testUnknownFields() throws Exception {
+        byte[] known = ProtobufMessageConverter.toByteArray(new BulkExecutionRequest(List.of("a", "b")));
+        byte[] withUnknown = UnknownFieldSet.newBuilder(UnknownFieldSet.parseFrom(known))
+            .addField(15, UnknownFieldSet.Field.newBuilder().addVarint(7).build())
+            .build()
+            .toByteArray();
+
+        assertThat(ProtobufMessageConverter.parse(BulkExecutionRequest.class, withUnknown).getTaskIds())
+            .containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("Should prefix stream frames with their length")
+    void testDelimited() throws Exception {
+        TaskExecutionResponse execution = TaskExecutionResponse.builder().taskId("task-1").status("FAILED").build();
+
+        CodedInputStream in = CodedInputStream.newInstance(ProtobufMessageConverter.toDelimitedByteArray(execution));
+        byte[] body = in.readRawBytes(in.readRawVarint32());
+
+        assertThat(in.isAtEnd()).isTrue();
+        assertThat(ProtobufMessageConverter.parse(TaskExecutionResponse.class, body)).isEqualTo(execution);
+    }
+
+    @Test
+    @DisplayName("Should only handle the mapped DTOs and write-only types")
+    void testSupportedTypes() {
+        ProtobufMessageConverter converter = new ProtobufMessageConverter();
+
+        assertThat(converter.canRead(TaskRequest.class, ProtobufMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canRead(TaskResponse.class, ProtobufMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(TaskResponse.class, ProtobufMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(ErrorResponse.class, ProtobufMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(String.class, ProtobufMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.canRead(TaskRequest.class, org.springframework.http.MediaType.APPLICATION_JSON)).isFalse();
+    }
+}
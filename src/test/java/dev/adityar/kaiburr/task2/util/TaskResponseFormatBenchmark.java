@@ -0,0 +1,126 @@
+package dev.adityar.kaiburr.task2.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.adityar.kaiburr.task2.config.BinaryFormatsConfig;
+import dev.adityar.kaiburr.task2.domain.TaskExecution;
+import dev.adityar.kaiburr.task2.dto.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmark of serializing a task with its execution history.
+ *
+ * Writes a TaskResponse with 50 executions and their output, as returned by
+ * GET /api/tasks/{id}, in each response format. JSON, CBOR and Smile use
+ * the application's mapper settings; protobuf is the tasks.proto encoding.
+ * Encoded sizes are printed before the run. CBOR and Smile need the
+ * binary-formats profile:
+ *
+ * mvn -Pbinary-formats test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath dev.adityar.kaiburr.task2.util.TaskResponseFormatBenchmark"
+ *
+ * @author Aditya R
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskResponseFormatBenchmark {
+
+    private static final List<String> FORMATS = List.of("json", "cbor", "smile", "protobuf");
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private TaskResponse task;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        task = task();
+        mapper = mapperFor(format);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return mapper != null ? mapper.writeValueAsBytes(task) : ProtobufMessageConverter.toByteArray(task);
+    }
+
+    /**
+     * The application's JSON mapper (spring.jackson settings), or a copy writing the format; null for protobuf.
+     */
+    private static ObjectMapper mapperFor(String format) {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return switch (format) {
+            case "json" -> json;
+            case "cbor", "smile" -> BinaryFormatsConfig.copyFor(json, "cbor".equals(format)
+                    ? "com.fasterxml.jackson.dataformat.cbor.CBORFactory"
+                    : "com.fasterxml.jackson.dataformat.smile.SmileFactory")
+                .orElseThrow(() -> new IllegalStateException(format + " needs the binary-formats profile"));
+            default -> null;
+        };
+    }
+
+    private static TaskResponse task() {
+        Instant start = Instant.parse("2024-06-30T00:00:00.250Z");
+        String listing = IntStream.range(0, 20)
+            .mapToObj(i -> String.format("-rw-r--r-- 1 app app %6d Jun 30 00:%02d app-%02d.log", 1024 * (i + 1), i, i))
+            .collect(Collectors.joining("\n", "total 80\n", "\n"));
+        List<TaskExecution> executions = IntStream.range(0, 50)
+            .mapToObj(i -> TaskExecution.builder()
+                .id(String.format("0f8fad5b-d9cb-469f-a165-7086772895%02d", i))
+                .jobName(String.format("exec-task-42-1a2b3c%02d", i))
+                .resourceClass("small")
+                .status(i % 10 == 9 ? TaskExecution.ExecutionStatus.FAILED : TaskExecution.ExecutionStatus.SUCCEEDED)
+                .exitCode(i % 10 == 9 ? 2 : 0)
+                .stdout(listing)
+                .stderr(i % 10 == 9 ? "ls: cannot access '/var/log/app/old': No such file or directory\n" : "")
+                .durationMs(1800L + i)
+                .startedAt(start.plusSeconds(3600L * i))
+                .completedAt(start.plusSeconds(3600L * i).plusMillis(1800 + i))
+                .build())
+            .toList();
+        return TaskResponse.builder()
+            .id("task-42")
+            .name("Hourly log listing")
+            .command("ls")
+            .args(List.of("-l", "/var/log/app"))
+            .assignee("ops")
+            .resourceClass("small")
+            .executions(executions)
+            .version(51L)
+            .lastModified(start.plusSeconds(3600L * 50))
+            .build();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        TaskResponseFormatBenchmark sizes = new TaskResponseFormatBenchmark();
+        sizes.task = task();
+        for (String format : FORMATS) {
+            try {
+                sizes.mapper = mapperFor(format);
+                System.out.printf("%s: %d bytes%n", format, sizes.write().length);
+            } catch (IllegalStateException e) {
+                System.out.printf("%s: %s%n", format, e.getMessage());
+            }
+        }
+        new Runner(new OptionsBuilder()
+            .include(TaskResponseFormatBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,134 @@
+package dev.adityar.kaiburr.task2.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.adityar.kaiburr.task2.dto.BulkExecutionResponse;
+import dev.adityar.kaiburr.task2.dto.TaskExecutionResponse;
+import dev.adityar.kaiburr.task2.dto.TaskRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmark of the per-request body handling of the execution API.
+ *
+ * Compares the JSON the REST controllers exchange with the protobuf
+ * encoding of the same DTOs: reading a task upsert, writing one execution
+ * result, and writing the results of 100 executions either as 100 single
+ * responses or as one bulk response. Encoded sizes are printed before the run.
+ *
+ * Run with (JMH forks a JVM, so use exec:exec rather than exec:java):
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath dev.adityar.kaiburr.task2.util.WireFormatBenchmark"
+ *
+ * @author Aditya R
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private ObjectMapper objectMapper;
+    private byte[] requestJson;
+    private byte[] requestProtobuf;
+    private TaskExecutionResponse execution;
+    private List<TaskExecutionResponse> executions;
+    private BulkExecutionResponse bulk;
+
+    @Setup
+    public void setUp() throws IOException {
+        // As configured by Spring Boot for the controllers
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TaskRequest request = TaskRequest.builder()
+            .id("task-42")
+            .name("Disk usage report")
+            .command("du")
+            .args(List.of("-sh", "/var/log", "--apparent-size"))
+            .resourceClass("small")
+            .build();
+        requestJson = objectMapper.writeValueAsBytes(request);
+        requestProtobuf = ProtobufMessageConverter.toByteArray(request);
+        executions = IntStream.range(0, 100).mapToObj(WireFormatBenchmark::execution).toList();
+        execution = executions.get(0);
+        bulk = new BulkExecutionResponse(executions);
+    }
+
+    @Benchmark
+    public TaskRequest readRequestJson() throws IOException {
+        return objectMapper.readValue(requestJson, TaskRequest.class);
+    }
+
+    @Benchmark
+    public TaskRequest readRequestProtobuf() throws IOException {
+        return ProtobufMessageConverter.parse(TaskRequest.class, requestProtobuf);
+    }
+
+    @Benchmark
+    public byte[] writeExecutionJson() throws IOException {
+        return objectMapper.writeValueAsBytes(execution);
+    }
+
+    @Benchmark
+    public byte[] writeExecutionProtobuf() {
+        return ProtobufMessageConverter.toByteArray(execution);
+    }
+
+    @Benchmark
+    public void write100SingleJson(Blackhole blackhole) throws IOException {
+        for (TaskExecutionResponse single : executions) {
+            blackhole.consume(objectMapper.writeValueAsBytes(single));
+        }
+    }
+
+    @Benchmark
+    public byte[] write100BulkJson() throws IOException {
+        return objectMapper.writeValueAsBytes(bulk);
+    }
+
+    @Benchmark
+    public byte[] write100BulkProtobuf() {
+        return ProtobufMessageConverter.toByteArray(bulk);
+    }
+
+    private static TaskExecutionResponse execution(int i) {
+        Instant started = Instant.parse("2024-06-30T12:00:00.123Z").plusSeconds(i);
+        return TaskExecutionResponse.builder()
+            .taskId("task-42")
+            .executionId("0f8fad5b-d9cb-469f-a165-7086772895" + String.format("%02d", i))
+            .jobName("exec-task-42-1a2b3c" + String.format("%02d", i))
+            .status("SUCCEEDED")
+            .exitCode(0)
+            .stdout("4.2M\t/var/log\n")
+            .stderr("")
+            .durationMs(1840L)
+            .startedAt(started)
+            .completedAt(started.plusMillis(1840))
+            .build();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        WireFormatBenchmark sizes = new WireFormatBenchmark();
+        sizes.setUp();
+        System.out.printf("request: json=%d protobuf=%d bytes%n",
+            sizes.requestJson.length, sizes.requestProtobuf.length);
+        System.out.printf("execution: json=%d protobuf=%d bytes%n",
+            sizes.writeExecutionJson().length, sizes.writeExecutionProtobuf().length);
+        System.out.printf("100 executions: json=%d protobuf=%d bytes%n",
+            sizes.write100BulkJson().length, sizes.write100BulkProtobuf().length);
+        new Runner(new OptionsBuilder()
+            .include(WireFormatBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}